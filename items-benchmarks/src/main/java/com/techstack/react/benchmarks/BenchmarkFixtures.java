@@ -0,0 +1,68 @@
+package com.techstack.react.benchmarks;
+
+import com.techstack.react.app.document.Item;
+import com.techstack.react.app.document.ItemCapped;
+import com.techstack.react.app.repository.ItemReactiveRepository;
+import org.mockito.Mockito;
+import org.springframework.http.codec.HttpMessageWriter;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.reactive.function.server.HandlerStrategies;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import org.springframework.web.reactive.result.view.ViewResolver;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Test data, the MongoDB-free {@link ItemReactiveRepository} and stand-ins shared by the benchmarks.
+ */
+final class BenchmarkFixtures {
+
+    static final HandlerStrategies HANDLER_STRATEGIES = HandlerStrategies.withDefaults();
+
+    static final ServerResponse.Context RESPONSE_CONTEXT = new ServerResponse.Context() {
+        @Override
+        public List<HttpMessageWriter<?>> messageWriters() {
+            return HANDLER_STRATEGIES.messageWriters();
+        }
+
+        @Override
+        public List<ViewResolver> viewResolvers() {
+            return HANDLER_STRATEGIES.viewResolvers();
+        }
+    };
+
+    private BenchmarkFixtures() {
+    }
+
+    static List<Item> items(int size) {
+        return IntStream.range(0, size)
+                // version 0 like a stored Item, the single Item reads answer with it as ETag
+                .mapToObj(i -> new Item(String.format("5ece6e9834cd6d162e3%05d", i), "Item description " + i, 100.0 + i, 0L))
+                .collect(Collectors.toList());
+    }
+
+    static ItemCapped itemCapped() {
+        return new ItemCapped("5ece6e9834cd6d162e32d147", "Random Item 1", 100.0);
+    }
+
+    static ServerRequest serverRequest(MockServerWebExchange exchange) {
+        return ServerRequest.create(exchange, HANDLER_STRATEGIES.messageReaders());
+    }
+
+    static ItemReactiveRepository itemReactiveRepository(List<Item> items) {
+        return new InMemoryItemReactiveRepository(items);
+    }
+
+    /**
+     * Stand-in for a collaborator the benchmarked chain never calls, a call fails instead of running into null
+     */
+    static <T> T notBenchmarked(Class<T> type) {
+        return Mockito.mock(type, invocation -> {
+            throw new UnsupportedOperationException(type.getSimpleName() + "."
+                    + invocation.getMethod().getName() + " is not part of the benchmark");
+        });
+    }
+}
@@ -0,0 +1,65 @@
+package com.techstack.react.benchmarks;
+
+import com.techstack.react.exception.FunctionalErrorWebExceptionHandler;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.web.reactive.error.DefaultErrorAttributes;
+import org.springframework.context.support.GenericApplicationContext;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerCodecConfigurer;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The error path of the functional endpoints: {@link FunctionalErrorWebExceptionHandler}
+ * collecting the error attributes and writing the JSON error response.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ErrorHandlerBenchmark {
+
+    FunctionalErrorWebExceptionHandler errorWebExceptionHandler;
+
+    @Setup
+    public void setup() throws Exception {
+        GenericApplicationContext applicationContext = new GenericApplicationContext();
+        applicationContext.refresh();
+
+        errorWebExceptionHandler = new FunctionalErrorWebExceptionHandler(new DefaultErrorAttributes(),
+                applicationContext, ServerCodecConfigurer.create());
+        errorWebExceptionHandler.afterPropertiesSet();
+    }
+
+    @Benchmark
+    public HttpStatus runtimeException() {
+        return handle(new RuntimeException("Runtime Error Occurred"));
+    }
+
+    @Benchmark
+    public HttpStatus responseStatusException() {
+        return handle(new ResponseStatusException(HttpStatus.BAD_REQUEST, "ids must not be empty"));
+    }
+
+    private HttpStatus handle(Throwable error) {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/fun/runtimeException")
+                .accept(MediaType.APPLICATION_JSON));
+        errorWebExceptionHandler.handle(exchange, error).block();
+        return exchange.getResponse().getStatusCode();
+    }
+}
@@ -0,0 +1,262 @@
+package com.techstack.react.benchmarks;
+
+import com.techstack.react.app.document.Item;
+import com.techstack.react.app.dto.ItemQuery;
+import com.techstack.react.app.repository.ItemReactiveRepository;
+import org.reactivestreams.Publisher;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Example;
+import org.springframework.data.domain.Sort;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
+
+/**
+ * MongoDB-free {@link ItemReactiveRepository} for the benchmarks, Items are kept in "_id" order like the
+ * collection's default index. A method added to the repository has to be implemented here as well, so a
+ * benchmarked chain never runs into a missing one.
+ *
+ * Query by example and sorted findAll are not used by the items API and throw.
+ */
+class InMemoryItemReactiveRepository implements ItemReactiveRepository {
+
+    private final Map<String, Item> items = new ConcurrentSkipListMap<>();
+
+    InMemoryItemReactiveRepository(List<Item> items) {
+        items.forEach(item -> this.items.put(item.getId(), item));
+    }
+
+    // ItemReactiveRepository
+
+    @Override
+    public Mono<Item> findByDescription(String description) {
+        return Flux.fromIterable(items.values())
+                .filter(item -> Objects.equals(description, item.getDescription()))
+                .next();
+    }
+
+    // ItemReactiveRepositoryCustom
+
+    @Override
+    public Flux<Item> findItems(ItemQuery itemQuery) {
+        Flux<Item> found = Flux.fromIterable(items.values())
+                .filter(item -> itemQuery.getAfter() == null || item.getId().compareTo(itemQuery.getAfter()) > 0)
+                .filter(item -> itemQuery.getMinPrice() == null || (item.getPrice() != null && item.getPrice() >= itemQuery.getMinPrice()))
+                .filter(item -> itemQuery.getMaxPrice() == null || (item.getPrice() != null && item.getPrice() <= itemQuery.getMaxPrice()))
+                .filter(item -> itemQuery.getDescriptionPrefix() == null
+                        || (item.getDescription() != null && item.getDescription().startsWith(itemQuery.getDescriptionPrefix())));
+        return itemQuery.getLimit() == null ? found : found.take(itemQuery.getLimit());
+    }
+
+    @Override
+    public Flux<Item> findPriceRange(double min, double max, int limit) {
+        return Flux.fromStream(() -> items.values().stream()
+                .filter(item -> item.getPrice() != null && item.getPrice() >= min && item.getPrice() <= max)
+                .sorted(Comparator.comparing(Item::getPrice).thenComparing(Item::getId))
+                .limit(limit));
+    }
+
+    @Override
+    public Flux<Item> searchByDescriptionPrefix(String prefix, int limit) {
+        return Flux.fromStream(() -> items.values().stream()
+                .filter(item -> item.getDescription() != null && item.getDescription().startsWith(prefix))
+                .sorted(Comparator.comparing(Item::getDescription))
+                .limit(limit));
+    }
+
+    /**
+     * Matching words instead of MongoDB's text score: more words of "text" in the description rank higher
+     */
+    @Override
+    public Flux<Item> searchByText(String text, int limit) {
+        Set<String> words = Arrays.stream(text.toLowerCase(Locale.ROOT).split("\\s+"))
+                .filter(word -> !word.isEmpty())
+                .collect(Collectors.toSet());
+        Comparator<Item> byMatches = Comparator.comparingLong(item -> matches(item, words));
+        return Flux.fromStream(() -> items.values().stream()
+                .filter(item -> matches(item, words) > 0)
+                .sorted(byMatches.reversed())
+                .limit(limit));
+    }
+
+    @Override
+    public Mono<Item> updateItem(String id, Item item, Long expectedVersion) {
+        return modify(id, expectedVersion, current -> new Item(id, item.getDescription(), item.getPrice(), nextVersion(current)));
+    }
+
+    @Override
+    public Mono<Item> patchItem(String id, Item changes, Long expectedVersion) {
+        return modify(id, expectedVersion, current -> new Item(id,
+                changes.getDescription() != null ? changes.getDescription() : current.getDescription(),
+                changes.getPrice() != null ? changes.getPrice() : current.getPrice(),
+                nextVersion(current)));
+    }
+
+    // ReactiveMongoRepository
+
+    @Override
+    public <S extends Item> Mono<S> insert(S entity) {
+        return save(entity);
+    }
+
+    @Override
+    public <S extends Item> Flux<S> insert(Iterable<S> entities) {
+        return saveAll(entities);
+    }
+
+    @Override
+    public <S extends Item> Flux<S> insert(Publisher<S> entities) {
+        return saveAll(entities);
+    }
+
+    @Override
+    public <S extends Item> Mono<S> save(S entity) {
+        return Mono.fromSupplier(() -> {
+            entity.setVersion(nextVersion(entity));
+            items.put(entity.getId(), entity);
+            return entity;
+        });
+    }
+
+    @Override
+    public <S extends Item> Flux<S> saveAll(Iterable<S> entities) {
+        return Flux.fromIterable(entities).concatMap(this::save);
+    }
+
+    @Override
+    public <S extends Item> Flux<S> saveAll(Publisher<S> entities) {
+        return Flux.from(entities).concatMap(this::save);
+    }
+
+    @Override
+    public Mono<Item> findById(String id) {
+        return Mono.fromSupplier(() -> items.get(id));
+    }
+
+    @Override
+    public Mono<Item> findById(Publisher<String> id) {
+        return Mono.from(id).flatMap(this::findById);
+    }
+
+    @Override
+    public Mono<Boolean> existsById(String id) {
+        return Mono.fromSupplier(() -> items.containsKey(id));
+    }
+
+    @Override
+    public Mono<Boolean> existsById(Publisher<String> id) {
+        return Mono.from(id).flatMap(this::existsById);
+    }
+
+    @Override
+    public Flux<Item> findAll() {
+        return Flux.fromIterable(items.values());
+    }
+
+    @Override
+    public Flux<Item> findAllById(Iterable<String> ids) {
+        return Flux.fromIterable(ids).concatMap(this::findById);
+    }
+
+    @Override
+    public Flux<Item> findAllById(Publisher<String> ids) {
+        return Flux.from(ids).concatMap(this::findById);
+    }
+
+    @Override
+    public Mono<Long> count() {
+        return Mono.fromSupplier(() -> (long) items.size());
+    }
+
+    @Override
+    public Mono<Void> deleteById(String id) {
+        return Mono.fromRunnable(() -> items.remove(id));
+    }
+
+    @Override
+    public Mono<Void> deleteById(Publisher<String> id) {
+        return Mono.from(id).flatMap(this::deleteById);
+    }
+
+    @Override
+    public Mono<Void> delete(Item entity) {
+        return deleteById(entity.getId());
+    }
+
+    @Override
+    public Mono<Void> deleteAll(Iterable<? extends Item> entities) {
+        return Flux.fromIterable(entities).concatMap(this::delete).then();
+    }
+
+    @Override
+    public Mono<Void> deleteAll(Publisher<? extends Item> entities) {
+        return Flux.from(entities).concatMap(this::delete).then();
+    }
+
+    @Override
+    public Mono<Void> deleteAll() {
+        return Mono.fromRunnable(items::clear);
+    }
+
+    @Override
+    public Flux<Item> findAll(Sort sort) {
+        throw new UnsupportedOperationException("findAll(Sort)");
+    }
+
+    @Override
+    public <S extends Item> Mono<S> findOne(Example<S> example) {
+        throw new UnsupportedOperationException("findOne(Example)");
+    }
+
+    @Override
+    public <S extends Item> Flux<S> findAll(Example<S> example) {
+        throw new UnsupportedOperationException("findAll(Example)");
+    }
+
+    @Override
+    public <S extends Item> Flux<S> findAll(Example<S> example, Sort sort) {
+        throw new UnsupportedOperationException("findAll(Example, Sort)");
+    }
+
+    @Override
+    public <S extends Item> Mono<Long> count(Example<S> example) {
+        throw new UnsupportedOperationException("count(Example)");
+    }
+
+    @Override
+    public <S extends Item> Mono<Boolean> exists(Example<S> example) {
+        throw new UnsupportedOperationException("exists(Example)");
+    }
+
+    private Mono<Item> modify(String id, Long expectedVersion, UnaryOperator<Item> update) {
+        return Mono.fromSupplier(() -> items.computeIfPresent(id, (key, current) -> {
+            if (expectedVersion != null && !expectedVersion.equals(current.getVersion())) {
+                throw new OptimisticLockingFailureException("Item " + id + " is not at version " + expectedVersion);
+            }
+            return update.apply(current);
+        }));
+    }
+
+    private static long nextVersion(Item item) {
+        return item.getVersion() == null ? 0 : item.getVersion() + 1;
+    }
+
+    private static long matches(Item item, Set<String> words) {
+        if (item.getDescription() == null) {
+            return 0;
+        }
+        return Arrays.stream(item.getDescription().toLowerCase(Locale.ROOT).split("\\s+"))
+                .filter(words::contains)
+                .count();
+    }
+}
@@ -0,0 +1,141 @@
+package com.techstack.react.benchmarks;
+
+import com.techstack.react.app.config.ItemCacheProperties;
+import com.techstack.react.app.config.ItemMultiGetProperties;
+import com.techstack.react.app.config.ItemPageProperties;
+import com.techstack.react.app.controller.v1.ItemController;
+import com.techstack.react.app.document.Item;
+import com.techstack.react.app.dto.ItemQuery;
+import com.techstack.react.app.repository.ItemReactiveRepository;
+import com.techstack.react.app.service.ItemBulkService;
+import com.techstack.react.app.service.ItemCacheService;
+import com.techstack.react.app.service.ItemMultiGetService;
+import com.techstack.react.app.service.ItemPriceQueryService;
+import com.techstack.react.app.service.ItemPriceWriteBehindService;
+import com.techstack.react.app.service.ItemSearchService;
+import com.techstack.react.app.snapshot.ItemCatalogSnapshot;
+import com.techstack.react.app.stream.ItemChangeStreamService;
+import com.techstack.react.app.stream.ItemStreamHub;
+import com.techstack.react.learn.handler.ItemsHandler;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.reactive.function.server.HandlerFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The Reactor chains behind GET /v1/items, GET /v1/items/{id} and their functional twins,
+ * with MongoDB replaced by an in-memory repository.
+ *
+ * The controller benchmarks stop at the returned Mono/Flux, the handler benchmarks also write the
+ * ServerResponse (including JSON encoding) to a mock exchange, because a handler's body is only
+ * produced while it is written.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ItemChainBenchmark {
+
+    private static final String KNOWN_ID = "5ece6e9834cd6d162e300000";
+
+    @Param({"10", "100"})
+    int pageSize;
+
+    ItemController itemController;
+    ItemsHandler itemsHandler;
+
+    @Setup
+    public void setup() {
+        ItemReactiveRepository itemReactiveRepository = BenchmarkFixtures.itemReactiveRepository(BenchmarkFixtures.items(1000));
+        ItemPageProperties itemPageProperties = new ItemPageProperties();
+        ItemCacheService itemCacheService = new ItemCacheService(itemReactiveRepository, new ItemCacheProperties(), new SimpleMeterRegistry());
+        ItemMultiGetService itemMultiGetService = new ItemMultiGetService(itemReactiveRepository, new ItemMultiGetProperties());
+
+        // only what these chains use is real, MongoDB-bound collaborators are never called
+        ItemBulkService itemBulkService = BenchmarkFixtures.notBenchmarked(ItemBulkService.class);
+        ItemPriceWriteBehindService itemPriceWriteBehindService = BenchmarkFixtures.notBenchmarked(ItemPriceWriteBehindService.class);
+        ItemSearchService itemSearchService = BenchmarkFixtures.notBenchmarked(ItemSearchService.class);
+        ItemPriceQueryService itemPriceQueryService = BenchmarkFixtures.notBenchmarked(ItemPriceQueryService.class);
+        ItemCatalogSnapshot itemCatalogSnapshot = BenchmarkFixtures.notBenchmarked(ItemCatalogSnapshot.class);
+
+        itemController = new ItemController(itemReactiveRepository, itemBulkService, itemCacheService,
+                itemMultiGetService, itemPriceWriteBehindService, itemSearchService, itemPriceQueryService,
+                itemCatalogSnapshot, itemPageProperties);
+        itemsHandler = new ItemsHandler(itemReactiveRepository, BenchmarkFixtures.notBenchmarked(ItemStreamHub.class),
+                BenchmarkFixtures.notBenchmarked(ItemChangeStreamService.class), itemBulkService, itemCacheService,
+                itemMultiGetService, itemPriceWriteBehindService, itemSearchService, itemPriceQueryService,
+                itemCatalogSnapshot, itemPageProperties);
+    }
+
+    @Benchmark
+    public ResponseEntity<List<Item>> controllerGetAllItems() {
+        return itemController.getAllItems(new ItemQuery(null, null, null, null, pageSize)).block();
+    }
+
+    @Benchmark
+    public Item controllerStreamAllItems() {
+        return itemController.streamAllItems(new ItemQuery()).blockLast();
+    }
+
+    @Benchmark
+    public ResponseEntity<Item> controllerGetOneItem() {
+        return itemController.getOneItem(KNOWN_ID).block();
+    }
+
+    @Benchmark
+    public HttpStatus handlerGetAllItems() {
+        return write(MockServerHttpRequest.get("/v1/fun/items?limit={limit}", pageSize)
+                .accept(MediaType.APPLICATION_JSON), itemsHandler::getAllItems);
+    }
+
+    @Benchmark
+    public HttpStatus handlerStreamAllItems() {
+        return write(MockServerHttpRequest.get("/v1/fun/items")
+                .accept(MediaType.APPLICATION_STREAM_JSON), itemsHandler::streamAllItems);
+    }
+
+    @Benchmark
+    public HttpStatus handlerGetOneItem() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/v1/fun/items/{id}", KNOWN_ID)
+                .accept(MediaType.APPLICATION_JSON));
+        exchange.getAttributes().put(RouterFunctions.URI_TEMPLATE_VARIABLES_ATTRIBUTE,
+                Map.of("id", KNOWN_ID));
+        return write(exchange, itemsHandler::getOneItem);
+    }
+
+    private static HttpStatus write(MockServerHttpRequest.BaseBuilder<?> request,
+                                    HandlerFunction<ServerResponse> handler) {
+        return write(MockServerWebExchange.from(request), handler);
+    }
+
+    private static HttpStatus write(MockServerWebExchange exchange,
+                                    HandlerFunction<ServerResponse> handler) {
+        return Mono.defer(() -> handler.handle(BenchmarkFixtures.serverRequest(exchange)))
+                .flatMap(response -> response.writeTo(exchange, BenchmarkFixtures.RESPONSE_CONTEXT))
+                .then(Mono.fromSupplier(() -> exchange.getResponse().getStatusCode()))
+                .block();
+    }
+}
@@ -0,0 +1,129 @@
+package com.techstack.react.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.techstack.react.app.document.Item;
+import com.techstack.react.app.document.ItemCapped;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.json.Jackson2JsonDecoder;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import reactor.core.publisher.Flux;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * JSON cost of the two documents, on their own (ObjectMapper) and as the WebFlux codecs
+ * stream them for "application/stream+json" responses and bulk imports.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonCodecBenchmark {
+
+    private static final ResolvableType ITEM_TYPE = ResolvableType.forClass(Item.class);
+
+    @Param({"1", "100"})
+    int size;
+
+    ObjectMapper objectMapper;
+    Jackson2JsonEncoder encoder;
+    Jackson2JsonDecoder decoder;
+    DataBufferFactory bufferFactory;
+
+    Item item;
+    ItemCapped itemCapped;
+    List<Item> items;
+    byte[] itemJson;
+    byte[] itemCappedJson;
+    byte[] itemStreamJson;
+
+    @Setup
+    public void setup() throws IOException {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        encoder = new Jackson2JsonEncoder(objectMapper);
+        decoder = new Jackson2JsonDecoder(objectMapper);
+        bufferFactory = new DefaultDataBufferFactory();
+
+        items = BenchmarkFixtures.items(size);
+        item = items.get(0);
+        itemCapped = BenchmarkFixtures.itemCapped();
+        itemJson = objectMapper.writeValueAsBytes(item);
+        itemCappedJson = objectMapper.writeValueAsBytes(itemCapped);
+
+        StringBuilder stream = new StringBuilder();
+        for (Item each : items) {
+            stream.append(objectMapper.writeValueAsString(each)).append('\n');
+        }
+        itemStreamJson = stream.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public byte[] encodeItem() throws IOException {
+        return objectMapper.writeValueAsBytes(item);
+    }
+
+    @Benchmark
+    public Item decodeItem() throws IOException {
+        return objectMapper.readValue(itemJson, Item.class);
+    }
+
+    @Benchmark
+    public byte[] encodeItemCapped() throws IOException {
+        return objectMapper.writeValueAsBytes(itemCapped);
+    }
+
+    @Benchmark
+    public ItemCapped decodeItemCapped() throws IOException {
+        return objectMapper.readValue(itemCappedJson, ItemCapped.class);
+    }
+
+    /**
+     * One DataBuffer per Item, as written for "application/stream+json"
+     */
+    @Benchmark
+    public Integer encodeItemStream() {
+        return encoder
+                .encode(Flux.fromIterable(items), bufferFactory, ITEM_TYPE, MediaType.APPLICATION_STREAM_JSON, Map.of())
+                .map(dataBuffer -> {
+                    int bytes = dataBuffer.readableByteCount();
+                    DataBufferUtils.release(dataBuffer);
+                    return bytes;
+                })
+                .reduce(0, Integer::sum)
+                .block();
+    }
+
+    /**
+     * Newline delimited Items as read by the bulk import
+     */
+    @Benchmark
+    public List<Object> decodeItemStream() {
+        return decoder
+                .decode(Flux.just(bufferFactory.wrap(itemStreamJson)), ITEM_TYPE, MediaType.APPLICATION_STREAM_JSON, Map.of())
+                .collect(Collectors.toList())
+                .block();
+    }
+}
@@ -0,0 +1,84 @@
+package com.techstack.react.benchmarks;
+
+import com.techstack.react.app.metrics.RouteMetrics;
+import com.techstack.react.learn.handler.ItemsHandler;
+import com.techstack.react.learn.handler.SampleHandlerFunction;
+import com.techstack.react.learn.router.ItemsRouter;
+import com.techstack.react.learn.router.RouterFunctionConfig;
+import com.techstack.trace.SignalTraceProperties;
+import com.techstack.trace.SignalTracer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.reactive.function.server.HandlerFunction;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of finding the HandlerFunction for a request across all functional routes
+ * ({@link ItemsRouter} and {@link RouterFunctionConfig}), in the order Spring evaluates them.
+ * Only the predicates run, no handler is invoked.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RouterDispatchBenchmark {
+
+    @Param({
+            "GET /v1/fun/items",
+            "GET /v1/fun/items/ABC123",
+            "PUT /v1/fun/items/ABC123",
+            "GET /v1/fun/stream/items/changes",
+            "GET /functional/mono",
+            "GET /unknown"
+    })
+    String route;
+
+    RouterFunction<ServerResponse> routerFunction;
+    ServerRequest serverRequest;
+
+    @Setup
+    public void setup() {
+        // no handler is invoked, so none of its collaborators is called
+        ItemsHandler itemsHandler = BenchmarkFixtures.notBenchmarked(ItemsHandler.class);
+        RouteMetrics routeMetrics = new RouteMetrics(new SimpleMeterRegistry());
+        SampleHandlerFunction sampleHandlerFunction = new SampleHandlerFunction(new SignalTracer(new SignalTraceProperties()));
+        ItemsRouter itemsRouter = new ItemsRouter();
+
+        routerFunction = itemsRouter.itemsRoute(itemsHandler, routeMetrics)
+                .and(itemsRouter.errorRouter(itemsHandler))
+                .and(itemsRouter.itemStreamRouter(itemsHandler, routeMetrics))
+                .and(new RouterFunctionConfig().route(sampleHandlerFunction));
+
+        String[] methodAndPath = route.split(" ");
+        MediaType accept = methodAndPath[1].endsWith("/changes") ? MediaType.APPLICATION_STREAM_JSON : MediaType.APPLICATION_JSON;
+        serverRequest = BenchmarkFixtures.serverRequest(MockServerWebExchange.from(
+                MockServerHttpRequest.method(HttpMethod.valueOf(methodAndPath[0]), methodAndPath[1]).accept(accept)));
+    }
+
+    @Benchmark
+    public HandlerFunction<ServerResponse> dispatch() {
+        // the path predicates add the matched pattern to what the last dispatch left, "{id}" would be captured twice
+        serverRequest.attributes().clear();
+        return routerFunction.route(serverRequest).block();
+    }
+}
@@ -0,0 +1,266 @@
+package com.techstack.reactive.balancer;
+
+import com.techstack.reactive.config.LoadBalancerProperties;
+import com.techstack.reactive.config.WebClientProperties;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.util.StringUtils;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.Disposable;
+import reactor.core.Disposables;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Client side load balancing of one service across the instances listed under
+ * "items.client.services.{service}.instances" and in its "instances-file", as a WebClient filter:
+ * every request is sent to the scheme, host and port of the chosen instance, path and query stay.
+ *
+ * - Selection: power of two choices, of two random available instances the one with the lower
+ *   latency (moving average) times requests in flight is taken. Slow or busy instances get less
+ *   traffic without all clients piling onto the same fastest one, and a hedged request usually
+ *   lands on another instance than the first one.
+ * - Health checks: every "health-check-interval" each instance is polled on "health-check-path",
+ *   an instance which doesn't answer with 2xx gets no requests until it does again.
+ * - Outlier ejection: an instance is ejected after "consecutive-failures" failures in a row.
+ *   5xx responses, connection errors and response bodies which fail while being read
+ *   (read timeouts, resets) count as failures. The ejection lasts "base-ejection-time" times
+ *   the ejections so far, at most "max-ejection-percent" of the instances are ejected at once.
+ *   When no instance is available all of them are tried.
+ *
+ * Requests count as in flight until the response headers arrived. Metrics, tagged with the service:
+ * "items.client.loadbalancer.available" instances, "items.client.loadbalancer.requests" and
+ * "items.client.loadbalancer.ejections", both also tagged with the instance.
+ */
+@Slf4j
+public class LoadBalancer implements ExchangeFilterFunction {
+
+    private final String service;
+    private final List<String> staticInstances;
+    private final Path instancesFile;
+    private final LoadBalancerProperties loadBalancerProperties;
+    private final WebClient healthCheckClient;
+    private final MeterRegistry meterRegistry;
+
+    private volatile List<ServiceInstance> instances = List.of();
+    private volatile FileTime instancesFileModified;
+
+    LoadBalancer(String service, WebClientProperties.Service properties, LoadBalancerProperties loadBalancerProperties,
+                 WebClient healthCheckClient, MeterRegistry meterRegistry) {
+        this.service = service;
+        this.staticInstances = properties.getInstances();
+        this.instancesFile = StringUtils.hasText(properties.getInstancesFile()) ? Paths.get(properties.getInstancesFile()) : null;
+        this.loadBalancerProperties = loadBalancerProperties;
+        this.healthCheckClient = healthCheckClient;
+        this.meterRegistry = meterRegistry;
+
+        Gauge.builder("items.client.loadbalancer.available", this, LoadBalancer::available)
+                .tag("service", service)
+                .register(meterRegistry);
+        reloadInstances();
+    }
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        return Mono.defer(() -> {
+            ServiceInstance instance = choose();
+            URI url = UriComponentsBuilder.fromUri(request.url())
+                    .scheme(instance.getUri().getScheme())
+                    .host(instance.getUri().getHost())
+                    .port(instance.getUri().getPort())
+                    .build(true)
+                    .toUri();
+            meterRegistry.counter("items.client.loadbalancer.requests", "service", service, "instance", instance.toString())
+                    .increment();
+
+            long start = System.nanoTime();
+            instance.begin();
+            return next.exchange(ClientRequest.from(request).url(url).build())
+                    .map(response -> {
+                        if (response.rawStatusCode() >= 500) {
+                            failed(instance);
+                            return response;
+                        }
+                        instance.responded(System.nanoTime() - start);
+                        // a request only succeeded once its body was read, failing after the headers counts too
+                        return ClientResponse.from(response)
+                                .body(response.bodyToFlux(DataBuffer.class)
+                                        .doOnComplete(instance::succeeded)
+                                        .doOnError(ex -> failed(instance)))
+                                .build();
+                    })
+                    // only connection level errors get here, a lost hedge is cancelled and counts neither way
+                    .doOnError(ex -> failed(instance))
+                    .doFinally(signal -> instance.end());
+        });
+    }
+
+    ServiceInstance choose() {
+        List<ServiceInstance> all = instances;
+        if (all.isEmpty()) {
+            throw new IllegalStateException("No instances of service : " + service);
+        }
+
+        long now = System.currentTimeMillis();
+        List<ServiceInstance> candidates = all.stream()
+                .filter(instance -> instance.isAvailable(now))
+                .collect(Collectors.toList());
+        if (candidates.isEmpty()) {
+            // an instance which may have recovered is better than failing every request
+            candidates = all;
+        }
+        if (candidates.size() == 1) {
+            return candidates.get(0);
+        }
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int first = random.nextInt(candidates.size());
+        int second = random.nextInt(candidates.size() - 1);
+        if (second >= first) {
+            second++;
+        }
+        ServiceInstance a = candidates.get(first);
+        ServiceInstance b = candidates.get(second);
+        return a.cost() <= b.cost() ? a : b;
+    }
+
+    List<ServiceInstance> getInstances() {
+        return instances;
+    }
+
+    private int available() {
+        long now = System.currentTimeMillis();
+        return (int) instances.stream().filter(instance -> instance.isAvailable(now)).count();
+    }
+
+    private void failed(ServiceInstance instance) {
+        if (instance.failed() >= loadBalancerProperties.getConsecutiveFailures()) {
+            eject(instance);
+        }
+    }
+
+    private synchronized void eject(ServiceInstance instance) {
+        long now = System.currentTimeMillis();
+        List<ServiceInstance> all = instances;
+        long ejected = all.stream().filter(other -> other.isEjected(now)).count();
+        if (instance.isEjected(now) || ejected + 1 > all.size() * loadBalancerProperties.getMaxEjectionPercent() / 100) {
+            return;
+        }
+
+        Duration ejection = loadBalancerProperties.getBaseEjectionTime().multipliedBy(instance.getEjections() + 1);
+        if (ejection.compareTo(loadBalancerProperties.getMaxEjectionTime()) > 0) {
+            ejection = loadBalancerProperties.getMaxEjectionTime();
+        }
+        int ejections = instance.eject(now + ejection.toMillis());
+        log.warn("Ejected instance {} of service {} for {} (ejection {})", instance, service, ejection, ejections);
+        meterRegistry.counter("items.client.loadbalancer.ejections", "service", service, "instance", instance.toString())
+                .increment();
+    }
+
+    /**
+     * Polls every instance once, instances which don't answer in time count as unhealthy
+     */
+    Mono<Void> checkHealth() {
+        return Flux.fromIterable(instances)
+                .flatMap(instance -> healthCheckClient.get()
+                        .uri(instance.getUri().resolve(loadBalancerProperties.getHealthCheckPath()))
+                        .exchange()
+                        .flatMap(response -> response.releaseBody().thenReturn(response.rawStatusCode() / 100 == 2))
+                        .timeout(loadBalancerProperties.getHealthCheckTimeout())
+                        .onErrorReturn(false)
+                        .doOnNext(healthy -> {
+                            if (instance.setHealthy(healthy)) {
+                                log.warn("Instance {} of service {} is {}", instance, service, healthy ? "healthy again" : "unhealthy");
+                            }
+                        }))
+                .then();
+    }
+
+    /**
+     * Static instances plus the ones in the instances file. Known instances keep their state,
+     * the file is only read when it changed.
+     */
+    synchronized void reloadInstances() {
+        Set<String> urls = new LinkedHashSet<>(staticInstances);
+        if (instancesFile != null) {
+            try {
+                FileTime modified = Files.getLastModifiedTime(instancesFile);
+                if (modified.equals(instancesFileModified)) {
+                    return;
+                }
+                Files.readAllLines(instancesFile).stream()
+                        .map(String::trim)
+                        .filter(line -> !line.isEmpty() && !line.startsWith("#"))
+                        .forEach(urls::add);
+                instancesFileModified = modified;
+            } catch (IOException ex) {
+                log.warn("Could not read the instances of service {} from {}", service, instancesFile, ex);
+                if (!instances.isEmpty()) {
+                    return;
+                }
+            }
+        }
+
+        Map<String, ServiceInstance> known = instances.stream()
+                .collect(Collectors.toMap(ServiceInstance::toString, Function.identity(), (first, duplicate) -> first));
+        List<ServiceInstance> reloaded = new ArrayList<>();
+        for (String url : urls) {
+            try {
+                URI uri = URI.create(url.trim());
+                ServiceInstance instance = known.computeIfAbsent(uri.toString(), key -> new ServiceInstance(uri));
+                if (!reloaded.contains(instance)) {
+                    reloaded.add(instance);
+                }
+            } catch (IllegalArgumentException ex) {
+                log.warn("Skipping instance {} of service {}: {}", url, service, ex.getMessage());
+            }
+        }
+        if (!reloaded.equals(instances)) {
+            log.info("Instances of service {}: {}", service, reloaded);
+        }
+        instances = List.copyOf(reloaded);
+    }
+
+    /**
+     * Health checks and instances file reloads every "health-check-interval", until disposed
+     */
+    Disposable start() {
+        Duration interval = loadBalancerProperties.getHealthCheckInterval();
+        if (interval.isZero()) {
+            return Disposables.disposed();
+        }
+        return Flux.interval(interval)
+                .onBackpressureDrop()
+                // reading the instances file blocks
+                .publishOn(Schedulers.boundedElastic())
+                .concatMap(tick -> {
+                    reloadInstances();
+                    return checkHealth();
+                })
+                .subscribe();
+    }
+}
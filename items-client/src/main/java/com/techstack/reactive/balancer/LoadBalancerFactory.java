@@ -0,0 +1,53 @@
+package com.techstack.reactive.balancer;
+
+import com.techstack.reactive.config.LoadBalancerProperties;
+import com.techstack.reactive.config.WebClientProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.Disposable;
+import reactor.core.Disposables;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * One {@link LoadBalancer} per target service which lists instances, configured under
+ * "items.client.load-balancer". Health checks run from the first use until shutdown.
+ */
+@Component
+public class LoadBalancerFactory implements DisposableBean {
+
+    private final LoadBalancerProperties loadBalancerProperties;
+    private final MeterRegistry meterRegistry;
+    private final WebClient healthCheckClient = WebClient.create();
+    private final Map<String, LoadBalancer> loadBalancers = new ConcurrentHashMap<>();
+    private final Disposable.Composite healthChecks = Disposables.composite();
+
+    public LoadBalancerFactory(LoadBalancerProperties loadBalancerProperties, MeterRegistry meterRegistry) {
+        this.loadBalancerProperties = loadBalancerProperties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * @return nothing when the service has neither "instances" nor an "instances-file", its requests go to the base url
+     */
+    public Optional<LoadBalancer> loadBalancer(String service, WebClientProperties.Service properties) {
+        if (properties.getInstances().isEmpty() && !StringUtils.hasText(properties.getInstancesFile())) {
+            return Optional.empty();
+        }
+        return Optional.of(loadBalancers.computeIfAbsent(service, name -> {
+            LoadBalancer loadBalancer = new LoadBalancer(name, properties, loadBalancerProperties, healthCheckClient, meterRegistry);
+            healthChecks.add(loadBalancer.start());
+            return loadBalancer;
+        }));
+    }
+
+    @Override
+    public void destroy() {
+        healthChecks.dispose();
+    }
+}
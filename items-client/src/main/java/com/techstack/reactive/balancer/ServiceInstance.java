@@ -0,0 +1,109 @@
+package com.techstack.reactive.balancer;
+
+import java.net.URI;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * One instance of a balanced service with what {@link LoadBalancer} knows about it
+ */
+class ServiceInstance {
+
+    /**
+     * Weight of the newest latency in the moving average
+     */
+    private static final double LATENCY_WEIGHT = 0.3;
+
+    private final URI uri;
+    private final AtomicInteger outstanding = new AtomicInteger();
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private final AtomicInteger ejections = new AtomicInteger();
+    private volatile double latencyNanos;
+    private volatile long ejectedUntilMillis;
+    private volatile boolean healthy = true;
+
+    ServiceInstance(URI uri) {
+        this.uri = uri;
+    }
+
+    URI getUri() {
+        return uri;
+    }
+
+    boolean isAvailable(long nowMillis) {
+        return healthy && !isEjected(nowMillis);
+    }
+
+    boolean isEjected(long nowMillis) {
+        return nowMillis < ejectedUntilMillis;
+    }
+
+    /**
+     * Latency times requests in flight, an instance without latency yet is only weighed by its
+     * requests in flight, so new instances get their first requests right away
+     */
+    double cost() {
+        return (outstanding.get() + 1) * Math.max(latencyNanos, 1);
+    }
+
+    int getOutstanding() {
+        return outstanding.get();
+    }
+
+    void begin() {
+        outstanding.incrementAndGet();
+    }
+
+    void end() {
+        outstanding.decrementAndGet();
+    }
+
+    /**
+     * Latency up to the response headers, the body may still fail
+     */
+    void responded(long nanos) {
+        // concurrent updates may lose a sample, the average stays close enough
+        double current = latencyNanos;
+        latencyNanos = current == 0 ? nanos : current + LATENCY_WEIGHT * (nanos - current);
+    }
+
+    /**
+     * The whole response was read, ends a series of failures
+     */
+    void succeeded() {
+        consecutiveFailures.set(0);
+    }
+
+    /**
+     * @return failures in a row, including this one
+     */
+    int failed() {
+        return consecutiveFailures.incrementAndGet();
+    }
+
+    /**
+     * @return how often the instance was ejected, including this time
+     */
+    int eject(long untilMillis) {
+        ejectedUntilMillis = untilMillis;
+        consecutiveFailures.set(0);
+        return ejections.incrementAndGet();
+    }
+
+    int getEjections() {
+        return ejections.get();
+    }
+
+    /**
+     * @return whether the health changed
+     */
+    boolean setHealthy(boolean healthy) {
+        boolean changed = this.healthy != healthy;
+        this.healthy = healthy;
+        return changed;
+    }
+
+    @Override
+    public String toString() {
+        return uri.toString();
+    }
+}
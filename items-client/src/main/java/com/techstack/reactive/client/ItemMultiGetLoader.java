@@ -0,0 +1,117 @@
+package com.techstack.reactive.client;
+
+import com.techstack.reactive.client.domain.Item;
+import com.techstack.reactive.client.domain.MultiGetResponse;
+import com.techstack.reactive.config.MultiGetProperties;
+import com.techstack.reactive.resilience.ResilienceFactory;
+import com.techstack.reactive.resilience.ServiceResilience;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.Disposable;
+import reactor.core.publisher.FluxSink;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+import reactor.core.publisher.UnicastProcessor;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Turns concurrent single-id lookups into "POST /v1/items/_mget" calls.
+ *
+ * Every {@link #load(String)} puts its id into one shared queue. The queue is drained in batches of
+ * "items.client.mget.max-batch-size" ids, or whatever arrived within "items.client.mget.window",
+ * and each batch is resolved with one multi-get call. A lookup completes empty when its id is missing.
+ *
+ * bufferTimeout fails when a window closes while all "items.client.mget.concurrency" calls are still in flight,
+ * so finished batches wait in an unbounded buffer instead. Should the pipeline still terminate, a new one is
+ * started for the following lookups, and "items.client.mget.timeout" ends the lookups which were lost with it.
+ */
+@Slf4j
+@Component
+public class ItemMultiGetLoader implements DisposableBean {
+
+    private final WebClient webClient;
+    private final ServiceResilience resilience;
+    private final MultiGetProperties multiGetProperties;
+    private volatile FluxSink<PendingLookup> lookups;
+    private volatile Disposable batches;
+
+    public ItemMultiGetLoader(WebClientFactory webClientFactory, ResilienceFactory resilienceFactory,
+                              MultiGetProperties multiGetProperties) {
+        this.webClient = webClientFactory.webClient("items");
+        this.resilience = resilienceFactory.resilience("items");
+        this.multiGetProperties = multiGetProperties;
+        start();
+    }
+
+    public Mono<Item> load(String id) {
+        return Mono.<Item>create(sink -> lookups.next(new PendingLookup(id, sink)))
+                .timeout(multiGetProperties.getTimeout())
+                .onErrorMap(TimeoutException.class, ex -> new ResponseStatusException(HttpStatus.GATEWAY_TIMEOUT,
+                        "Multi-get lookup of " + id + " timed out after " + multiGetProperties.getTimeout(), ex));
+    }
+
+    private void start() {
+        UnicastProcessor<PendingLookup> processor = UnicastProcessor.create();
+        this.lookups = processor.sink();
+        this.batches = processor
+                .bufferTimeout(multiGetProperties.getMaxBatchSize(), multiGetProperties.getWindow())
+                .onBackpressureBuffer()
+                .flatMap(this::multiGet, multiGetProperties.getConcurrency())
+                .subscribe(null, ex -> {
+                    log.error("Multi-get batching stopped, starting it again", ex);
+                    start();
+                });
+    }
+
+    private Mono<Void> multiGet(List<PendingLookup> batch) {
+        List<String> ids = batch.stream()
+                .map(pendingLookup -> pendingLookup.id)
+                .distinct()
+                .collect(Collectors.toList());
+
+        // a read, despite the POST: "items.client.resilience.operations.[client.mget].idempotent = true"
+        return resilience.mono("client.mget", HttpMethod.POST, webClient
+                .post()
+                .uri("/v1/items/_mget")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Map.of("ids", ids))
+                .retrieve()
+                .bodyToMono(MultiGetResponse.class))
+                .doOnSuccess(multiGetResponse -> {
+                    Map<String, Item> items = multiGetResponse == null || multiGetResponse.getItems() == null
+                            ? Map.of()
+                            : multiGetResponse.getItems().stream()
+                            .collect(Collectors.toMap(Item::getId, Function.identity()));
+                    batch.forEach(pendingLookup -> pendingLookup.sink.success(items.get(pendingLookup.id)));
+                })
+                .doOnError(ex -> {
+                    log.error("Multi-get of {} ids failed", ids.size(), ex);
+                    batch.forEach(pendingLookup -> pendingLookup.sink.error(ex));
+                })
+                .onErrorResume(ex -> Mono.empty())
+                .then();
+    }
+
+    @Override
+    public void destroy() {
+        batches.dispose();
+    }
+
+    @AllArgsConstructor
+    private static class PendingLookup {
+        private final String id;
+        private final MonoSink<Item> sink;
+    }
+}
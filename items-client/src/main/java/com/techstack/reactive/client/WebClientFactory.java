@@ -0,0 +1,110 @@
+package com.techstack.reactive.client;
+
+import com.techstack.reactive.balancer.LoadBalancer;
+import com.techstack.reactive.balancer.LoadBalancerFactory;
+import com.techstack.reactive.config.WebClientProperties;
+import io.netty.channel.ChannelOption;
+import io.netty.handler.timeout.ReadTimeoutHandler;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Builds one {@link WebClient} per target service configured under "items.client.services".
+ *
+ * Every service gets its own, explicitly sized connection pool instead of the shared default one,
+ * so a slow service cannot starve the connections of the others. The clients are created from
+ * Spring Boot's {@link WebClient.Builder}, so "http.client.requests" metrics keep working.
+ * A service which lists "instances" gets a {@link LoadBalancer} filter, sharing the one pool.
+ */
+@Component
+public class WebClientFactory implements DisposableBean {
+
+    private static final String READ_TIMEOUT_HANDLER = "items.client.readTimeout";
+
+    public static final MediaType APPLICATION_SMILE = MediaType.parseMediaType("application/x-jackson-smile");
+
+    /**
+     * Smile first, JSON with a lower quality as fallback. The Smile codecs are part of the
+     * WebClient defaults as soon as jackson-dataformat-smile is on the classpath.
+     */
+    private static final List<MediaType> BINARY_FIRST = List.of(
+            APPLICATION_SMILE,
+            new MediaType(MediaType.APPLICATION_JSON, Map.of("q", "0.9")));
+
+    private final WebClient.Builder webClientBuilder;
+    private final WebClientProperties webClientProperties;
+    private final LoadBalancerFactory loadBalancerFactory;
+    private final Map<String, WebClient> webClients = new ConcurrentHashMap<>();
+    private final Map<String, ConnectionProvider> connectionProviders = new ConcurrentHashMap<>();
+
+    public WebClientFactory(WebClient.Builder webClientBuilder, WebClientProperties webClientProperties,
+                            LoadBalancerFactory loadBalancerFactory) {
+        this.webClientBuilder = webClientBuilder;
+        this.webClientProperties = webClientProperties;
+        this.loadBalancerFactory = loadBalancerFactory;
+    }
+
+    public WebClient webClient(String service) {
+        return webClients.computeIfAbsent(service, this::create);
+    }
+
+    private WebClient create(String service) {
+        WebClientProperties.Service properties = webClientProperties.getServices().get(service);
+        if (properties == null) {
+            throw new IllegalArgumentException("No items.client.services entry for service : " + service);
+        }
+
+        WebClient.Builder builder = webClientBuilder.clone()
+                .baseUrl(properties.getBaseUrl())
+                .clientConnector(new ReactorClientHttpConnector(httpClient(service, properties)));
+        if (properties.isBinary()) {
+            // only a default, a request which sets its own Accept header keeps it
+            builder.defaultHeaders(headers -> headers.setAccept(BINARY_FIRST));
+        }
+        loadBalancerFactory.loadBalancer(service, properties).ifPresent(builder::filter);
+        return builder.build();
+    }
+
+    private HttpClient httpClient(String service, WebClientProperties.Service properties) {
+        ConnectionProvider connectionProvider = connectionProviders.computeIfAbsent(service, name ->
+                ConnectionProvider.builder("items-client." + name)
+                        .maxConnections(properties.getMaxConnections())
+                        .pendingAcquireMaxCount(properties.getPendingAcquireMaxCount())
+                        .pendingAcquireTimeout(properties.getPendingAcquireTimeout())
+                        .maxIdleTime(properties.getMaxIdleTime())
+                        .maxLifeTime(properties.getMaxLifeTime())
+                        .metrics(properties.isMetrics())
+                        .build());
+
+        long responseTimeoutMillis = properties.getResponseTimeout().toMillis();
+
+        HttpClient httpClient = HttpClient.create(connectionProvider)
+                .tcpConfiguration(tcpClient -> tcpClient
+                        .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) properties.getConnectTimeout().toMillis()))
+                // Reactor Netty 0.9 has no response timeout yet, a ReadTimeoutHandler per request does the same
+                .doOnRequest((request, connection) -> connection
+                        .addHandlerLast(READ_TIMEOUT_HANDLER, new ReadTimeoutHandler(responseTimeoutMillis, TimeUnit.MILLISECONDS)))
+                .compress(properties.isCompression());
+
+        if (properties.isH2c()) {
+            httpClient = httpClient.protocol(HttpProtocol.HTTP11, HttpProtocol.H2C);
+        }
+        return httpClient;
+    }
+
+    @Override
+    public void destroy() {
+        connectionProviders.values().forEach(ConnectionProvider::dispose);
+    }
+}
@@ -0,0 +1,16 @@
+package com.techstack.reactive.client.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class MultiGetResponse {
+
+    private List<Item> items;
+    private List<String> missing;
+}
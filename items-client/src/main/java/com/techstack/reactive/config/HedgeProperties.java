@@ -0,0 +1,48 @@
+package com.techstack.reactive.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "items.client.hedge")
+public class HedgeProperties {
+
+    /**
+     * Reads which are hedged, by the name the caller passes (its signal trace route). Empty: none.
+     * Only idempotent operations belong here, the service gets them twice.
+     */
+    private Set<String> operations = new LinkedHashSet<>();
+
+    /**
+     * The second request is sent when the first one took longer than this percentile of the recent ones
+     */
+    private double percentile = 0.95;
+
+    private Duration minDelay = Duration.ofMillis(5);
+
+    /**
+     * Upper bound of the delay, also used until "min-samples" latencies are known
+     */
+    private Duration maxDelay = Duration.ofMillis(500);
+
+    /**
+     * The percentile is taken over the latencies of the last N first requests of an operation
+     */
+    private int window = 1000;
+
+    /**
+     * Latencies needed before the percentile is used, it is recomputed every "min-samples" latencies
+     */
+    private int minSamples = 100;
+
+    /**
+     * Extra load hedging may cause, as share of the calls (0.05: at most 5% more requests)
+     */
+    private double budget = 0.05;
+}
@@ -0,0 +1,50 @@
+package com.techstack.reactive.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Health checks and outlier ejection of the services which list several instances, e.g.
+ * <pre>
+ * items.client.services.items.instances = http://items-1:8080, http://items-2:8080
+ * items.client.load-balancer.health-check-interval = 5s
+ * items.client.load-balancer.consecutive-failures = 5
+ * </pre>
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "items.client.load-balancer")
+public class LoadBalancerProperties {
+
+    /**
+     * Path every instance is polled on, anything but 2xx takes the instance out until the next check
+     */
+    private String healthCheckPath = "/actuator/health";
+
+    /**
+     * How often instances are health checked and the "instances-file" is read again, 0 switches both off
+     */
+    private Duration healthCheckInterval = Duration.ofSeconds(5);
+
+    private Duration healthCheckTimeout = Duration.ofSeconds(1);
+
+    /**
+     * Failures in a row (5xx, connection errors, read timeouts) after which an instance is ejected
+     */
+    private int consecutiveFailures = 5;
+
+    /**
+     * How long an instance stays ejected, multiplied by the number of times it was ejected before
+     */
+    private Duration baseEjectionTime = Duration.ofSeconds(30);
+
+    private Duration maxEjectionTime = Duration.ofMinutes(5);
+
+    /**
+     * Share of the instances (0 to 100) which may be ejected at the same time, the others keep taking traffic
+     */
+    private int maxEjectionPercent = 50;
+}
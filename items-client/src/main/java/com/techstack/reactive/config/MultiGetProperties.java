@@ -0,0 +1,34 @@
+package com.techstack.reactive.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "items.client.mget")
+public class MultiGetProperties {
+
+    /**
+     * How long a single-id lookup waits for others to share its multi-get call
+     */
+    private Duration window = Duration.ofMillis(5);
+
+    /**
+     * Ids per multi-get call, a full batch is sent without waiting for the window
+     */
+    private int maxBatchSize = 100;
+
+    /**
+     * Multi-get calls in flight at the same time
+     */
+    private int concurrency = 8;
+
+    /**
+     * Upper bound for a single-id lookup, window and queueing included. Keep it above the resilience
+     * timeout times its attempts, otherwise lookups give up while their multi-get is still retried
+     */
+    private Duration timeout = Duration.ofSeconds(15);
+}
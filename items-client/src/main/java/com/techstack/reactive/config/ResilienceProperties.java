@@ -0,0 +1,137 @@
+package com.techstack.reactive.config;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Timeouts and retries per operation, circuit breaker and bulkhead per target service, e.g.
+ * <pre>
+ * items.client.resilience.defaults.timeout = 2s
+ * items.client.resilience.operations.[client.mget].idempotent = true
+ * items.client.resilience.circuit-breaker.failure-rate-threshold = 50
+ * items.client.resilience.bulkhead.max-concurrent-calls = 200
+ * </pre>
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "items.client.resilience")
+public class ResilienceProperties {
+
+    /**
+     * Settings of every operation, an entry under "operations" only needs the ones it changes
+     */
+    private Operation defaults = new Operation(Duration.ofSeconds(5), 2,
+            Duration.ofMillis(100), Duration.ofSeconds(1), 0.5, null);
+
+    /**
+     * Per operation, by the name the caller passes (the same as its signal trace route, e.g. "client.retrieve")
+     */
+    private Map<String, Operation> operations = new LinkedHashMap<>();
+
+    private CircuitBreaker circuitBreaker = new CircuitBreaker();
+
+    private Bulkhead bulkhead = new Bulkhead();
+
+    public Operation operation(String name) {
+        Operation operation = operations.get(name);
+        return operation == null ? defaults : operation.orElse(defaults);
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Operation {
+
+        /**
+         * Time one attempt may take. For a Flux: until the first element and between two elements.
+         */
+        private Duration timeout;
+
+        /**
+         * Attempts after the first one, 0 switches retries off
+         */
+        private Integer maxRetries;
+
+        /**
+         * Delay before the first retry, doubled for each further one
+         */
+        private Duration minBackoff;
+
+        private Duration maxBackoff;
+
+        /**
+         * Random share of each delay (0 to 1), so clients which failed together don't retry together
+         */
+        private Double jitter;
+
+        /**
+         * Whether the operation may be sent twice. Unset: GET, HEAD, PUT, DELETE and OPTIONS are.
+         * Other operations are only retried when the connection could not be opened.
+         */
+        private Boolean idempotent;
+
+        Operation orElse(Operation defaults) {
+            return new Operation(
+                    timeout != null ? timeout : defaults.timeout,
+                    maxRetries != null ? maxRetries : defaults.maxRetries,
+                    minBackoff != null ? minBackoff : defaults.minBackoff,
+                    maxBackoff != null ? maxBackoff : defaults.maxBackoff,
+                    jitter != null ? jitter : defaults.jitter,
+                    idempotent != null ? idempotent : defaults.idempotent);
+        }
+    }
+
+    @Data
+    public static class CircuitBreaker {
+
+        /**
+         * Failed calls (5xx, timeouts, connection errors) in percent at which the circuit opens
+         */
+        private float failureRateThreshold = 50;
+
+        /**
+         * Calls slower than "slow-call-duration-threshold" in percent at which the circuit opens
+         */
+        private float slowCallRateThreshold = 100;
+
+        private Duration slowCallDurationThreshold = Duration.ofSeconds(5);
+
+        /**
+         * The failure rate is measured over the last N calls
+         */
+        private int slidingWindowSize = 100;
+
+        /**
+         * Calls needed before the failure rate is evaluated at all
+         */
+        private int minimumNumberOfCalls = 20;
+
+        /**
+         * How long calls fail fast before a few are let through again (half open)
+         */
+        private Duration waitDurationInOpenState = Duration.ofSeconds(10);
+
+        private int permittedNumberOfCallsInHalfOpenState = 5;
+    }
+
+    @Data
+    public static class Bulkhead {
+
+        /**
+         * Calls in flight to one service, further calls fail with 503 instead of queueing for a connection
+         */
+        private int maxConcurrentCalls = 200;
+
+        /**
+         * How long a call may wait for a free slot
+         */
+        private Duration maxWaitDuration = Duration.ZERO;
+    }
+}
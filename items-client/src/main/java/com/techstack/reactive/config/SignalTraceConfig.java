@@ -0,0 +1,22 @@
+package com.techstack.reactive.config;
+
+import com.techstack.trace.SignalTraceConfiguration;
+import com.techstack.trace.SignalTraceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+
+/**
+ * Signal tracing from items-trace, configured under "items.client.trace"
+ */
+@Configuration
+@Import(SignalTraceConfiguration.class)
+public class SignalTraceConfig {
+
+    @Bean
+    @ConfigurationProperties(prefix = "items.client.trace")
+    public SignalTraceProperties signalTraceProperties() {
+        return new SignalTraceProperties();
+    }
+}
@@ -0,0 +1,96 @@
+package com.techstack.reactive.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One entry per target service, e.g.
+ * <pre>
+ * items.client.services.items.base-url = http://localhost:8080
+ * items.client.services.items.max-connections = 500
+ * items.client.services.items.instances = http://items-1:8080, http://items-2:8080
+ * </pre>
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "items.client")
+public class WebClientProperties {
+
+    private Map<String, Service> services = new LinkedHashMap<>();
+
+    @Data
+    public static class Service {
+
+        private String baseUrl;
+
+        /**
+         * Instances (scheme, host and port) the requests are balanced across, see LoadBalancer.
+         * Empty: every request goes to "base-url".
+         */
+        private List<String> instances = new ArrayList<>();
+
+        /**
+         * File with one instance per line, read again when it changes. Adds to "instances".
+         */
+        private String instancesFile;
+
+        /**
+         * Connections kept open to the service, shared by all event loops
+         */
+        private int maxConnections = 500;
+
+        /**
+         * Requests allowed to wait for a free connection, further requests fail immediately
+         */
+        private int pendingAcquireMaxCount = 1000;
+
+        /**
+         * How long a request waits for a free connection
+         */
+        private Duration pendingAcquireTimeout = Duration.ofSeconds(5);
+
+        /**
+         * Connections idle for longer are closed instead of being reused
+         */
+        private Duration maxIdleTime = Duration.ofSeconds(30);
+
+        /**
+         * Connections older than this are closed once released, so load spreads to new instances
+         */
+        private Duration maxLifeTime = Duration.ofMinutes(5);
+
+        /**
+         * Speak HTTP/2 over plain text (h2c), falling back to HTTP/1.1 if the service does not upgrade
+         */
+        private boolean h2c = false;
+
+        private Duration connectTimeout = Duration.ofSeconds(2);
+
+        /**
+         * Longest silence allowed while waiting for, or reading, a response
+         */
+        private Duration responseTimeout = Duration.ofSeconds(5);
+
+        /**
+         * Send "Accept-Encoding: gzip" and decompress responses transparently, worth it for cross-region traffic
+         */
+        private boolean compression = true;
+
+        /**
+         * Ask for Smile (binary JSON) responses, JSON stays acceptable for services which don't speak Smile
+         */
+        private boolean binary = true;
+
+        /**
+         * Publish "reactor.netty.connection.provider.*" pool gauges (total, active, idle, pending)
+         */
+        private boolean metrics = true;
+    }
+}
@@ -1,9 +1,17 @@
 package com.techstack.reactive.controller;
 
+import com.techstack.reactive.client.ItemMultiGetLoader;
+import com.techstack.reactive.client.WebClientFactory;
 import com.techstack.reactive.client.domain.Item;
+import com.techstack.reactive.resilience.RequestHedger;
+import com.techstack.reactive.resilience.ResilienceFactory;
+import com.techstack.reactive.resilience.ServiceResilience;
+import com.techstack.trace.SignalTracer;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.lang.NonNull;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -16,41 +24,70 @@ import org.springframework.web.reactive.function.client.WebClient;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.List;
+import java.util.function.Function;
+
 @Slf4j
 @RestController
 public class ItemClientController {
 
-    WebClient webClient = WebClient.create("http://localhost:8080");
+    /**
+     * Response header of GET /v1/items with the "after" value of the next page
+     */
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    private final WebClient webClient;
+    private final ServiceResilience resilience;
+    private final RequestHedger requestHedger;
+    private final SignalTracer signalTracer;
+    private final ItemMultiGetLoader itemMultiGetLoader;
+
+    /**
+     * The WebClient comes from {@link WebClientFactory}, pool size, timeouts and the base url
+     * of the "items" service are configured under "items.client.services.items".
+     * Every call goes through the circuit breaker, bulkhead, timeout and retries of the "items"
+     * service, see {@link ServiceResilience} and "items.client.resilience". The retrieve reads
+     * listed under "items.client.hedge.operations" are hedged inside of that, see {@link RequestHedger}.
+     */
+    public ItemClientController(WebClientFactory webClientFactory, ResilienceFactory resilienceFactory,
+                                RequestHedger requestHedger, SignalTracer signalTracer,
+                                ItemMultiGetLoader itemMultiGetLoader) {
+        this.webClient = webClientFactory.webClient("items");
+        this.resilience = resilienceFactory.resilience("items");
+        this.requestHedger = requestHedger;
+        this.signalTracer = signalTracer;
+        this.itemMultiGetLoader = itemMultiGetLoader;
+    }
 
     /**
      * Here retrieve() method will give access to the direct response content
      *
+     * GET /v1/items answers one page at a time, the pages are followed with "X-Next-Cursor"
+     * until the last one. Each page is its own resilient (and hedged) call.
+     *
      * @return
      */
     @GetMapping("/client/retrieve")
     public Flux<Item> getAllItemsUsingRetrieve() {
 
-        return webClient
-                .get()
-                .uri("/v1/items")
-                .retrieve()
-                .bodyToFlux(Item.class)
-                .log("Items in Client Call using Retrieve");
+        return signalTracer.trace("client.retrieve", allPages(after -> resilience.mono("client.retrieve", HttpMethod.GET,
+                requestHedger.mono("client.retrieve", itemsPage(after)
+                        .retrieve()
+                        .toEntityList(Item.class)))));
     }
 
     /**
      * Here exchange() method will give access to the RAW ClientResponse content
+     * Pages are followed the same way as in getAllItemsUsingRetrieve.
      * @return
      */
     @GetMapping("/client/exchange")
     public Flux<Item> getAllItemsUsingExchange() {
 
-        return webClient
-                .get()
-                .uri("/v1/items")
-                .exchange()
-                .flatMapMany(clientResponse -> clientResponse.bodyToFlux(Item.class))
-                .log("Items in Client Call using Exchange");
+        return signalTracer.trace("client.exchange", allPages(after -> resilience.mono("client.exchange", HttpMethod.GET,
+                itemsPage(after)
+                        .exchange()
+                        .flatMap(clientResponse -> clientResponse.toEntityList(Item.class)))));
     }
 
     @GetMapping("/client/retrieve/singleItem")
@@ -58,12 +95,21 @@ public class ItemClientController {
 
         String id = "5ece6e9834cd6d162e32d147";
 
-        return webClient
-                .get()
-                .uri("/v1/items/{id}", id)
-                .retrieve()
-                .bodyToMono(Item.class)
-                .log("Items in Client Call using Retrieve Single Item");
+        return signalTracer.trace("client.retrieve.singleItem", resilience.mono("client.retrieve.singleItem", HttpMethod.GET,
+                requestHedger.mono("client.retrieve.singleItem", webClient
+                        .get()
+                        .uri("/v1/items/{id}", id)
+                        .retrieve()
+                        .bodyToMono(Item.class))));
+    }
+
+    /**
+     * Same result as getOneItemsUsingRetrieve, but concurrent calls of this endpoint
+     * are batched into one "POST /v1/items/_mget" call by {@link ItemMultiGetLoader}
+     */
+    @GetMapping("/client/mget/singleItem/{id}")
+    public Mono<Item> getOneItemUsingMultiGet(@PathVariable @NonNull final String id) {
+        return signalTracer.trace("client.mget.singleItem", itemMultiGetLoader.load(id));
     }
 
     @GetMapping("/client/exchange/singleItem")
@@ -71,12 +117,11 @@ public class ItemClientController {
 
         String id = "5ece6e9834cd6d162e32d147";
 
-        return webClient
+        return signalTracer.trace("client.exchange.singleItem", resilience.mono("client.exchange.singleItem", HttpMethod.GET, webClient
                 .get()
                 .uri("/v1/items/{id}", id)
                 .exchange()
-                .flatMap(clientResponse -> clientResponse.bodyToMono(Item.class))
-                .log("Items in Client Call using Retrieve Single Item");
+                .flatMap(clientResponse -> clientResponse.bodyToMono(Item.class))));
     }
 
     @PostMapping("/client/createItem")
@@ -84,58 +129,51 @@ public class ItemClientController {
 
         Mono<Item> itemMono = Mono.just(item);
 
-        return webClient
+        return signalTracer.trace("client.createItem", resilience.mono("client.createItem", HttpMethod.POST, webClient
                 .post()
                 .uri("/v1/items")
                 .contentType(MediaType.APPLICATION_JSON)
                 .body(itemMono, Item.class)
                 .retrieve()
-                .bodyToMono(Item.class)
-                .log("Created Item is : ");
+                .bodyToMono(Item.class)));
     }
 
     @PutMapping("/client/updateItem/{id}")
     public Mono<Item> updateItem(@PathVariable @NonNull final String id,
                                  @RequestBody @NonNull final Item item) {
 
-        return webClient
+        return signalTracer.trace("client.updateItem", resilience.mono("client.updateItem", HttpMethod.PUT, webClient
                 .put()
                 .uri("/v1/items/{id}", id)
                 .body(Mono.just(item), Item.class)
                 .retrieve()
-                .bodyToMono(Item.class)
-                .log("Update Item is : ");
+                .bodyToMono(Item.class)));
     }
 
     @DeleteMapping("/client/deleteItem/{id}")
     public Mono<Void> deleteItem(@PathVariable @NonNull final String id) {
-        return webClient
+        return signalTracer.trace("client.deleteItem", resilience.mono("client.deleteItem", HttpMethod.DELETE, webClient
                 .delete()
                 .uri("/v1/items/{id}", id)
                 .retrieve()
-                .bodyToMono(Void.class)
-                .log("Deleted Item");
+                .bodyToMono(Void.class)));
     }
 
     /**
-     * Error Handling scenario using retrieve() method
+     * Error Handling scenario using retrieve() method.
+     * The 5xx is logged and turned into a WebClientResponseException, which {@link ServiceResilience}
+     * retries and counts as a failure of the service.
      */
     @GetMapping("/client/retrieve/error")
     public Flux<Item> errorRetrieve() {
-        return webClient
+        return resilience.flux("client.retrieve.error", HttpMethod.GET, webClient
                 .get()
                 .uri("/v1/items/runtimeException")
                 .retrieve()
-                .onStatus(HttpStatus::is5xxServerError, clientResponse -> {
-
-                    Mono<String> errorMono = clientResponse.bodyToMono(String.class);
-                    return errorMono.flatMap(errorMessage -> {
-                        log.error("The error Message is : " + errorMessage);
-                        throw new RuntimeException(errorMessage);
-                    });
-                })
-                .bodyToFlux(Item.class);
-
+                .onStatus(HttpStatus::is5xxServerError, clientResponse -> clientResponse
+                        .createException()
+                        .doOnNext(ex -> log.error("The error Message is : " + ex.getResponseBodyAsString())))
+                .bodyToFlux(Item.class));
     }
 
     /**
@@ -143,21 +181,39 @@ public class ItemClientController {
      */
     @GetMapping("/client/exchange/error")
     public Flux<Item> errorExchange() {
-        return webClient
+        return resilience.flux("client.exchange.error", HttpMethod.GET, webClient
                 .get()
                 .uri("/v1/items/runtimeException")
                 .exchange()
                 .flatMapMany(clientResponse -> {
 
-                   if(clientResponse.statusCode().is5xxServerError()) {
-                        return  clientResponse.bodyToMono(String.class)
-                                .flatMap(errorMessage -> {
-                                    log.error("Error Message : {} ", errorMessage);
-                                    throw new RuntimeException(errorMessage);
+                    if (clientResponse.statusCode().is5xxServerError()) {
+                        return clientResponse.createException()
+                                .flatMap(ex -> {
+                                    log.error("Error Message : {} ", ex.getResponseBodyAsString());
+                                    return Mono.<Item>error(ex);
                                 });
                     } else {
-                       return clientResponse.bodyToFlux(Item.class);
-                   }
-                });
+                        return clientResponse.bodyToFlux(Item.class);
+                    }
+                }));
+    }
+
+    /**
+     * The first page, then the page after each "X-Next-Cursor" until a page comes without one
+     */
+    private static Flux<Item> allPages(Function<String, Mono<ResponseEntity<List<Item>>>> page) {
+        return page.apply(null)
+                .expand(response -> {
+                    String nextCursor = response.getHeaders().getFirst(NEXT_CURSOR_HEADER);
+                    return nextCursor == null ? Mono.empty() : page.apply(nextCursor);
+                })
+                .flatMapIterable(response -> response.getBody() == null ? List.of() : response.getBody());
+    }
+
+    private WebClient.RequestHeadersSpec<?> itemsPage(String after) {
+        return after == null
+                ? webClient.get().uri("/v1/items")
+                : webClient.get().uri("/v1/items?after={after}", after);
     }
 }
@@ -0,0 +1,162 @@
+package com.techstack.reactive.resilience;
+
+import com.techstack.reactive.config.HedgeProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Hedged reads against tail latency: when the first request of a read has not answered after the
+ * operation's recent "items.client.hedge.percentile" latency, the same request is sent again and
+ * whichever answers first is used, the other one is cancelled. The second request goes out on another
+ * pooled connection, behind a load balancer it usually lands on another replica.
+ *
+ * - Budget: every call earns "items.client.hedge.budget" of a hedge, a hedge spends one. Unused budget
+ *   adds up to {@value #MAX_BURST} hedges, so a slow service can't double the load.
+ * - Errors: before the hedge is sent an error is the result. Once both requests run, the error of one
+ *   is ignored while the other one is still running.
+ * - A Flux is hedged until its first element, the request which emits first is the one that is streamed.
+ *
+ * Metrics, tagged with the operation: "items.client.hedge.calls", "items.client.hedge.sent" (hedge rate
+ * is sent / calls), "items.client.hedge.wins" (the hedge answered first, win rate is wins / sent) and
+ * "items.client.hedge.delay", the current delay.
+ */
+@Component
+public class RequestHedger {
+
+    private static final int MAX_BURST = 10;
+    private static final long ONE_HEDGE = 1_000_000;
+
+    private final HedgeProperties hedgeProperties;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, OperationStats> operations = new ConcurrentHashMap<>();
+
+    public RequestHedger(HedgeProperties hedgeProperties, MeterRegistry meterRegistry) {
+        this.hedgeProperties = hedgeProperties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    public <T> Mono<T> mono(String operation, Mono<T> call) {
+        if (!hedgeProperties.getOperations().contains(operation)) {
+            return call;
+        }
+        return hedged(operation, call.flux()).next();
+    }
+
+    public <T> Flux<T> flux(String operation, Flux<T> call) {
+        if (!hedgeProperties.getOperations().contains(operation)) {
+            return call;
+        }
+        return hedged(operation, call);
+    }
+
+    private <T> Flux<T> hedged(String operation, Flux<T> call) {
+        OperationStats stats = operations.computeIfAbsent(operation, OperationStats::new);
+
+        return Flux.defer(() -> {
+            stats.calls.increment();
+            stats.earn(hedgeProperties.getBudget());
+
+            long start = System.nanoTime();
+            AtomicInteger running = new AtomicInteger(1);
+            AtomicBoolean recorded = new AtomicBoolean();
+            AtomicBoolean hedgeFirst = new AtomicBoolean();
+            // doOnEach and doOnCancel of the first request, only the earliest one is its latency
+            Runnable record = () -> {
+                if (recorded.compareAndSet(false, true)) {
+                    stats.record(System.nanoTime() - start);
+                }
+            };
+            Function<Flux<T>, Flux<T>> tolerateWhileOtherRuns = attempt -> attempt
+                    .onErrorResume(ex -> running.decrementAndGet() > 0 ? Flux.<T>never() : Flux.<T>error(ex));
+
+            Flux<T> first = call
+                    .doOnEach(signal -> record.run())
+                    .doOnCancel(record)
+                    .transform(tolerateWhileOtherRuns);
+
+            Flux<T> hedge = Mono.delay(stats.delay())
+                    .flatMapMany(tick -> {
+                        if (!stats.spend()) {
+                            return Flux.<T>never();
+                        }
+                        running.incrementAndGet();
+                        stats.sent.increment();
+                        return call
+                                .doOnEach(signal -> {
+                                    if (!signal.isOnError() && hedgeFirst.compareAndSet(false, true)) {
+                                        stats.wins.increment();
+                                    }
+                                })
+                                .transform(tolerateWhileOtherRuns);
+                    });
+
+            return Flux.first(first, hedge);
+        });
+    }
+
+    private final class OperationStats {
+
+        private final long[] latencies = new long[Math.max(1, hedgeProperties.getWindow())];
+        private final AtomicLong recorded = new AtomicLong();
+        private final AtomicLong budget = new AtomicLong();
+        private volatile long delayNanos = hedgeProperties.getMaxDelay().toNanos();
+
+        private final Counter calls;
+        private final Counter sent;
+        private final Counter wins;
+
+        private OperationStats(String operation) {
+            calls = meterRegistry.counter("items.client.hedge.calls", "operation", operation);
+            sent = meterRegistry.counter("items.client.hedge.sent", "operation", operation);
+            wins = meterRegistry.counter("items.client.hedge.wins", "operation", operation);
+            TimeGauge.builder("items.client.hedge.delay", this, TimeUnit.NANOSECONDS, stats -> stats.delayNanos)
+                    .tag("operation", operation)
+                    .register(meterRegistry);
+        }
+
+        Duration delay() {
+            return Duration.ofNanos(delayNanos);
+        }
+
+        void earn(double share) {
+            long amount = (long) (share * ONE_HEDGE);
+            budget.getAndUpdate(current -> Math.min(MAX_BURST * ONE_HEDGE, current + amount));
+        }
+
+        boolean spend() {
+            return budget.getAndUpdate(current -> current >= ONE_HEDGE ? current - ONE_HEDGE : current) >= ONE_HEDGE;
+        }
+
+        /**
+         * The latency of the first request: until its first signal, or until it lost against the hedge
+         */
+        void record(long nanos) {
+            long count = recorded.incrementAndGet();
+            latencies[(int) ((count - 1) % latencies.length)] = nanos;
+
+            int minSamples = Math.max(1, hedgeProperties.getMinSamples());
+            if (count >= minSamples && count % minSamples == 0) {
+                long[] window = Arrays.copyOf(latencies, (int) Math.min(count, latencies.length));
+                Arrays.sort(window);
+                int index = (int) Math.ceil(hedgeProperties.getPercentile() * window.length) - 1;
+                long percentile = window[Math.max(0, Math.min(index, window.length - 1))];
+                delayNanos = Math.max(hedgeProperties.getMinDelay().toNanos(),
+                        Math.min(hedgeProperties.getMaxDelay().toNanos(), percentile));
+            }
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.techstack.reactive.resilience;
+
+import com.techstack.reactive.config.ResilienceProperties;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.micrometer.tagged.TaggedBulkheadMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * One {@link ServiceResilience} per target service, with its own circuit breaker and bulkhead,
+ * configured under "items.client.resilience".
+ *
+ * Metrics: the resilience4j circuit breaker and bulkhead meters ("resilience4j.circuitbreaker.state",
+ * "resilience4j.circuitbreaker.calls", "resilience4j.bulkhead.available.concurrent.calls", ...) and
+ * "items.client.circuitbreaker.transitions", tagged with the service and the from/to state.
+ */
+@Slf4j
+@Component
+public class ResilienceFactory {
+
+    private final ResilienceProperties resilienceProperties;
+    private final MeterRegistry meterRegistry;
+    private final CircuitBreakerRegistry circuitBreakerRegistry;
+    private final BulkheadRegistry bulkheadRegistry;
+    private final Map<String, ServiceResilience> services = new ConcurrentHashMap<>();
+
+    public ResilienceFactory(ResilienceProperties resilienceProperties, MeterRegistry meterRegistry) {
+        this.resilienceProperties = resilienceProperties;
+        this.meterRegistry = meterRegistry;
+        this.circuitBreakerRegistry = CircuitBreakerRegistry.of(circuitBreakerConfig(resilienceProperties.getCircuitBreaker()));
+        this.bulkheadRegistry = BulkheadRegistry.of(bulkheadConfig(resilienceProperties.getBulkhead()));
+
+        TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(circuitBreakerRegistry).bindTo(meterRegistry);
+        TaggedBulkheadMetrics.ofBulkheadRegistry(bulkheadRegistry).bindTo(meterRegistry);
+    }
+
+    public ServiceResilience resilience(String service) {
+        return services.computeIfAbsent(service, this::create);
+    }
+
+    private ServiceResilience create(String service) {
+        CircuitBreaker circuitBreaker = circuitBreakerRegistry.circuitBreaker(service);
+        circuitBreaker.getEventPublisher().onStateTransition(event -> {
+            CircuitBreaker.StateTransition transition = event.getStateTransition();
+            log.warn("Circuit breaker of service {}: {} -> {}", service, transition.getFromState(), transition.getToState());
+            meterRegistry.counter("items.client.circuitbreaker.transitions",
+                    "service", service,
+                    "from", transition.getFromState().name().toLowerCase(),
+                    "to", transition.getToState().name().toLowerCase())
+                    .increment();
+        });
+
+        return new ServiceResilience(service, circuitBreaker, bulkheadRegistry.bulkhead(service),
+                resilienceProperties, meterRegistry);
+    }
+
+    private static CircuitBreakerConfig circuitBreakerConfig(ResilienceProperties.CircuitBreaker properties) {
+        return CircuitBreakerConfig.custom()
+                .failureRateThreshold(properties.getFailureRateThreshold())
+                .slowCallRateThreshold(properties.getSlowCallRateThreshold())
+                .slowCallDurationThreshold(properties.getSlowCallDurationThreshold())
+                .slidingWindowSize(properties.getSlidingWindowSize())
+                .minimumNumberOfCalls(properties.getMinimumNumberOfCalls())
+                .waitDurationInOpenState(properties.getWaitDurationInOpenState())
+                .permittedNumberOfCallsInHalfOpenState(properties.getPermittedNumberOfCallsInHalfOpenState())
+                .recordException(ServiceResilience::isFailure)
+                .build();
+    }
+
+    private static BulkheadConfig bulkheadConfig(ResilienceProperties.Bulkhead properties) {
+        return BulkheadConfig.custom()
+                .maxConcurrentCalls(properties.getMaxConcurrentCalls())
+                .maxWaitDuration(properties.getMaxWaitDuration())
+                .build();
+    }
+}
@@ -0,0 +1,133 @@
+package com.techstack.reactive.resilience;
+
+import com.techstack.reactive.config.ResilienceProperties;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.reactor.bulkhead.operator.BulkheadOperator;
+import io.github.resilience4j.reactor.circuitbreaker.operator.CircuitBreakerOperator;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.netty.handler.timeout.ReadTimeoutException;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Predicate;
+
+/**
+ * Wraps the calls to one service. Each attempt runs in the bulkhead, under the operation's timeout and
+ * through the circuit breaker; failed attempts are retried with exponential backoff and jitter.
+ *
+ * - Retried: 5xx (except 501), timeouts and connection errors, and only when the operation is idempotent.
+ *   A non idempotent operation is only retried when the connection could not be opened, it was never sent.
+ *   A Flux is not retried once it emitted an element, the caller would see elements twice.
+ * - Counted as failures by the circuit breaker: the same errors, not 4xx.
+ * - An open circuit or a full bulkhead fail right away with 503, a timeout with 504. Neither is retried.
+ *
+ * The calls must be lazy (like WebClient's), every retry subscribes to them again.
+ *
+ * Metrics: "items.client.retries", tagged with service and operation.
+ */
+public class ServiceResilience {
+
+    private static final Set<HttpMethod> IDEMPOTENT_METHODS =
+            EnumSet.of(HttpMethod.GET, HttpMethod.HEAD, HttpMethod.PUT, HttpMethod.DELETE, HttpMethod.OPTIONS);
+
+    private final String service;
+    private final CircuitBreaker circuitBreaker;
+    private final Bulkhead bulkhead;
+    private final ResilienceProperties resilienceProperties;
+    private final MeterRegistry meterRegistry;
+
+    ServiceResilience(String service, CircuitBreaker circuitBreaker, Bulkhead bulkhead,
+                      ResilienceProperties resilienceProperties, MeterRegistry meterRegistry) {
+        this.service = service;
+        this.circuitBreaker = circuitBreaker;
+        this.bulkhead = bulkhead;
+        this.resilienceProperties = resilienceProperties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    public <T> Mono<T> mono(String operation, HttpMethod method, Mono<T> call) {
+        ResilienceProperties.Operation settings = resilienceProperties.operation(operation);
+
+        return call
+                .transformDeferred(BulkheadOperator.of(bulkhead))
+                .timeout(settings.getTimeout())
+                .transformDeferred(CircuitBreakerOperator.of(circuitBreaker))
+                .retryWhen(retry(operation, method, settings, ex -> true))
+                .onErrorMap(ServiceResilience::toResponseStatus);
+    }
+
+    public <T> Flux<T> flux(String operation, HttpMethod method, Flux<T> call) {
+        ResilienceProperties.Operation settings = resilienceProperties.operation(operation);
+
+        return Flux.defer(() -> {
+            AtomicBoolean emitted = new AtomicBoolean();
+            return call
+                    .transformDeferred(BulkheadOperator.of(bulkhead))
+                    .timeout(settings.getTimeout())
+                    .transformDeferred(CircuitBreakerOperator.of(circuitBreaker))
+                    .doOnNext(element -> emitted.lazySet(true))
+                    .retryWhen(retry(operation, method, settings, ex -> !emitted.get()));
+        }).onErrorMap(ServiceResilience::toResponseStatus);
+    }
+
+    public CircuitBreaker.State circuitBreakerState() {
+        return circuitBreaker.getState();
+    }
+
+    private Retry retry(String operation, HttpMethod method, ResilienceProperties.Operation settings,
+                        Predicate<Throwable> retryable) {
+        boolean idempotent = settings.getIdempotent() != null
+                ? settings.getIdempotent()
+                : IDEMPOTENT_METHODS.contains(method);
+        Predicate<Throwable> sentAtMostOnce = idempotent ? ServiceResilience::isFailure : ConnectException.class::isInstance;
+
+        return Retry.backoff(settings.getMaxRetries(), settings.getMinBackoff())
+                .maxBackoff(settings.getMaxBackoff())
+                .jitter(settings.getJitter())
+                .filter(retryable.and(ex -> !(ex instanceof WebClientResponseException) || isRetryableStatus(ex))
+                        .and(sentAtMostOnce))
+                .doBeforeRetry(signal -> meterRegistry
+                        .counter("items.client.retries", "service", service, "operation", operation)
+                        .increment())
+                .onRetryExhaustedThrow((spec, signal) -> signal.failure());
+    }
+
+    /**
+     * Errors which say something about the health of the service: 5xx, timeouts and connection errors.
+     * A 4xx is the caller's problem, an open circuit or a full bulkhead are our own decisions.
+     */
+    static boolean isFailure(Throwable ex) {
+        if (ex instanceof WebClientResponseException) {
+            return ((WebClientResponseException) ex).getRawStatusCode() >= 500;
+        }
+        return ex instanceof TimeoutException || ex instanceof ReadTimeoutException || ex instanceof IOException;
+    }
+
+    private static boolean isRetryableStatus(Throwable ex) {
+        return ((WebClientResponseException) ex).getRawStatusCode() != HttpStatus.NOT_IMPLEMENTED.value();
+    }
+
+    private static Throwable toResponseStatus(Throwable ex) {
+        if (ex instanceof CallNotPermittedException || ex instanceof BulkheadFullException) {
+            return new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, ex.getMessage(), ex);
+        }
+        if (ex instanceof TimeoutException || ex instanceof ReadTimeoutException) {
+            return new ResponseStatusException(HttpStatus.GATEWAY_TIMEOUT, ex.getMessage(), ex);
+        }
+        return ex;
+    }
+}
@@ -0,0 +1,182 @@
+package com.techstack.reactive.balancer;
+
+import com.techstack.reactive.config.LoadBalancerProperties;
+import com.techstack.reactive.config.WebClientProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+
+/**
+ * Balances across two local stubs of items-service
+ */
+class LoadBalancerTest {
+
+    StubInstance a = new StubInstance();
+    StubInstance b = new StubInstance();
+    LoadBalancerProperties loadBalancerProperties = new LoadBalancerProperties();
+    MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @BeforeEach
+    void setup() {
+        loadBalancerProperties.setHealthCheckInterval(Duration.ZERO);
+        loadBalancerProperties.setConsecutiveFailures(3);
+    }
+
+    @AfterEach
+    void tearDown() {
+        a.server.disposeNow();
+        b.server.disposeNow();
+    }
+
+    private LoadBalancer loadBalancer(String... instances) {
+        WebClientProperties.Service properties = new WebClientProperties.Service();
+        properties.setInstances(List.of(instances));
+        return new LoadBalancer("items", properties, loadBalancerProperties, WebClient.create(), meterRegistry);
+    }
+
+    private static void get(LoadBalancer loadBalancer, int times) {
+        WebClient webClient = WebClient.builder().baseUrl("http://items").filter(loadBalancer).build();
+        for (int i = 0; i < times; i++) {
+            webClient.get().uri("/v1/items/A").retrieve().toBodilessEntity()
+                    .onErrorResume(ex -> Mono.empty())
+                    .block(Duration.ofSeconds(5));
+        }
+    }
+
+    @Test
+    @DisplayName("A slow instance gets its first request, then the faster one takes the traffic")
+    void latencyAware() {
+        a.delay = Duration.ofMillis(500);
+
+        get(loadBalancer(a.url(), b.url()), 20);
+
+        assertEquals(1, a.calls.get());
+        assertEquals(19, b.calls.get());
+    }
+
+    @Test
+    @DisplayName("Of two instances the one with fewer requests in flight is chosen")
+    void leastOutstanding() {
+        LoadBalancer loadBalancer = loadBalancer(a.url(), b.url());
+        ServiceInstance busy = loadBalancer.getInstances().get(0);
+        busy.begin();
+        busy.begin();
+
+        for (int i = 0; i < 10; i++) {
+            assertNotSame(busy, loadBalancer.choose());
+        }
+    }
+
+    @Test
+    @DisplayName("An instance failing in a row is ejected, the other one takes the traffic")
+    void outlierEjection() {
+        a.status = 503;
+
+        get(loadBalancer(a.url(), b.url()), 20);
+
+        assertEquals(3, a.calls.get());
+        assertEquals(17, b.calls.get());
+        assertEquals(1, meterRegistry.counter("items.client.loadbalancer.ejections",
+                "service", "items", "instance", a.url()).count());
+    }
+
+    @Test
+    @DisplayName("A response body which breaks off after the headers counts as a failure")
+    void bodyFailureEjects() {
+        a.brokenBody = true;
+        // slower, so the healthy headers of the broken instance keep it the cheaper one
+        b.delay = Duration.ofMillis(100);
+
+        get(loadBalancer(a.url(), b.url()), 10);
+
+        assertEquals(3, a.calls.get());
+        assertEquals(7, b.calls.get());
+        assertEquals(1, meterRegistry.counter("items.client.loadbalancer.ejections",
+                "service", "items", "instance", a.url()).count());
+    }
+
+    @Test
+    @DisplayName("An instance failing its health check gets no requests")
+    void healthCheck() {
+        a.healthStatus = 503;
+        LoadBalancer loadBalancer = loadBalancer(a.url(), b.url());
+        loadBalancer.checkHealth().block(Duration.ofSeconds(5));
+
+        get(loadBalancer, 10);
+
+        assertEquals(0, a.calls.get());
+        assertEquals(10, b.calls.get());
+    }
+
+    @Test
+    @DisplayName("Instances are read again when the instances file changed")
+    void instancesFile(@TempDir Path directory) throws Exception {
+        Path file = directory.resolve("items-instances.txt");
+        Files.write(file, List.of("# items-service replicas", a.url()));
+        WebClientProperties.Service properties = new WebClientProperties.Service();
+        properties.setInstancesFile(file.toString());
+        LoadBalancer loadBalancer = new LoadBalancer("items", properties, loadBalancerProperties, WebClient.create(), meterRegistry);
+
+        get(loadBalancer, 2);
+        assertEquals(2, a.calls.get());
+
+        Files.write(file, List.of(b.url()));
+        Files.setLastModifiedTime(file, FileTime.from(Instant.now().plusSeconds(10)));
+        loadBalancer.reloadInstances();
+
+        get(loadBalancer, 2);
+        assertEquals(2, a.calls.get());
+        assertEquals(2, b.calls.get());
+    }
+
+    static class StubInstance {
+
+        final AtomicInteger calls = new AtomicInteger();
+        volatile Duration delay = Duration.ZERO;
+        volatile int status = 200;
+        volatile int healthStatus = 200;
+        volatile boolean brokenBody;
+
+        final DisposableServer server = HttpServer.create()
+                .port(0)
+                .route(routes -> routes
+                        .get("/v1/items/A", (request, response) -> {
+                            calls.incrementAndGet();
+                            // delayed before the headers, the balancer measures up to them
+                            Flux<String> body = brokenBody
+                                    ? Flux.just("{\"id\":").concatWith(Flux.error(new IllegalStateException("broken off")))
+                                    : Flux.just("{\"id\":\"A\",\"description\":\"Apple Ipad\",\"price\":350.0}");
+                            return Mono.delay(delay).then(response.status(status)
+                                    .header(HttpHeaders.CONTENT_TYPE, "application/json")
+                                    .sendString(body)
+                                    .then());
+                        })
+                        .get("/actuator/health", (request, response) -> response.status(healthStatus).send()))
+                .bindNow();
+
+        String url() {
+            return "http://localhost:" + server.port();
+        }
+    }
+}
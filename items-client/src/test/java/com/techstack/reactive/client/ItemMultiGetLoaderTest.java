@@ -0,0 +1,149 @@
+package com.techstack.reactive.client;
+
+import com.techstack.reactive.balancer.LoadBalancerFactory;
+import com.techstack.reactive.client.domain.Item;
+import com.techstack.reactive.config.LoadBalancerProperties;
+import com.techstack.reactive.config.MultiGetProperties;
+import com.techstack.reactive.config.ResilienceProperties;
+import com.techstack.reactive.config.WebClientProperties;
+import com.techstack.reactive.resilience.ResilienceFactory;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ItemMultiGetLoaderTest {
+
+    static final String ITEMS = "{\"items\":[{\"id\":\"A\",\"description\":\"Apple Ipad\",\"price\":350.0},"
+            + "{\"id\":\"B\",\"description\":\"LG TV\",\"price\":850.0}],\"missing\":[\"C\"]}";
+
+    AtomicInteger multiGetCalls = new AtomicInteger();
+    volatile String responseBody = ITEMS;
+    volatile Duration responseDelay = Duration.ZERO;
+    DisposableServer itemsService;
+    WebClientFactory webClientFactory;
+    MultiGetProperties multiGetProperties;
+    ItemMultiGetLoader itemMultiGetLoader;
+
+    @BeforeEach
+    void setup() {
+        itemsService = HttpServer.create()
+                .port(0)
+                .route(routes -> routes.post("/v1/items/_mget", (request, response) -> {
+                    multiGetCalls.incrementAndGet();
+                    return response
+                            .header("Content-Type", "application/json")
+                            .sendString(Mono.delay(responseDelay).map(tick -> responseBody));
+                }))
+                .bindNow();
+
+        WebClientProperties.Service items = new WebClientProperties.Service();
+        items.setBaseUrl("http://localhost:" + itemsService.port());
+        WebClientProperties webClientProperties = new WebClientProperties();
+        webClientProperties.getServices().put("items", items);
+        webClientFactory = new WebClientFactory(WebClient.builder(), webClientProperties,
+                new LoadBalancerFactory(new LoadBalancerProperties(), new SimpleMeterRegistry()));
+
+        multiGetProperties = new MultiGetProperties();
+        multiGetProperties.setWindow(Duration.ofMillis(100));
+        itemMultiGetLoader = loader();
+    }
+
+    ItemMultiGetLoader loader() {
+        return new ItemMultiGetLoader(webClientFactory,
+                new ResilienceFactory(new ResilienceProperties(), new SimpleMeterRegistry()), multiGetProperties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        itemMultiGetLoader.destroy();
+        webClientFactory.destroy();
+        itemsService.disposeNow();
+    }
+
+    @Test
+    @DisplayName("Concurrent lookups within the window share one multi-get call")
+    void concurrentLookupsAreBatched() {
+        Flux<String> ids = Flux.merge(
+                itemMultiGetLoader.load("A"),
+                itemMultiGetLoader.load("B"),
+                itemMultiGetLoader.load("C"),
+                itemMultiGetLoader.load("A"))
+                .map(Item::getId);
+
+        StepVerifier.create(ids.collect(Collectors.toSet()))
+                .expectNext(Set.of("A", "B"))
+                .verifyComplete();
+
+        assertEquals(1, multiGetCalls.get());
+    }
+
+    @Test
+    @DisplayName("A missing id completes empty")
+    void missingId() {
+        StepVerifier.create(itemMultiGetLoader.load("C"))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("A response without items completes every lookup empty")
+    void responseWithoutItems() {
+        responseBody = "{\"missing\":[\"A\",\"B\"]}";
+
+        StepVerifier.create(Flux.merge(itemMultiGetLoader.load("A"), itemMultiGetLoader.load("B")))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Batches keep being resolved while all multi-get calls are in flight")
+    void moreBatchesThanConcurrency() {
+        itemMultiGetLoader.destroy();
+        multiGetProperties.setWindow(Duration.ofMillis(10));
+        multiGetProperties.setConcurrency(1);
+        itemMultiGetLoader = loader();
+        responseDelay = Duration.ofMillis(200);
+
+        // one lookup per window, each window closes while the previous call is still in flight
+        Flux<Item> lookups = Flux.interval(Duration.ofMillis(50))
+                .take(5)
+                .flatMap(i -> itemMultiGetLoader.load(i % 2 == 0 ? "A" : "B"));
+
+        StepVerifier.create(lookups.count())
+                .expectNext(5L)
+                .verifyComplete();
+        StepVerifier.create(itemMultiGetLoader.load("A").map(Item::getId))
+                .expectNext("A")
+                .verifyComplete();
+        assertEquals(6, multiGetCalls.get());
+    }
+
+    @Test
+    @DisplayName("A lookup fails with 504 after items.client.mget.timeout")
+    void lookupTimeout() {
+        itemMultiGetLoader.destroy();
+        multiGetProperties.setTimeout(Duration.ofMillis(300));
+        itemMultiGetLoader = loader();
+        responseDelay = Duration.ofSeconds(2);
+
+        StepVerifier.create(itemMultiGetLoader.load("A"))
+                .expectErrorSatisfies(ex -> assertEquals(HttpStatus.GATEWAY_TIMEOUT,
+                        ((ResponseStatusException) ex).getStatus()))
+                .verify();
+    }
+}
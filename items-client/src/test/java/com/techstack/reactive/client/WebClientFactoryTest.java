@@ -0,0 +1,97 @@
+package com.techstack.reactive.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.techstack.reactive.balancer.LoadBalancerFactory;
+import com.techstack.reactive.client.domain.Item;
+import com.techstack.reactive.config.LoadBalancerProperties;
+import com.techstack.reactive.config.WebClientProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+import reactor.test.StepVerifier;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class WebClientFactoryTest {
+
+    WebClientFactory webClientFactory = new WebClientFactory(WebClient.builder(), webClientProperties(), loadBalancerFactory());
+
+    private static LoadBalancerFactory loadBalancerFactory() {
+        return new LoadBalancerFactory(new LoadBalancerProperties(), new SimpleMeterRegistry());
+    }
+
+    private static WebClientProperties webClientProperties() {
+        WebClientProperties.Service items = new WebClientProperties.Service();
+        items.setBaseUrl("http://localhost:8080");
+        items.setH2c(true);
+
+        WebClientProperties webClientProperties = new WebClientProperties();
+        webClientProperties.getServices().put("items", items);
+        return webClientProperties;
+    }
+
+    @AfterEach
+    void tearDown() {
+        webClientFactory.destroy();
+    }
+
+    @Test
+    @DisplayName("A service gets one WebClient and one connection pool")
+    void sameClientPerService() {
+        assertSame(webClientFactory.webClient("items"), webClientFactory.webClient("items"));
+    }
+
+    @Test
+    @DisplayName("A service which is not configured is rejected")
+    void unknownService() {
+        assertThrows(IllegalArgumentException.class, () -> webClientFactory.webClient("orders"));
+    }
+
+    @Test
+    @DisplayName("Smile is preferred and decoded, a request level Accept header wins")
+    void binaryResponses() throws Exception {
+        byte[] smile = new ObjectMapper(new SmileFactory()).writeValueAsBytes(new Item("A", "Apple Ipad", 350.0));
+        AtomicReference<String> accept = new AtomicReference<>();
+        DisposableServer itemsService = HttpServer.create()
+                .port(0)
+                .route(routes -> routes.get("/v1/items/A", (request, response) -> {
+                    accept.set(request.requestHeaders().get(HttpHeaders.ACCEPT));
+                    return response
+                            .header(HttpHeaders.CONTENT_TYPE, WebClientFactory.APPLICATION_SMILE.toString())
+                            .sendByteArray(Mono.just(smile));
+                }))
+                .bindNow();
+        try {
+            WebClientProperties.Service items = new WebClientProperties.Service();
+            items.setBaseUrl("http://localhost:" + itemsService.port());
+            WebClientProperties webClientProperties = new WebClientProperties();
+            webClientProperties.getServices().put("items", items);
+            WebClientFactory factory = new WebClientFactory(WebClient.builder(), webClientProperties, loadBalancerFactory());
+            WebClient webClient = factory.webClient("items");
+
+            StepVerifier.create(webClient.get().uri("/v1/items/A").retrieve().bodyToMono(Item.class))
+                    .expectNext(new Item("A", "Apple Ipad", 350.0))
+                    .verifyComplete();
+            assertEquals("application/x-jackson-smile, application/json;q=0.9", accept.get());
+
+            webClient.get().uri("/v1/items/A").accept(MediaType.APPLICATION_JSON).retrieve().toBodilessEntity().block();
+            assertEquals("application/json", accept.get());
+
+            factory.destroy();
+        } finally {
+            itemsService.disposeNow();
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.techstack.reactive.controller;
+
+import com.techstack.reactive.balancer.LoadBalancerFactory;
+import com.techstack.reactive.client.ItemMultiGetLoader;
+import com.techstack.reactive.client.WebClientFactory;
+import com.techstack.reactive.client.domain.Item;
+import com.techstack.reactive.config.HedgeProperties;
+import com.techstack.reactive.config.LoadBalancerProperties;
+import com.techstack.reactive.config.MultiGetProperties;
+import com.techstack.reactive.config.ResilienceProperties;
+import com.techstack.reactive.config.WebClientProperties;
+import com.techstack.reactive.resilience.RequestHedger;
+import com.techstack.reactive.resilience.ResilienceFactory;
+import com.techstack.trace.SignalTraceProperties;
+import com.techstack.trace.SignalTracer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ItemClientControllerTest {
+
+    static final String FIRST_PAGE = "[{\"id\":\"A\",\"description\":\"Apple Ipad\",\"price\":350.0},"
+            + "{\"id\":\"B\",\"description\":\"LG TV\",\"price\":850.0}]";
+    static final String LAST_PAGE = "[{\"id\":\"C\",\"description\":\"Beats Headphones\",\"price\":150.0}]";
+
+    List<String> requestedPages = new CopyOnWriteArrayList<>();
+    DisposableServer itemsService;
+    WebClientFactory webClientFactory;
+    ItemMultiGetLoader itemMultiGetLoader;
+    ItemClientController itemClientController;
+
+    @BeforeEach
+    void setup() {
+        itemsService = HttpServer.create()
+                .port(0)
+                .route(routes -> routes.get("/v1/items", (request, response) -> {
+                    requestedPages.add(request.uri());
+                    response.header("Content-Type", "application/json");
+                    if (request.uri().contains("after=B")) {
+                        return response.sendString(Mono.just(LAST_PAGE));
+                    }
+                    return response
+                            .header("X-Next-Cursor", "B")
+                            .sendString(Mono.just(FIRST_PAGE));
+                }))
+                .bindNow();
+
+        WebClientProperties.Service items = new WebClientProperties.Service();
+        items.setBaseUrl("http://localhost:" + itemsService.port());
+        WebClientProperties webClientProperties = new WebClientProperties();
+        webClientProperties.getServices().put("items", items);
+        webClientFactory = new WebClientFactory(WebClient.builder(), webClientProperties,
+                new LoadBalancerFactory(new LoadBalancerProperties(), new SimpleMeterRegistry()));
+
+        ResilienceFactory resilienceFactory = new ResilienceFactory(new ResilienceProperties(), new SimpleMeterRegistry());
+        itemMultiGetLoader = new ItemMultiGetLoader(webClientFactory, resilienceFactory, new MultiGetProperties());
+        itemClientController = new ItemClientController(webClientFactory, resilienceFactory,
+                new RequestHedger(new HedgeProperties(), new SimpleMeterRegistry()),
+                new SignalTracer(new SignalTraceProperties()), itemMultiGetLoader);
+    }
+
+    @AfterEach
+    void tearDown() {
+        itemMultiGetLoader.destroy();
+        webClientFactory.destroy();
+        itemsService.disposeNow();
+    }
+
+    @Test
+    @DisplayName("retrieve follows X-Next-Cursor until the last page")
+    void retrieveFollowsNextCursor() {
+        StepVerifier.create(itemClientController.getAllItemsUsingRetrieve().map(Item::getId))
+                .expectNext("A", "B", "C")
+                .verifyComplete();
+
+        assertEquals(List.of("/v1/items", "/v1/items?after=B"), requestedPages);
+    }
+
+    @Test
+    @DisplayName("exchange follows X-Next-Cursor until the last page")
+    void exchangeFollowsNextCursor() {
+        StepVerifier.create(itemClientController.getAllItemsUsingExchange().map(Item::getId))
+                .expectNext("A", "B", "C")
+                .verifyComplete();
+
+        assertEquals(List.of("/v1/items", "/v1/items?after=B"), requestedPages);
+    }
+}
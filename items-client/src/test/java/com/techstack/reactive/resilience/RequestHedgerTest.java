@@ -0,0 +1,131 @@
+package com.techstack.reactive.resilience;
+
+import com.techstack.reactive.client.domain.Item;
+import com.techstack.reactive.config.HedgeProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Runs the reads against a local stub of items-service
+ */
+class RequestHedgerTest {
+
+    static final String ITEM = "{\"id\":\"A\",\"description\":\"Apple Ipad\",\"price\":350.0}";
+
+    AtomicInteger calls = new AtomicInteger();
+    DisposableServer itemsService;
+    WebClient webClient;
+    HedgeProperties hedgeProperties = new HedgeProperties();
+    MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @BeforeEach
+    void setup() {
+        itemsService = HttpServer.create()
+                .port(0)
+                .route(routes -> routes
+                        // the first call takes 2s, every further one answers at once
+                        .get("/v1/items/A", (request, response) -> {
+                            Mono<String> item = Mono.just(ITEM);
+                            if (calls.incrementAndGet() == 1) {
+                                item = item.delayElement(Duration.ofSeconds(2));
+                            }
+                            return response.header(HttpHeaders.CONTENT_TYPE, "application/json").sendString(item);
+                        })
+                        .get("/v1/items/missing", (request, response) -> {
+                            calls.incrementAndGet();
+                            return response.status(404).send();
+                        }))
+                .bindNow();
+        webClient = WebClient.create("http://localhost:" + itemsService.port());
+
+        hedgeProperties.getOperations().add("client.retrieve.singleItem");
+        hedgeProperties.setMaxDelay(Duration.ofMillis(100));
+        hedgeProperties.setBudget(1.0);
+    }
+
+    @AfterEach
+    void tearDown() {
+        itemsService.disposeNow();
+    }
+
+    private Mono<Item> get(RequestHedger hedger, String operation, String path) {
+        return hedger.mono(operation, webClient.get().uri(path).retrieve().bodyToMono(Item.class));
+    }
+
+    private double count(String name) {
+        return meterRegistry.counter(name, "operation", "client.retrieve.singleItem").count();
+    }
+
+    @Test
+    @DisplayName("A slow first request is overtaken by the hedge sent after the delay")
+    void hedgeWins() {
+        RequestHedger hedger = new RequestHedger(hedgeProperties, meterRegistry);
+
+        StepVerifier.create(get(hedger, "client.retrieve.singleItem", "/v1/items/A"))
+                .expectNextMatches(item -> "A".equals(item.getId()))
+                .expectComplete()
+                .verify(Duration.ofSeconds(1));
+
+        assertEquals(2, calls.get());
+        assertEquals(1, count("items.client.hedge.calls"));
+        assertEquals(1, count("items.client.hedge.sent"));
+        assertEquals(1, count("items.client.hedge.wins"));
+    }
+
+    @Test
+    @DisplayName("Without budget the read waits for the first request")
+    void noBudget() {
+        hedgeProperties.setBudget(0);
+        RequestHedger hedger = new RequestHedger(hedgeProperties, meterRegistry);
+
+        StepVerifier.create(get(hedger, "client.retrieve.singleItem", "/v1/items/A"))
+                .expectNextMatches(item -> "A".equals(item.getId()))
+                .expectComplete()
+                .verify(Duration.ofSeconds(5));
+
+        assertEquals(1, calls.get());
+        assertEquals(0, count("items.client.hedge.sent"));
+    }
+
+    @Test
+    @DisplayName("An error before the delay is the result, nothing is hedged")
+    void errorNotHedged() {
+        RequestHedger hedger = new RequestHedger(hedgeProperties, meterRegistry);
+
+        StepVerifier.create(get(hedger, "client.retrieve.singleItem", "/v1/items/missing"))
+                .expectError(WebClientResponseException.NotFound.class)
+                .verify(Duration.ofSeconds(1));
+
+        assertEquals(1, calls.get());
+        assertEquals(0, count("items.client.hedge.sent"));
+    }
+
+    @Test
+    @DisplayName("Operations which are not listed are never hedged")
+    void notListed() {
+        RequestHedger hedger = new RequestHedger(hedgeProperties, meterRegistry);
+
+        StepVerifier.create(get(hedger, "client.exchange.singleItem", "/v1/items/A"))
+                .expectNextCount(1)
+                .expectComplete()
+                .verify(Duration.ofSeconds(5));
+
+        assertEquals(1, calls.get());
+    }
+}
@@ -0,0 +1,161 @@
+package com.techstack.reactive.resilience;
+
+import com.techstack.reactive.client.domain.Item;
+import com.techstack.reactive.config.ResilienceProperties;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Runs the calls against a local stub of items-service
+ */
+class ServiceResilienceTest {
+
+    AtomicInteger calls = new AtomicInteger();
+    DisposableServer itemsService;
+    WebClient webClient;
+    ResilienceProperties resilienceProperties = new ResilienceProperties();
+    MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @BeforeEach
+    void setup() {
+        itemsService = HttpServer.create()
+                .port(0)
+                .route(routes -> routes
+                        // 503 for the first two calls, then the Item
+                        .get("/v1/items/flaky", (request, response) -> calls.incrementAndGet() <= 2
+                                ? response.status(503).send()
+                                : response.header(HttpHeaders.CONTENT_TYPE, "application/json")
+                                        .sendString(Mono.just("{\"id\":\"A\",\"description\":\"Apple Ipad\",\"price\":350.0}")))
+                        .get("/v1/items/down", (request, response) -> {
+                            calls.incrementAndGet();
+                            return response.status(503).send();
+                        })
+                        .post("/v1/items", (request, response) -> {
+                            calls.incrementAndGet();
+                            return response.status(503).send();
+                        })
+                        .get("/v1/items/slow", (request, response) -> {
+                            calls.incrementAndGet();
+                            return response.sendString(Mono.just("{}").delayElement(Duration.ofSeconds(2)));
+                        }))
+                .bindNow();
+        webClient = WebClient.create("http://localhost:" + itemsService.port());
+
+        resilienceProperties.getDefaults().setMinBackoff(Duration.ofMillis(10));
+        resilienceProperties.getDefaults().setMaxBackoff(Duration.ofMillis(20));
+        resilienceProperties.getDefaults().setTimeout(Duration.ofMillis(500));
+    }
+
+    @AfterEach
+    void tearDown() {
+        itemsService.disposeNow();
+    }
+
+    private ServiceResilience resilience() {
+        return new ResilienceFactory(resilienceProperties, meterRegistry).resilience("items");
+    }
+
+    private Mono<Item> get(String path) {
+        return webClient.get().uri(path).retrieve().bodyToMono(Item.class);
+    }
+
+    @Test
+    @DisplayName("An idempotent call is retried with backoff until it succeeds")
+    void retriedUntilSuccess() {
+        StepVerifier.create(resilience().mono("get", HttpMethod.GET, get("/v1/items/flaky")))
+                .expectNext(new Item("A", "Apple Ipad", 350.0))
+                .verifyComplete();
+
+        assertEquals(3, calls.get());
+        assertEquals(2, meterRegistry.counter("items.client.retries", "service", "items", "operation", "get").count());
+    }
+
+    @Test
+    @DisplayName("A POST which reached the service is not sent again")
+    void postIsNotRetried() {
+        Mono<Item> create = webClient.post().uri("/v1/items")
+                .bodyValue(new Item(null, "Apple Ipad", 350.0))
+                .retrieve()
+                .bodyToMono(Item.class);
+
+        StepVerifier.create(resilience().mono("create", HttpMethod.POST, create))
+                .expectError(WebClientResponseException.ServiceUnavailable.class)
+                .verify();
+
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    @DisplayName("An attempt which takes longer than the timeout fails with 504")
+    void timeout() {
+        resilienceProperties.getDefaults().setMaxRetries(0);
+
+        StepVerifier.create(resilience().mono("get", HttpMethod.GET, get("/v1/items/slow")))
+                .expectErrorMatches(ex -> ex instanceof ResponseStatusException
+                        && ((ResponseStatusException) ex).getStatus() == HttpStatus.GATEWAY_TIMEOUT)
+                .verify(Duration.ofSeconds(1));
+    }
+
+    @Test
+    @DisplayName("The circuit opens after enough failures, then calls fail with 503 without reaching the service")
+    void circuitOpens() {
+        resilienceProperties.getDefaults().setMaxRetries(0);
+        resilienceProperties.getCircuitBreaker().setSlidingWindowSize(4);
+        resilienceProperties.getCircuitBreaker().setMinimumNumberOfCalls(4);
+        ServiceResilience resilience = resilience();
+
+        for (int i = 0; i < 4; i++) {
+            StepVerifier.create(resilience.mono("get", HttpMethod.GET, get("/v1/items/down")))
+                    .expectError(WebClientResponseException.ServiceUnavailable.class)
+                    .verify();
+        }
+        assertEquals(CircuitBreaker.State.OPEN, resilience.circuitBreakerState());
+
+        StepVerifier.create(resilience.mono("get", HttpMethod.GET, get("/v1/items/down")))
+                .expectErrorMatches(ex -> ex instanceof ResponseStatusException
+                        && ((ResponseStatusException) ex).getStatus() == HttpStatus.SERVICE_UNAVAILABLE)
+                .verify();
+        assertEquals(4, calls.get());
+        assertEquals(1, meterRegistry.counter("items.client.circuitbreaker.transitions",
+                "service", "items", "from", "closed", "to", "open").count());
+    }
+
+    @Test
+    @DisplayName("Calls beyond the bulkhead limit fail with 503 right away")
+    void bulkheadFull() {
+        resilienceProperties.getDefaults().setTimeout(Duration.ofSeconds(5));
+        resilienceProperties.getBulkhead().setMaxConcurrentCalls(1);
+        ServiceResilience resilience = resilience();
+
+        Disposable inFlight = resilience.mono("get", HttpMethod.GET, get("/v1/items/slow")).subscribe();
+        try {
+            StepVerifier.create(resilience.mono("get", HttpMethod.GET, get("/v1/items/slow")))
+                    .expectErrorMatches(ex -> ex instanceof ResponseStatusException
+                            && ((ResponseStatusException) ex).getStatus() == HttpStatus.SERVICE_UNAVAILABLE)
+                    .verify(Duration.ofSeconds(1));
+        } finally {
+            inFlight.dispose();
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.techstack.react.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.techstack.react.LearnAndApplySpringReactiveApplication;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.core.env.SimpleCommandLinePropertySource;
+import org.springframework.util.StringUtils;
+
+import java.io.File;
+
+/**
+ * Release gate for items-service.
+ *
+ * Unless "--loadtest.target-url" points to a running instance, items-service is started in this JVM on a
+ * random port, against embedded MongoDB (profile "loadtest", no external connection needed). The virtual users
+ * of {@link VirtualUserEngine} then drive it and the results are written as JSON to "--loadtest.report".
+ *
+ * <pre>
+ * java -jar items-loadtest.jar \
+ *     --loadtest.virtual-users=200 --loadtest.duration=5m \
+ *     --loadtest.mix.get-one=80 --loadtest.mix.create=20 \
+ *     --loadtest.max-error-rate=0.001 --loadtest.max-p99=50ms
+ * </pre>
+ *
+ * All options are listed in {@link LoadTestProperties}. Arguments which do not start with "--loadtest."
+ * are passed on to items-service, e.g. "--items.cache.maximum-size=0".
+ * The exit code is 1 when a gate was exceeded.
+ */
+@Slf4j
+public class LoadTestApplication {
+
+    public static void main(String[] args) throws Exception {
+        StandardEnvironment environment = new StandardEnvironment();
+        environment.getPropertySources().addFirst(new SimpleCommandLinePropertySource(args));
+        LoadTestProperties properties = Binder.get(environment)
+                .bind("loadtest", LoadTestProperties.class)
+                .orElseGet(LoadTestProperties::new);
+
+        ConfigurableApplicationContext itemsService = null;
+        String target = properties.getTargetUrl();
+        if (!StringUtils.hasText(target)) {
+            itemsService = startItemsService(args);
+            target = "http://localhost:" + ((WebServerApplicationContext) itemsService).getWebServer().getPort();
+        }
+
+        VirtualUserEngine engine = new VirtualUserEngine(properties, target);
+        LoadTestReport report;
+        try {
+            report = engine.run();
+        } finally {
+            engine.dispose();
+            if (itemsService != null) {
+                itemsService.close();
+            }
+        }
+
+        ObjectMapper objectMapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+        objectMapper.writeValue(new File(properties.getReport()), report);
+        log.info("Load test report ({}):\n{}", properties.getReport(), objectMapper.writeValueAsString(report));
+
+        if (!report.getViolations().isEmpty()) {
+            log.error("Load test failed: {}", report.getViolations());
+            System.exit(1);
+        }
+    }
+
+    private static ConfigurableApplicationContext startItemsService(String[] args) {
+        String[] serviceArgs = new String[args.length + 3];
+        serviceArgs[0] = "--spring.profiles.active=loadtest";
+        serviceArgs[1] = "--server.port=0";
+        serviceArgs[2] = "--logging.level.com.techstack.react=WARN";
+        System.arraycopy(args, 0, serviceArgs, 3, args.length);
+
+        return new SpringApplicationBuilder(LearnAndApplySpringReactiveApplication.class)
+                .run(serviceArgs);
+    }
+}
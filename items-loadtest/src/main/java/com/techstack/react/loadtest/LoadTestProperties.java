@@ -0,0 +1,89 @@
+package com.techstack.react.loadtest;
+
+import lombok.Data;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Bound from "--loadtest.*" command line arguments, see {@link LoadTestApplication}.
+ */
+@Data
+public class LoadTestProperties {
+
+    /**
+     * Base url of an already running items-service. When empty, items-service is started
+     * in this JVM against embedded MongoDB.
+     */
+    private String targetUrl;
+
+    /**
+     * "/v1/items" for the annotated controller, "/v1/fun/items" for the functional endpoints
+     */
+    private String itemsPath = "/v1/items";
+
+    /**
+     * Concurrent virtual users, each runs one operation after the other (closed model)
+     */
+    private int virtualUsers = 50;
+
+    /**
+     * Pause of a virtual user between two operations
+     */
+    private Duration thinkTime = Duration.ZERO;
+
+    /**
+     * Load before the measurement starts, its results are discarded
+     */
+    private Duration warmup = Duration.ofSeconds(10);
+
+    private Duration duration = Duration.ofSeconds(60);
+
+    /**
+     * Long lived subscribers of /v1/streams/items during the whole run
+     */
+    private int streamSubscribers = 10;
+
+    /**
+     * Items inserted before the run, GET_ONE, MULTI_GET and UPDATE pick from them
+     */
+    private int seedItems = 10_000;
+
+    /**
+     * Items per BULK_IMPORT request
+     */
+    private int bulkSize = 1000;
+
+    /**
+     * Relative weight of each scenario, scenarios without a weight are not run
+     */
+    private Map<Scenario, Integer> mix = defaultMix();
+
+    /**
+     * Where the JSON report is written
+     */
+    private String report = "loadtest-report.json";
+
+    /**
+     * Release gate: the run fails when more requests fail than this (0.01 = 1%)
+     */
+    private double maxErrorRate = 0.01;
+
+    /**
+     * Release gate: the run fails when the p99 latency over all scenarios is higher. No gate when empty.
+     */
+    private Duration maxP99;
+
+    private static Map<Scenario, Integer> defaultMix() {
+        Map<Scenario, Integer> mix = new EnumMap<>(Scenario.class);
+        mix.put(Scenario.GET_ONE, 50);
+        mix.put(Scenario.GET_PAGE, 15);
+        mix.put(Scenario.MULTI_GET, 10);
+        mix.put(Scenario.CREATE, 10);
+        mix.put(Scenario.UPDATE, 10);
+        mix.put(Scenario.DELETE, 4);
+        mix.put(Scenario.BULK_IMPORT, 1);
+        return mix;
+    }
+}
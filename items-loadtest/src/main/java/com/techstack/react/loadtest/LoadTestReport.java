@@ -0,0 +1,26 @@
+package com.techstack.react.loadtest;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class LoadTestReport {
+
+    private String target;
+    private int virtualUsers;
+    private long durationMillis;
+    private ScenarioResult total;
+    private Map<Scenario, ScenarioResult> scenarios;
+    private StreamResult streams;
+
+    /**
+     * Gates of "loadtest.max-*" which were exceeded, the run passed when this is empty
+     */
+    private List<String> violations;
+}
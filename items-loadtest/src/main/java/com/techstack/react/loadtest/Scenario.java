@@ -0,0 +1,42 @@
+package com.techstack.react.loadtest;
+
+/**
+ * One virtual user operation. Weights are configured with "loadtest.mix.&lt;scenario&gt;".
+ */
+public enum Scenario {
+
+    /**
+     * GET /v1/items/{id} of a seeded Item
+     */
+    GET_ONE,
+
+    /**
+     * GET /v1/items?limit=50
+     */
+    GET_PAGE,
+
+    /**
+     * POST /v1/items/_mget with 20 seeded ids
+     */
+    MULTI_GET,
+
+    /**
+     * POST /v1/items
+     */
+    CREATE,
+
+    /**
+     * PUT /v1/items/{id} of a seeded Item
+     */
+    UPDATE,
+
+    /**
+     * DELETE /v1/items/{id} of an Item created by CREATE
+     */
+    DELETE,
+
+    /**
+     * POST /v1/items/bulk with "loadtest.bulk-size" Items
+     */
+    BULK_IMPORT
+}
@@ -0,0 +1,88 @@
+package com.techstack.react.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency histogram and error counters of one scenario. Safe to record into from any thread.
+ * Latencies are recorded in microseconds with 3 significant digits, up to one minute.
+ */
+class ScenarioRecorder {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+    private final Recorder recorder = new Recorder(HIGHEST_TRACKABLE_MICROS, 3);
+    private final LongAdder errors = new LongAdder();
+    private final Map<String, LongAdder> errorsByType = new ConcurrentHashMap<>();
+
+    void success(long startNanos) {
+        recorder.recordValue(elapsedMicros(startNanos));
+    }
+
+    void error(long startNanos, Throwable error) {
+        recorder.recordValue(elapsedMicros(startNanos));
+        errors.increment();
+        errorsByType.computeIfAbsent(errorType(error), type -> new LongAdder()).increment();
+    }
+
+    /**
+     * Drops everything recorded so far, called when the warmup ends
+     */
+    void reset() {
+        recorder.reset();
+        errors.reset();
+        errorsByType.clear();
+    }
+
+    /**
+     * Hands out the histogram recorded since the last call, the caller gets ownership
+     */
+    Histogram histogram() {
+        return recorder.getIntervalHistogram();
+    }
+
+    long errors() {
+        return errors.sum();
+    }
+
+    Map<String, Long> errorsByType() {
+        Map<String, Long> snapshot = new TreeMap<>();
+        errorsByType.forEach((type, count) -> snapshot.put(type, count.sum()));
+        return snapshot;
+    }
+
+    static ScenarioResult result(Histogram histogram, long errors, Map<String, Long> errorsByType, long durationNanos) {
+        long requests = histogram.getTotalCount();
+        double seconds = durationNanos / 1_000_000_000.0;
+
+        return new ScenarioResult(
+                requests,
+                errors,
+                requests == 0 ? 0 : (double) errors / requests,
+                seconds == 0 ? 0 : requests / seconds,
+                histogram.getMean() / 1000.0,
+                histogram.getValueAtPercentile(50.0) / 1000.0,
+                histogram.getValueAtPercentile(99.0) / 1000.0,
+                histogram.getValueAtPercentile(99.9) / 1000.0,
+                histogram.getMaxValue() / 1000.0,
+                errorsByType);
+    }
+
+    private static long elapsedMicros(long startNanos) {
+        return Math.min(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startNanos), HIGHEST_TRACKABLE_MICROS);
+    }
+
+    private static String errorType(Throwable error) {
+        if (error instanceof WebClientResponseException) {
+            return "HTTP " + ((WebClientResponseException) error).getRawStatusCode();
+        }
+        return error.getClass().getSimpleName();
+    }
+}
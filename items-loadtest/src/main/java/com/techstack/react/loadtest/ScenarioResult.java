@@ -0,0 +1,28 @@
+package com.techstack.react.loadtest;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * Results of one scenario (or of all of them) over the measured part of the run.
+ * Latencies are in milliseconds, throughput in requests per second.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ScenarioResult {
+
+    private long requests;
+    private long errors;
+    private double errorRate;
+    private double throughput;
+    private double meanMillis;
+    private double p50Millis;
+    private double p99Millis;
+    private double p999Millis;
+    private double maxMillis;
+    private Map<String, Long> errorsByType;
+}
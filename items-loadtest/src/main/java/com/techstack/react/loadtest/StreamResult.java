@@ -0,0 +1,15 @@
+package com.techstack.react.loadtest;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class StreamResult {
+
+    private int subscribers;
+    private long itemsReceived;
+    private long errors;
+}
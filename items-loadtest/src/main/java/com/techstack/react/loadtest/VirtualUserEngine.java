@@ -0,0 +1,298 @@
+package com.techstack.react.loadtest;
+
+import com.techstack.react.app.document.Item;
+import com.techstack.react.app.document.ItemCapped;
+import com.techstack.react.app.dto.BulkInsertResult;
+import com.techstack.react.app.dto.MultiGetRequest;
+import com.techstack.react.app.dto.MultiGetResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.HdrHistogram.Histogram;
+import org.bson.types.ObjectId;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static com.techstack.react.app.consts.ItemConstants.ITEM_STREAM_END_POINT_V1;
+
+/**
+ * Runs "loadtest.virtual-users" virtual users against one items-service for warmup + duration.
+ *
+ * Each virtual user picks a {@link Scenario} by weight, runs it, waits "loadtest.think-time" and starts over,
+ * so the offered load follows the service's latency (closed model). Next to them
+ * "loadtest.stream-subscribers" clients stay subscribed to the capped collection stream.
+ */
+@Slf4j
+class VirtualUserEngine {
+
+    private static final int PAGE_SIZE = 50;
+    private static final int MULTI_GET_IDS = 20;
+
+    private final LoadTestProperties properties;
+    private final String target;
+    private final WebClient webClient;
+    private final ConnectionProvider connectionProvider;
+    private final TreeMap<Integer, Scenario> scenariosByWeight = new TreeMap<>();
+    private final int totalWeight;
+    private final Map<Scenario, ScenarioRecorder> recorders = new EnumMap<>(Scenario.class);
+    private final Queue<String> createdIds = new ConcurrentLinkedQueue<>();
+    private final LongAdder streamedItems = new LongAdder();
+    private final LongAdder streamErrors = new LongAdder();
+
+    private List<String> seededIds = List.of();
+
+    VirtualUserEngine(LoadTestProperties properties, String target) {
+        if (properties.getSeedItems() < 1) {
+            throw new IllegalArgumentException("loadtest.seed-items must be at least 1");
+        }
+        this.properties = properties;
+        this.target = target;
+        this.connectionProvider = ConnectionProvider.fixed("loadtest",
+                properties.getVirtualUsers() + properties.getStreamSubscribers() + 8);
+        this.webClient = WebClient.builder()
+                .baseUrl(target)
+                .clientConnector(new ReactorClientHttpConnector(HttpClient.create(connectionProvider)))
+                .build();
+
+        int weight = 0;
+        for (Map.Entry<Scenario, Integer> scenario : properties.getMix().entrySet()) {
+            if (scenario.getValue() > 0) {
+                weight += scenario.getValue();
+                scenariosByWeight.put(weight, scenario.getKey());
+                recorders.put(scenario.getKey(), new ScenarioRecorder());
+            }
+        }
+        if (weight == 0) {
+            throw new IllegalArgumentException("loadtest.mix has no scenario with a weight above 0");
+        }
+        this.totalWeight = weight;
+    }
+
+    LoadTestReport run() {
+        seed();
+
+        Disposable streams = Flux.range(0, properties.getStreamSubscribers())
+                .flatMap(subscriber -> stream(), Math.max(1, properties.getStreamSubscribers()))
+                .subscribe();
+
+        long[] measurementStart = new long[1];
+        Mono<Long> warmupEnd = Mono.delay(properties.getWarmup())
+                .doOnNext(tick -> {
+                    recorders.values().forEach(ScenarioRecorder::reset);
+                    streamedItems.reset();
+                    streamErrors.reset();
+                    measurementStart[0] = System.nanoTime();
+                    log.info("Warmup done, measuring for {}", properties.getDuration());
+                });
+
+        try {
+            Flux.range(0, properties.getVirtualUsers())
+                    .flatMap(virtualUser -> Mono.defer(this::runOnce).repeat(), properties.getVirtualUsers())
+                    .takeUntilOther(warmupEnd.then(Mono.delay(properties.getDuration())))
+                    .blockLast();
+        } finally {
+            streams.dispose();
+        }
+
+        return report(System.nanoTime() - measurementStart[0]);
+    }
+
+    void dispose() {
+        connectionProvider.dispose();
+    }
+
+    /**
+     * Seeds through the bulk import, so the same run works against an external service
+     */
+    private void seed() {
+        List<Item> items = IntStream.range(0, properties.getSeedItems())
+                .mapToObj(i -> newItem(new ObjectId().toHexString()))
+                .collect(Collectors.toList());
+
+        long inserted = bulkImport(Flux.fromIterable(items))
+                .map(result -> (long) result.getInserted())
+                .reduce(0L, Long::sum)
+                .block();
+        seededIds = items.stream().map(Item::getId).collect(Collectors.toList());
+        log.info("Seeded {} Items into {}", inserted, target);
+    }
+
+    private Mono<Void> runOnce() {
+        Scenario scenario = pickScenario();
+        ScenarioRecorder recorder = recorders.get(scenario);
+        long start = System.nanoTime();
+
+        Mono<Void> operation = execute(scenario)
+                .doOnSuccess(done -> recorder.success(start))
+                .doOnError(error -> recorder.error(start, error))
+                .onErrorResume(error -> Mono.empty());
+
+        return properties.getThinkTime().isZero()
+                ? operation
+                : operation.then(Mono.delay(properties.getThinkTime()).then());
+    }
+
+    private Mono<Void> execute(Scenario scenario) {
+        String itemsPath = properties.getItemsPath();
+
+        switch (scenario) {
+            case GET_ONE:
+                return webClient.get()
+                        .uri(itemsPath + "/{id}", seededId())
+                        .accept(MediaType.APPLICATION_JSON)
+                        .retrieve()
+                        .bodyToMono(Item.class)
+                        .then();
+            case GET_PAGE:
+                return webClient.get()
+                        .uri(itemsPath + "?limit={limit}", PAGE_SIZE)
+                        .accept(MediaType.APPLICATION_JSON)
+                        .retrieve()
+                        .bodyToMono(new ParameterizedTypeReference<List<Item>>() {})
+                        .then();
+            case MULTI_GET:
+                List<String> ids = IntStream.range(0, MULTI_GET_IDS)
+                        .mapToObj(i -> seededId())
+                        .collect(Collectors.toList());
+                return webClient.post()
+                        .uri(itemsPath + "/_mget")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON)
+                        .body(Mono.just(new MultiGetRequest(ids)), MultiGetRequest.class)
+                        .retrieve()
+                        .bodyToMono(MultiGetResponse.class)
+                        .then();
+            case CREATE:
+                return webClient.post()
+                        .uri(itemsPath)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON)
+                        .body(Mono.just(newItem(null)), Item.class)
+                        .retrieve()
+                        .bodyToMono(Item.class)
+                        .doOnNext(item -> createdIds.offer(item.getId()))
+                        .then();
+            case UPDATE:
+                return webClient.put()
+                        .uri(itemsPath + "/{id}", seededId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON)
+                        .body(Mono.just(newItem(null)), Item.class)
+                        .retrieve()
+                        .bodyToMono(Item.class)
+                        .then();
+            case DELETE:
+                String id = createdIds.poll();
+                if (id == null) {
+                    // nothing created yet, deleting an unknown id still exercises the path
+                    id = new ObjectId().toHexString();
+                }
+                return webClient.delete()
+                        .uri(itemsPath + "/{id}", id)
+                        .accept(MediaType.APPLICATION_JSON)
+                        .retrieve()
+                        .bodyToMono(Void.class);
+            case BULK_IMPORT:
+                return bulkImport(Flux.range(0, properties.getBulkSize()).map(i -> newItem(null)))
+                        .then();
+            default:
+                return Mono.error(new IllegalStateException("Unknown scenario " + scenario));
+        }
+    }
+
+    private Flux<BulkInsertResult> bulkImport(Flux<Item> items) {
+        return webClient.post()
+                .uri(properties.getItemsPath() + "/bulk")
+                .contentType(MediaType.APPLICATION_STREAM_JSON)
+                .accept(MediaType.APPLICATION_STREAM_JSON)
+                .body(items, Item.class)
+                .retrieve()
+                .bodyToFlux(BulkInsertResult.class);
+    }
+
+    private Mono<Void> stream() {
+        return webClient.get()
+                .uri(ITEM_STREAM_END_POINT_V1)
+                .accept(MediaType.APPLICATION_STREAM_JSON)
+                .retrieve()
+                .bodyToFlux(ItemCapped.class)
+                .doOnNext(itemCapped -> streamedItems.increment())
+                .doOnError(error -> streamErrors.increment())
+                .then()
+                // reconnect after a second, stream() builds a fresh request each time
+                .onErrorResume(error -> Mono.delay(Duration.ofSeconds(1)).then(stream()));
+    }
+
+    private LoadTestReport report(long durationNanos) {
+        Map<Scenario, ScenarioResult> scenarios = new EnumMap<>(Scenario.class);
+        Histogram total = null;
+        long totalErrors = 0;
+        Map<String, Long> totalErrorsByType = new TreeMap<>();
+
+        for (Map.Entry<Scenario, ScenarioRecorder> entry : recorders.entrySet()) {
+            ScenarioRecorder recorder = entry.getValue();
+            Histogram histogram = recorder.histogram();
+            Map<String, Long> errorsByType = recorder.errorsByType();
+
+            scenarios.put(entry.getKey(), ScenarioRecorder.result(histogram, recorder.errors(), errorsByType, durationNanos));
+
+            if (total == null) {
+                total = histogram.copy();
+            } else {
+                total.add(histogram);
+            }
+            totalErrors += recorder.errors();
+            errorsByType.forEach((type, count) -> totalErrorsByType.merge(type, count, Long::sum));
+        }
+
+        ScenarioResult totalResult = ScenarioRecorder.result(total, totalErrors, totalErrorsByType, durationNanos);
+        StreamResult streamResult = new StreamResult(properties.getStreamSubscribers(), streamedItems.sum(), streamErrors.sum());
+
+        return new LoadTestReport(target, properties.getVirtualUsers(), durationNanos / 1_000_000,
+                totalResult, scenarios, streamResult, violations(totalResult));
+    }
+
+    private List<String> violations(ScenarioResult total) {
+        List<String> violations = new ArrayList<>();
+        if (total.getErrorRate() > properties.getMaxErrorRate()) {
+            violations.add(String.format("error rate %.4f is above loadtest.max-error-rate %.4f",
+                    total.getErrorRate(), properties.getMaxErrorRate()));
+        }
+        if (properties.getMaxP99() != null && total.getP99Millis() > properties.getMaxP99().toMillis()) {
+            violations.add(String.format("p99 %.2f ms is above loadtest.max-p99 %d ms",
+                    total.getP99Millis(), properties.getMaxP99().toMillis()));
+        }
+        return violations;
+    }
+
+    private Scenario pickScenario() {
+        return scenariosByWeight.higherEntry(ThreadLocalRandom.current().nextInt(totalWeight)).getValue();
+    }
+
+    private String seededId() {
+        return seededIds.get(ThreadLocalRandom.current().nextInt(seededIds.size()));
+    }
+
+    private static Item newItem(String id) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return new Item(id, "Load test item " + random.nextInt(1_000_000), Math.round(random.nextDouble(1, 5000) * 100) / 100.0);
+    }
+}
@@ -0,0 +1,115 @@
+package com.techstack.react.loadtest;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs the virtual users against a local stub of items-service
+ */
+class VirtualUserEngineTest {
+
+    AtomicInteger streamCalls = new AtomicInteger();
+    volatile int getStatus = 200;
+    DisposableServer itemsService;
+    LoadTestProperties properties = new LoadTestProperties();
+
+    @BeforeEach
+    void setup() {
+        itemsService = HttpServer.create()
+                .port(0)
+                .route(routes -> routes
+                        .post("/v1/items/bulk", (request, response) -> request.receive().aggregate()
+                                .then(response.header(HttpHeaders.CONTENT_TYPE, "application/stream+json")
+                                        .sendString(Mono.just("{\"batch\":0,\"inserted\":5,\"failed\":0,\"latencyMillis\":1,\"errors\":[]}\n"))
+                                        .then()))
+                        .get("/v1/items/{id}", (request, response) -> response
+                                .status(getStatus)
+                                .header(HttpHeaders.CONTENT_TYPE, "application/json")
+                                .sendString(Mono.just("{\"id\":\"" + request.param("id") + "\",\"description\":\"Apple Ipad\",\"price\":350.0}")))
+                        // the first subscription fails after the warmup reset, the reconnect gets three Items
+                        .get("/v1/streams/items", (request, response) -> streamCalls.incrementAndGet() == 1
+                                ? Mono.delay(Duration.ofMillis(200)).then(response.status(500).send().then())
+                                : response.header(HttpHeaders.CONTENT_TYPE, "application/stream+json")
+                                        .sendString(Mono.just("{\"id\":\"1\",\"description\":\"a\",\"price\":1.0}\n"
+                                                + "{\"id\":\"2\",\"description\":\"b\",\"price\":2.0}\n"
+                                                + "{\"id\":\"3\",\"description\":\"c\",\"price\":3.0}\n"))))
+                .bindNow();
+
+        Map<Scenario, Integer> mix = new EnumMap<>(Scenario.class);
+        mix.put(Scenario.GET_ONE, 1);
+        properties.setMix(mix);
+        properties.setVirtualUsers(2);
+        properties.setSeedItems(5);
+        properties.setThinkTime(Duration.ofMillis(10));
+        properties.setWarmup(Duration.ZERO);
+        properties.setStreamSubscribers(0);
+    }
+
+    @AfterEach
+    void tearDown() {
+        itemsService.disposeNow();
+    }
+
+    private LoadTestReport run() {
+        VirtualUserEngine engine = new VirtualUserEngine(properties, "http://localhost:" + itemsService.port());
+        try {
+            return engine.run();
+        } finally {
+            engine.dispose();
+        }
+    }
+
+    @Test
+    @DisplayName("Requests are measured per scenario, a run within the gates has no violations")
+    void passes() {
+        properties.setDuration(Duration.ofMillis(500));
+
+        LoadTestReport report = run();
+
+        assertTrue(report.getTotal().getRequests() > 0);
+        assertEquals(0, report.getTotal().getErrors());
+        assertEquals(report.getTotal().getRequests(), report.getScenarios().get(Scenario.GET_ONE).getRequests());
+        assertTrue(report.getViolations().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Failing requests are counted by type and break the error rate gate")
+    void errorRateGate() {
+        getStatus = 500;
+        properties.setDuration(Duration.ofMillis(500));
+
+        LoadTestReport report = run();
+
+        assertEquals(report.getTotal().getRequests(), report.getTotal().getErrors());
+        assertEquals(report.getTotal().getErrors(), report.getTotal().getErrorsByType().get("HTTP 500"));
+        assertEquals(1, report.getViolations().size());
+        assertTrue(report.getViolations().get(0).startsWith("error rate"));
+    }
+
+    @Test
+    @DisplayName("A stream subscriber reconnects after its stream failed")
+    void streamReconnects() {
+        properties.setStreamSubscribers(1);
+        properties.setDuration(Duration.ofSeconds(2));
+
+        LoadTestReport report = run();
+
+        assertEquals(2, streamCalls.get());
+        assertEquals(1, report.getStreams().getErrors());
+        assertEquals(3, report.getStreams().getItemsReceived());
+    }
+}
@@ -1,5 +1,6 @@
 package com.techstack.react;
 
+import com.techstack.react.app.initialize.StartupTimingListener;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 
@@ -7,7 +8,9 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
 public class LearnAndApplySpringReactiveApplication {
 
 	public static void main(String[] args) {
-		SpringApplication.run(LearnAndApplySpringReactiveApplication.class, args);
+		SpringApplication application = new SpringApplication(LearnAndApplySpringReactiveApplication.class);
+		application.addListeners(new StartupTimingListener());
+		application.run(args);
 	}
 
 }
@@ -0,0 +1,35 @@
+package com.techstack.react.app.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.web.codec.CodecCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.json.Jackson2JsonDecoder;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+
+import java.util.List;
+
+import static com.techstack.react.app.consts.ItemConstants.APPLICATION_NDJSON_VALUE;
+
+@Configuration
+public class CodecConfig {
+
+    /**
+     * Registers a streaming Jackson decoder/encoder for "application/x-ndjson" so that
+     * bulk imports can be sent as newline delimited JSON as well as "application/stream+json".
+     * Both are tokenized incrementally, one Item at a time.
+     */
+    @Bean
+    public CodecCustomizer ndjsonCodecCustomizer(ObjectMapper objectMapper) {
+        MediaType ndjson = MediaType.parseMediaType(APPLICATION_NDJSON_VALUE);
+
+        return configurer -> {
+            Jackson2JsonEncoder encoder = new Jackson2JsonEncoder(objectMapper, ndjson);
+            encoder.setStreamingMediaTypes(List.of(ndjson));
+
+            configurer.customCodecs().decoder(new Jackson2JsonDecoder(objectMapper, ndjson));
+            configurer.customCodecs().encoder(encoder);
+        };
+    }
+}
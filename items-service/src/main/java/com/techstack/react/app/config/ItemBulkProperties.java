@@ -0,0 +1,22 @@
+package com.techstack.react.app.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "items.bulk")
+public class ItemBulkProperties {
+
+    /**
+     * How many items are grouped into a single insertMany call
+     */
+    private int batchSize = 1000;
+
+    /**
+     * How many batches can be written to MongoDB at the same time.
+     * batchSize * concurrency is the upper bound of items held in memory per request.
+     */
+    private int concurrency = 4;
+}
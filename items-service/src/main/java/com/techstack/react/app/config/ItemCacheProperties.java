@@ -0,0 +1,23 @@
+package com.techstack.react.app.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "items.cache")
+public class ItemCacheProperties {
+
+    /**
+     * Upper bound of Items kept in the cache, least recently used ones are evicted first
+     */
+    private long maximumSize = 10_000;
+
+    /**
+     * How long an Item stays in the cache after it was loaded or written
+     */
+    private Duration timeToLive = Duration.ofMinutes(5);
+}
@@ -0,0 +1,23 @@
+package com.techstack.react.app.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "items.stream.catalog-tail")
+public class ItemCatalogTailProperties {
+
+    /**
+     * How long to wait before the change stream is opened again (and the collection re-read) after it failed
+     */
+    private Duration retryInterval = Duration.ofSeconds(30);
+
+    /**
+     * Failed attempts in a row after which the change stream is not opened again, e.g. on a standalone MongoDB
+     */
+    private int maxRetries = 5;
+}
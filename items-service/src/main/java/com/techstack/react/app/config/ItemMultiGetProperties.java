@@ -0,0 +1,16 @@
+package com.techstack.react.app.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "items.mget")
+public class ItemMultiGetProperties {
+
+    /**
+     * Upper bound for the number of ids of one POST /v1/items/_mget request
+     */
+    private int maxIds = 1000;
+}
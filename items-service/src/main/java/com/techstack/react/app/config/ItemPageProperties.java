@@ -0,0 +1,33 @@
+package com.techstack.react.app.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "items.page")
+public class ItemPageProperties {
+
+    /**
+     * Page size when the caller does not send a "limit"
+     */
+    private int defaultLimit = 100;
+
+    /**
+     * Upper bound for the "limit" a caller can ask for
+     */
+    private int maxLimit = 1000;
+
+    /**
+     * How many Items the streaming mode requests from MongoDB at a time
+     */
+    private int streamPrefetch = 256;
+
+    public int resolveLimit(Integer requested) {
+        if (requested == null) {
+            return defaultLimit;
+        }
+        return Math.max(1, Math.min(requested, maxLimit));
+    }
+}
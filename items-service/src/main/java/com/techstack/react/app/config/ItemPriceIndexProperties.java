@@ -0,0 +1,17 @@
+package com.techstack.react.app.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "items.price.index")
+public class ItemPriceIndexProperties {
+
+    /**
+     * Keep the in-memory price index. Needs change streams (a replica set),
+     * without it every price query goes to MongoDB. Retries: "items.stream.catalog-tail".
+     */
+    private boolean enabled = true;
+}
@@ -0,0 +1,28 @@
+package com.techstack.react.app.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "items.price.write-behind")
+public class ItemPriceWriteBehindProperties {
+
+    /**
+     * How often pending price updates are written, updates of the same id within this window are coalesced
+     */
+    private Duration flushInterval = Duration.ofMillis(50);
+
+    /**
+     * Distinct ids waiting to be written, further ids are rejected with 429 until the next flush
+     */
+    private int maxPending = 100_000;
+
+    /**
+     * Updates per bulkWrite, a flush writes as many batches as it takes to empty the queue
+     */
+    private int maxBatchSize = 1000;
+}
@@ -0,0 +1,28 @@
+package com.techstack.react.app.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "items.search")
+public class ItemSearchProperties {
+
+    /**
+     * Results when the caller does not send a "limit"
+     */
+    private int defaultLimit = 10;
+
+    /**
+     * Upper bound for the "limit" a caller can ask for
+     */
+    private int maxLimit = 100;
+
+    public int resolveLimit(Integer requested) {
+        if (requested == null) {
+            return defaultLimit;
+        }
+        return Math.max(1, Math.min(requested, maxLimit));
+    }
+}
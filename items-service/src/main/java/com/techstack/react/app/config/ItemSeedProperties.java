@@ -0,0 +1,103 @@
+package com.techstack.react.app.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "items.seed")
+public class ItemSeedProperties {
+
+    public enum Source {
+        /**
+         * The three demo Items
+         */
+        DEMO,
+        /**
+         * "count" generated Items, the same "random-seed" generates the same Items
+         */
+        GENERATOR,
+        /**
+         * Items read from "file", one JSON document per line
+         */
+        FILE,
+        /**
+         * Nothing is seeded, the Items collection is left as it is
+         */
+        NONE
+    }
+
+    private Source source = Source.DEMO;
+
+    /**
+     * Block the startup until seeding is done. With false the application serves requests right away
+     * and the "itemSeed" health indicator stays OUT_OF_SERVICE until seeding is done.
+     */
+    private boolean blockStartup = true;
+
+    /**
+     * Delete all Items before seeding
+     */
+    private boolean dropExisting = true;
+
+    /**
+     * How many Items the GENERATOR source creates
+     */
+    private int count = 100_000;
+
+    /**
+     * Seed of the GENERATOR's prices
+     */
+    private long randomSeed = 42;
+
+    /**
+     * Resource location of the FILE source, e.g. "file:/data/items.ndjson" or "classpath:seed/items.ndjson"
+     */
+    private String file;
+
+    /**
+     * Items per insertMany call
+     */
+    private int batchSize = 1000;
+
+    /**
+     * Batches written to MongoDB at the same time
+     */
+    private int concurrency = 4;
+
+    /**
+     * How often the progress (Items inserted so far and Items/s) is logged
+     */
+    private Duration progressInterval = Duration.ofSeconds(5);
+
+    private Capped capped = new Capped();
+
+    @Data
+    public static class Capped {
+
+        /**
+         * (Re)create the ItemCapped collection at startup and feed it
+         */
+        private boolean enabled = true;
+
+        private long maxDocuments = 20;
+
+        /**
+         * Size of the whole capped collection in bytes
+         */
+        private long size = 50_000;
+
+        /**
+         * One ItemCapped is inserted per interval
+         */
+        private Duration feedInterval = Duration.ofSeconds(1);
+
+        /**
+         * How many ItemCapped are inserted, 0 keeps feeding until the application stops
+         */
+        private long feedCount = 0;
+    }
+}
@@ -0,0 +1,32 @@
+package com.techstack.react.app.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "items.snapshot")
+public class ItemSnapshotProperties {
+
+    /**
+     * Keep the catalog snapshot up to date from the change stream (needs a replica set).
+     * Without it, or while the change stream is down, the collection is re-read instead.
+     * Retries: "items.stream.catalog-tail".
+     */
+    private boolean followChanges = true;
+
+    /**
+     * When changes are not followed: how often the collection is re-read at most, i.e. how stale
+     * GET /v1/items/snapshot can be. Pollers in between get the same snapshot (and 304s).
+     */
+    private Duration rescanInterval = Duration.ofSeconds(5);
+
+    /**
+     * A snapshot is rebuilt at most this often while the catalog keeps changing, every build allocates
+     * a new direct buffer of the catalog's size. Requests in between get the previous snapshot.
+     */
+    private Duration minRebuildInterval = Duration.ofSeconds(1);
+}
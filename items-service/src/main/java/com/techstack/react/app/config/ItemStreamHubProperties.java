@@ -0,0 +1,46 @@
+package com.techstack.react.app.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "items.stream.hub")
+public class ItemStreamHubProperties {
+
+    /**
+     * How many of the latest Items a late joiner receives before the live ones
+     */
+    private int replaySize = 20;
+
+    /**
+     * How many Items can wait for one slow subscriber before the overflow strategy kicks in
+     */
+    private int bufferSize = 256;
+
+    private OverflowStrategy overflowStrategy = OverflowStrategy.DROP_OLDEST;
+
+    /**
+     * How long the shared tailable cursor is kept open after the last subscriber left.
+     * Zero closes it right away.
+     */
+    private Duration gracePeriod = Duration.ofSeconds(5);
+
+    public enum OverflowStrategy {
+        /**
+         * Drop the oldest buffered Item to make room for the new one
+         */
+        DROP_OLDEST,
+        /**
+         * Drop the new Item, keep what is already buffered
+         */
+        DROP_LATEST,
+        /**
+         * Terminate the slow subscriber with an overflow error, which closes its connection
+         */
+        DISCONNECT
+    }
+}
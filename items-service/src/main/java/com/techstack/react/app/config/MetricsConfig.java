@@ -0,0 +1,25 @@
+package com.techstack.react.app.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.mongodb.MongoMetricsCommandListener;
+import io.micrometer.core.instrument.binder.mongodb.MongoMetricsConnectionPoolListener;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class MetricsConfig {
+
+    /**
+     * Spring Boot 2.2 does not instrument the MongoDB driver, so the listeners are added here:
+     * - mongodb.driver.commands: latency of every command, tagged by command and collection
+     * - mongodb.driver.pool.*: size, checked out connections and wait queue of each connection pool
+     */
+    @Bean
+    public MongoClientSettingsBuilderCustomizer mongoMetricsCustomizer(MeterRegistry meterRegistry) {
+        return builder -> builder
+                .addCommandListener(new MongoMetricsCommandListener(meterRegistry))
+                .applyToConnectionPoolSettings(pool ->
+                        pool.addConnectionPoolListener(new MongoMetricsConnectionPoolListener(meterRegistry)));
+    }
+}
@@ -0,0 +1,25 @@
+package com.techstack.react.app.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.boot.web.server.WebServerFactoryCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class ResponseCompressionConfig {
+
+    /**
+     * Used instead of "server.compression", which has one threshold for all media types
+     * and is left disabled. See {@link ResponseCompressionPredicate}.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "items.compression.enabled", matchIfMissing = true)
+    public WebServerFactoryCustomizer<NettyReactiveWebServerFactory> responseCompressionCustomizer(
+            ResponseCompressionProperties responseCompressionProperties) {
+        ResponseCompressionPredicate predicate =
+                new ResponseCompressionPredicate(responseCompressionProperties.getMimeTypes());
+
+        return factory -> factory.addServerCustomizers(httpServer -> httpServer.compress(predicate));
+    }
+}
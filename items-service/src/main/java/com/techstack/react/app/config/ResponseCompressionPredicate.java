@@ -0,0 +1,65 @@
+package com.techstack.react.app.config;
+
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpHeaders;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.util.unit.DataSize;
+import reactor.netty.http.server.HttpServerRequest;
+import reactor.netty.http.server.HttpServerResponse;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.BiPredicate;
+
+/**
+ * Decides per response whether Netty compresses it, once the response headers are known.
+ *
+ * Compression happens in Netty's HttpContentCompressor, which deflates every chunk with a sync flush.
+ * A streaming response ("application/stream+json", SSE, ...) therefore goes out as compressed frames
+ * as soon as WebFlux flushes an element, nothing is buffered until the end of the stream.
+ * Clients which do not send "Accept-Encoding" get the response unchanged.
+ */
+public class ResponseCompressionPredicate implements BiPredicate<HttpServerRequest, HttpServerResponse> {
+
+    private final Map<MediaType, Long> minResponseSizes = new LinkedHashMap<>();
+
+    public ResponseCompressionPredicate(Map<String, DataSize> mimeTypes) {
+        mimeTypes.forEach((mimeType, minResponseSize) ->
+                minResponseSizes.put(MediaType.parseMediaType(mimeType), minResponseSize.toBytes()));
+    }
+
+    @Override
+    public boolean test(HttpServerRequest request, HttpServerResponse response) {
+        HttpHeaders headers = response.responseHeaders();
+        if (headers.contains(HttpHeaderNames.CONTENT_ENCODING)) {
+            return false;
+        }
+
+        Long minResponseSize = minResponseSize(headers.get(HttpHeaderNames.CONTENT_TYPE));
+        if (minResponseSize == null) {
+            return false;
+        }
+
+        String contentLength = headers.get(HttpHeaderNames.CONTENT_LENGTH);
+        return contentLength == null || Long.parseLong(contentLength) >= minResponseSize;
+    }
+
+    private Long minResponseSize(String contentType) {
+        if (contentType == null) {
+            return null;
+        }
+        MediaType mediaType;
+        try {
+            mediaType = MediaType.parseMediaType(contentType);
+        } catch (InvalidMediaTypeException e) {
+            return null;
+        }
+        for (Map.Entry<MediaType, Long> entry : minResponseSizes.entrySet()) {
+            if (entry.getKey().includes(mediaType)) {
+                return entry.getValue();
+            }
+        }
+        return null;
+    }
+}
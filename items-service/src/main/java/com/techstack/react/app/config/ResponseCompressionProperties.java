@@ -0,0 +1,32 @@
+package com.techstack.react.app.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "items.compression")
+public class ResponseCompressionProperties {
+
+    /**
+     * gzip/deflate responses for clients which send "Accept-Encoding"
+     */
+    private boolean enabled = true;
+
+    /**
+     * Smallest response which is compressed, per media type. Types which are not listed are sent as they are.
+     * Responses without Content-Length (streams, Flux bodies) are always compressed, frame by frame.
+     */
+    private Map<String, DataSize> mimeTypes = new LinkedHashMap<>(Map.of(
+            "application/json", DataSize.ofKilobytes(1),
+            "application/stream+json", DataSize.ofBytes(0),
+            "application/x-ndjson", DataSize.ofBytes(0),
+            "text/event-stream", DataSize.ofBytes(0),
+            "application/x-jackson-smile", DataSize.ofKilobytes(4),
+            "application/stream+x-jackson-smile", DataSize.ofBytes(0)));
+}
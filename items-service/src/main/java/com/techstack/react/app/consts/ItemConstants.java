@@ -11,4 +11,31 @@ public class ItemConstants {
     public static final String ITEM_STREAM_END_POINT_V1 = "/v1/streams/items";
     public static final String ITEM_FUNCTIONAL_END_POINT_V1 = "/v1/fun/items";
     public static final String ITEM_FUNCTIONAL_STREAM_END_POINT_V1 = "/v1/fun/stream/items";
+
+    /**
+     * Response header carrying the cursor ("after" parameter) of the next page of Items
+     */
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    /**
+     * Request header with the id of the last Server-Sent Event a reconnecting client saw
+     */
+    public static final String LAST_EVENT_ID_HEADER = "Last-Event-ID";
+
+    /**
+     * Newline delimited JSON, one document per line. Spring 5.2 only knows about
+     * {@code application/stream+json}, so this one is registered in {@code CodecConfig}.
+     */
+    public static final String APPLICATION_NDJSON_VALUE = "application/x-ndjson";
+
+    /**
+     * Smile, Jackson's binary JSON. Same data model as JSON with smaller payloads and cheaper
+     * encoding/decoding. WebFlux registers the codecs when jackson-dataformat-smile is on the classpath.
+     */
+    public static final String APPLICATION_SMILE_VALUE = "application/x-jackson-smile";
+
+    /**
+     * Smile counterpart of {@code application/stream+json}, one Item after the other
+     */
+    public static final String APPLICATION_STREAM_SMILE_VALUE = "application/stream+x-jackson-smile";
 }
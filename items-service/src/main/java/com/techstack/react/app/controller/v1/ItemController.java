@@ -1,77 +1,267 @@
 package com.techstack.react.app.controller.v1;
 
+import com.techstack.react.app.config.ItemPageProperties;
 import com.techstack.react.app.document.Item;
+import com.techstack.react.app.dto.BulkInsertResult;
+import com.techstack.react.app.dto.ItemQuery;
+import com.techstack.react.app.dto.ItemSearch;
+import com.techstack.react.app.dto.MultiGetRequest;
+import com.techstack.react.app.dto.MultiGetResponse;
+import com.techstack.react.app.dto.PriceUpdate;
+import com.techstack.react.app.http.ItemETags;
+import com.techstack.react.app.http.RetryAfter;
 import com.techstack.react.app.repository.ItemReactiveRepository;
+import com.techstack.react.app.service.ItemBulkService;
+import com.techstack.react.app.service.ItemCacheService;
+import com.techstack.react.app.service.ItemMultiGetService;
+import com.techstack.react.app.service.ItemPriceQueryService;
+import com.techstack.react.app.service.ItemPriceWriteBehindService;
+import com.techstack.react.app.service.ItemSearchService;
+import com.techstack.react.app.snapshot.CatalogFormat;
+import com.techstack.react.app.snapshot.ItemCatalogSnapshot;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.List;
+
+import static com.techstack.react.app.consts.ItemConstants.APPLICATION_NDJSON_VALUE;
+import static com.techstack.react.app.consts.ItemConstants.APPLICATION_STREAM_SMILE_VALUE;
 import static com.techstack.react.app.consts.ItemConstants.ITEM_END_POINT_V1;
+import static com.techstack.react.app.consts.ItemConstants.NEXT_CURSOR_HEADER;
 
+/**
+ * Not lazy even with "spring.main.lazy-initialization", the first request should not pay for
+ * creating the controller and everything behind it (the functional twin is created eagerly by its router anyway).
+ */
+@Lazy(false)
 @RequiredArgsConstructor
 @RestController
 @Slf4j
 public class ItemController {
 
     private final ItemReactiveRepository itemReactiveRepository;
+    private final ItemBulkService itemBulkService;
+    private final ItemCacheService itemCacheService;
+    private final ItemMultiGetService itemMultiGetService;
+    private final ItemPriceWriteBehindService itemPriceWriteBehindService;
+    private final ItemSearchService itemSearchService;
+    private final ItemPriceQueryService itemPriceQueryService;
+    private final ItemCatalogSnapshot itemCatalogSnapshot;
+    private final ItemPageProperties itemPageProperties;
 
+    /**
+     * Returns one page of Items in "_id" order. Query parameters (all optional):
+     * limit, after, minPrice, maxPrice, descriptionPrefix
+     *
+     * When the page is full, the "X-Next-Cursor" response header holds the value
+     * to send as "after" to get the next page.
+     *
+     * Like every Item endpoint, it answers with Smile instead of JSON for "Accept: application/x-jackson-smile".
+     */
     @GetMapping(ITEM_END_POINT_V1)
-    public Flux<Item> getAllItems() {
-        return itemReactiveRepository.findAll();
+    public Mono<ResponseEntity<List<Item>>> getAllItems(final ItemQuery itemQuery) {
+        itemQuery.setLimit(itemPageProperties.resolveLimit(itemQuery.getLimit()));
+
+        return itemReactiveRepository
+                .findItems(itemQuery)
+                .name("items.page")
+                .metrics()
+                .collectList()
+                .map(items -> {
+                    HttpHeaders headers = new HttpHeaders();
+                    String nextCursor = itemQuery.nextCursor(items);
+                    if (nextCursor != null) {
+                        headers.set(NEXT_CURSOR_HEADER, nextCursor);
+                    }
+                    return new ResponseEntity<>(items, headers, HttpStatus.OK);
+                });
     }
 
+    /**
+     * Streaming mode for clients that want the full (filtered) set of Items.
+     * Selected with "Accept: application/stream+json" (or "application/stream+x-jackson-smile"). MongoDB is asked for
+     * "items.page.stream-prefetch" Items at a time, as the client consumes them.
+     */
+    @GetMapping(value = ITEM_END_POINT_V1, produces = {MediaType.APPLICATION_STREAM_JSON_VALUE, APPLICATION_STREAM_SMILE_VALUE})
+    public Flux<Item> streamAllItems(final ItemQuery itemQuery) {
+        itemQuery.setLimit(null);
+
+        return itemReactiveRepository
+                .findItems(itemQuery)
+                .limitRate(itemPageProperties.getStreamPrefetch())
+                .name("items.streamAll")
+                .metrics();
+    }
+
+    /**
+     * Search over the descriptions. Query parameters: q (required), mode and limit (optional).
+     * - mode=prefix (default): descriptions starting with "q", in alphabetical order, for autocomplete
+     * - mode=text: descriptions containing any word of "q", best match first
+     * At most "limit" Items are returned, "items.search.default-limit" when no "limit" is given.
+     */
+    @GetMapping(ITEM_END_POINT_V1 + "/search")
+    public Flux<Item> searchItems(final ItemSearch itemSearch) {
+        return itemSearchService.search(itemSearch);
+    }
+
+    /**
+     * Items with min <= price <= max (both optional), cheapest first, at most "limit" (same defaults as a page)
+     */
+    @GetMapping(ITEM_END_POINT_V1 + "/price-range")
+    public Flux<Item> getItemsByPriceRange(@RequestParam(required = false) final Double min,
+            @RequestParam(required = false) final Double max,
+            @RequestParam(required = false) final Integer limit) {
+        return itemPriceQueryService.range(min, max, limit);
+    }
+
+    @GetMapping(ITEM_END_POINT_V1 + "/cheapest")
+    public Flux<Item> getCheapestItems(@RequestParam(required = false) final Integer limit) {
+        return itemPriceQueryService.cheapest(limit);
+    }
+
+    /**
+     * The whole catalog as one array, JSON or Smile depending on "Accept", for bulk consumers which poll it.
+     * Served from the pre-serialized {@link ItemCatalogSnapshot} without reading MongoDB; the buffer is written
+     * as it is. The ETag changes with the content, a poll with a matching "If-None-Match" gets 304.
+     */
+    @GetMapping(ITEM_END_POINT_V1 + "/snapshot")
+    public Mono<ResponseEntity<DataBuffer>> getItemsSnapshot(final ServerWebExchange exchange) {
+        CatalogFormat format = CatalogFormat.forAccept(exchange.getRequest().getHeaders().getAccept());
+
+        return itemCatalogSnapshot.snapshot(format)
+                .map(snapshot -> ResponseEntity
+                        .ok()
+                        .contentType(format.getMediaType())
+                        .contentLength(snapshot.getSize())
+                        .eTag(snapshot.getETag())
+                        .varyBy(HttpHeaders.ACCEPT)
+                        .body(exchange.getResponse().bufferFactory().wrap(snapshot.getBuffer())));
+    }
+
+    /**
+     * The response carries the Item's version as ETag. A GET with a matching "If-None-Match"
+     * is answered with 304 and no body (done by Spring's ResponseEntityResultHandler for ETag'd entities).
+     */
     @GetMapping(ITEM_END_POINT_V1 + "/{id}")
     public Mono<ResponseEntity<Item>> getOneItem(@PathVariable final String id) {
-        return itemReactiveRepository
+        return itemCacheService
                 .findById(id)
-                .map(item -> new ResponseEntity<>(item, HttpStatus.OK))
+                .map(ItemController::okWithETag)
                 .defaultIfEmpty(new ResponseEntity<>(HttpStatus.NOT_FOUND));
     }
 
+    /**
+     * Fetches up to "items.mget.max-ids" Items in one round trip.
+     * Request body: {"ids": ["id1", "id2"]}
+     */
+    @PostMapping(ITEM_END_POINT_V1 + "/_mget")
+    public Mono<MultiGetResponse> multiGetItems(@RequestBody final MultiGetRequest multiGetRequest) {
+        return itemMultiGetService.get(multiGetRequest);
+    }
+
+    /**
+     * Always inserts, an Item whose id is already taken is answered with 409.
+     * Existing Items are changed with PUT or PATCH.
+     */
     @PostMapping(ITEM_END_POINT_V1)
     @ResponseStatus(HttpStatus.CREATED)
     public Mono<Item> createItem(@RequestBody final Item item) {
-        return itemReactiveRepository.save(item);
+        item.setVersion(null);
+        return itemCacheService.save(item)
+                .onErrorMap(DuplicateKeyException.class, ItemController::conflict);
+    }
+
+    /**
+     * Streaming bulk import. The body is a stream of Items (one JSON document per line),
+     * which is read incrementally and written to MongoDB in batches.
+     * One BulkInsertResult is streamed back per batch.
+     */
+    @PostMapping(value = ITEM_END_POINT_V1 + "/bulk",
+            consumes = {MediaType.APPLICATION_STREAM_JSON_VALUE, APPLICATION_NDJSON_VALUE},
+            produces = {MediaType.APPLICATION_STREAM_JSON_VALUE, APPLICATION_NDJSON_VALUE})
+    public Flux<BulkInsertResult> bulkInsertItems(@RequestBody final Flux<Item> items) {
+        return itemBulkService.insert(items);
     }
 
     @DeleteMapping(ITEM_END_POINT_V1 + "/{id}")
     public Mono<Void> deleteItem(@PathVariable final String id) {
-        return itemReactiveRepository.deleteById(id);
+        return itemCacheService.deleteById(id);
     }
 
     /**
      * 1. Receives "id" (PathVariable) and "item" (RequestBody) to be updated in the request
-     * 2. Using the "id" get the Item from database
-     * 3. Updated the item retrieved with the value from the request body
-     * 4. Save the Item
-     * 5. Return the saved Item
+     * 2. Sets description and price of the Item with this "id" in one atomic findAndModify
+     * 3. Returns the updated Item with its new ETag, or 404 when there is no Item with this "id"
+     *
+     * With an "If-Match" header the update only happens while the Item still has that ETag,
+     * otherwise the response is 412 and nothing is written.
      */
     @PutMapping(ITEM_END_POINT_V1 + "/{id}")
     public Mono<ResponseEntity<Item>> updateItem(@PathVariable final String id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) final String ifMatch,
             @RequestBody final Item item) {
-        return itemReactiveRepository
-                .findById(id)
-                .flatMap(currentItem -> {
-                    currentItem.setPrice(item.getPrice());
-                    currentItem.setDescription(item.getDescription());
-                    return itemReactiveRepository.save(currentItem);
-                })
-                .map(updateItem -> new ResponseEntity<>(updateItem, HttpStatus.OK))
+        return Mono.defer(() -> itemCacheService.update(id, item, ItemETags.expectedVersion(ifMatch)))
+                .map(ItemController::okWithETag)
+                .onErrorMap(OptimisticLockingFailureException.class, ItemController::preconditionFailed)
                 .defaultIfEmpty(new ResponseEntity<>(HttpStatus.NOT_FOUND));
+    }
 
+    /**
+     * Partial update, only the fields present in the request body are changed.
+     * "If-Match" works as for PUT.
+     */
+    @PatchMapping(ITEM_END_POINT_V1 + "/{id}")
+    public Mono<ResponseEntity<Item>> patchItem(@PathVariable final String id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) final String ifMatch,
+            @RequestBody final Item changes) {
+        return Mono.defer(() -> itemCacheService.patch(id, changes, ItemETags.expectedVersion(ifMatch)))
+                .map(ItemController::okWithETag)
+                .onErrorMap(OptimisticLockingFailureException.class, ItemController::preconditionFailed)
+                .defaultIfEmpty(new ResponseEntity<>(HttpStatus.NOT_FOUND));
+    }
 
+    /**
+     * Fire-and-forget price update for high volume writers: the price is queued, coalesced with
+     * other updates of the same Item and written in the background (see {@link ItemPriceWriteBehindService}).
+     * Answers 202 right away, or 429 with "Retry-After" while the queue is full.
+     * Use PUT /v1/items/{id} to get the updated Item back.
+     */
+    @PutMapping(ITEM_END_POINT_V1 + "/{id}/price")
+    public ResponseEntity<Void> updateItemPrice(@PathVariable final String id,
+            @RequestBody final PriceUpdate priceUpdate) {
+        if (priceUpdate.getPrice() == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "price is required");
+        }
+        if (!itemPriceWriteBehindService.offer(id, priceUpdate.getPrice())) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .headers(RetryAfter.of(itemPriceWriteBehindService.retryAfter()))
+                    .build();
+        }
+        return ResponseEntity.accepted().build();
     }
 
     /**
@@ -99,6 +289,18 @@ public class ItemController {
 
     }
 
+    private static ResponseEntity<Item> okWithETag(Item item) {
+        return ResponseEntity.ok().eTag(ItemETags.of(item)).body(item);
+    }
+
+    private static Throwable preconditionFailed(Throwable ex) {
+        return new ResponseStatusException(HttpStatus.PRECONDITION_FAILED, ex.getMessage());
+    }
+
+    private static Throwable conflict(Throwable ex) {
+        return new ResponseStatusException(HttpStatus.CONFLICT, "Item already exists");
+    }
+
 //    @ExceptionHandler(RuntimeException.class)
 //    public ResponseEntity<String> handleRuntimeException(RuntimeException ex) {
 //        log.error("Exception caught in handleRuntimeException: {}", ex);
@@ -1,30 +1,63 @@
 package com.techstack.react.app.controller.v1;
 
 import com.techstack.react.app.document.ItemCapped;
-import com.techstack.react.app.repository.ItemReactiveCappedRepository;
+import com.techstack.react.app.dto.ItemChangeEvent;
+import com.techstack.react.app.stream.ItemChangeStreamService;
+import com.techstack.react.app.stream.ItemStreamHub;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import reactor.core.publisher.Flux;
 
+import static com.techstack.react.app.consts.ItemConstants.APPLICATION_NDJSON_VALUE;
 import static com.techstack.react.app.consts.ItemConstants.ITEM_STREAM_END_POINT_V1;
+import static com.techstack.react.app.consts.ItemConstants.LAST_EVENT_ID_HEADER;
 
 @RequiredArgsConstructor
 @RestController
 public class ItemStreamController {
 
-    private final ItemReactiveCappedRepository itemReactiveCappedRepository;
+    private final ItemStreamHub itemStreamHub;
+    private final ItemChangeStreamService itemChangeStreamService;
 
     /**
      * TIP: This endpoint produces continues data based on the data available in the database.
      * However, if you refresh your browser it would display only limited records and then proceed to
      * get each record from DB. Because we have configured the "maxDocuments(20)" in the ItemDataInitializer.
      * You can adjust this based on your requirement.
+     *
+     * All subscribers share one tailable cursor through the {@link ItemStreamHub}.
      */
     @GetMapping(value = ITEM_STREAM_END_POINT_V1, produces = MediaType.APPLICATION_STREAM_JSON_VALUE)
     public Flux<ItemCapped> getItemsStream() {
-        return itemReactiveCappedRepository.findItemsBy();
+        return itemStreamHub.stream();
+    }
+
+    /**
+     * Resumable feed of the "items" collection as Server-Sent Events.
+     * Each event id is a resume token: the browser EventSource sends the last one back
+     * as "Last-Event-ID" when it reconnects, and the feed continues right after it.
+     */
+    @GetMapping(value = ITEM_STREAM_END_POINT_V1 + "/changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<ItemChangeEvent>> getItemChangesAsEvents(
+            @RequestHeader(value = LAST_EVENT_ID_HEADER, required = false) final String lastEventId,
+            @RequestParam(value = "resumeAfter", required = false) final String resumeAfter) {
+        return itemChangeStreamService.serverSentEvents(resumeAfter != null ? resumeAfter : lastEventId);
+    }
+
+    /**
+     * Same feed as newline delimited JSON, every line carries its own "resumeToken".
+     */
+    @GetMapping(value = ITEM_STREAM_END_POINT_V1 + "/changes",
+            produces = {MediaType.APPLICATION_STREAM_JSON_VALUE, APPLICATION_NDJSON_VALUE})
+    public Flux<ItemChangeEvent> getItemChanges(
+            @RequestHeader(value = LAST_EVENT_ID_HEADER, required = false) final String lastEventId,
+            @RequestParam(value = "resumeAfter", required = false) final String resumeAfter) {
+        return itemChangeStreamService.changes(resumeAfter != null ? resumeAfter : lastEventId);
     }
 
 }
@@ -4,9 +4,23 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.index.TextIndexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
+/**
+ * Indexes:
+ * - "description": exact match and prefix lookups
+ * - text index on "description": word search (GET /v1/items/search?mode=text)
+ * - "price_id": price range filters, "_id" as tie breaker for keyset pagination
+ *
+ * "version" starts at 0 and is incremented by every write. It is the Item's ETag,
+ * and a write which expects a different version fails instead of overwriting a newer one.
+ */
 @Document(collection = "items")
+@CompoundIndex(name = "price_id", def = "{'price': 1, '_id': 1}")
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
@@ -14,6 +28,14 @@ public class Item {
 
     @Id
     private String id;
+    @Indexed
+    @TextIndexed
     private String description;
     private Double price;
+    @Version
+    private Long version;
+
+    public Item(String id, String description, Double price) {
+        this(id, description, price, null);
+    }
 }
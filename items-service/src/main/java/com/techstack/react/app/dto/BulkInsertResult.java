@@ -0,0 +1,23 @@
+package com.techstack.react.app.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Outcome of one batch written by the bulk insert endpoints.
+ * One of these is streamed back to the caller per batch.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BulkInsertResult {
+
+    private long batch;
+    private int inserted;
+    private int failed;
+    private long latencyMillis;
+    private List<String> errors;
+}
@@ -0,0 +1,22 @@
+package com.techstack.react.app.dto;
+
+import com.techstack.react.app.document.Item;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One change of the "items" collection.
+ * "item" is the full document after the change, null for deletes.
+ * "resumeToken" is what a client sends back (Last-Event-ID or "resumeAfter") to continue after this event.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ItemChangeEvent {
+
+    private String resumeToken;
+    private String operation;
+    private String itemId;
+    private Item item;
+}
@@ -0,0 +1,41 @@
+package com.techstack.react.app.dto;
+
+import com.techstack.react.app.document.Item;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Filters for listing Items, bound from the query parameters of GET /v1/items.
+ *
+ * Items are always returned in "_id" order. "after" is the cursor (the last "_id" of the previous page),
+ * so the next page is an index range scan on "_id" instead of a skip over the whole collection.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ItemQuery {
+
+    private String after;
+    private Double minPrice;
+    private Double maxPrice;
+    private String descriptionPrefix;
+
+    /**
+     * null means no limit, which is only used by the streaming mode
+     */
+    private Integer limit;
+
+    /**
+     * The cursor to request the page after the given one,
+     * or null if the given page was the last one.
+     */
+    public String nextCursor(List<Item> page) {
+        if (limit == null || page.size() < limit) {
+            return null;
+        }
+        return page.get(page.size() - 1).getId();
+    }
+}
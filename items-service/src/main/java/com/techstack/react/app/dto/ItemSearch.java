@@ -0,0 +1,23 @@
+package com.techstack.react.app.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Query parameters of GET /v1/items/search
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ItemSearch {
+
+    private String q;
+
+    /**
+     * "prefix" (default) or "text"
+     */
+    private String mode;
+
+    private Integer limit;
+}
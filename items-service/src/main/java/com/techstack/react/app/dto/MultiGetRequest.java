@@ -0,0 +1,15 @@
+package com.techstack.react.app.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class MultiGetRequest {
+
+    private List<String> ids;
+}
@@ -0,0 +1,20 @@
+package com.techstack.react.app.dto;
+
+import com.techstack.react.app.document.Item;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * "items" follows the order of the requested ids, ids without an Item are listed in "missing".
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class MultiGetResponse {
+
+    private List<Item> items;
+    private List<String> missing;
+}
@@ -0,0 +1,13 @@
+package com.techstack.react.app.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class PriceUpdate {
+
+    private Double price;
+}
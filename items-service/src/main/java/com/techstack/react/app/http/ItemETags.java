@@ -0,0 +1,43 @@
+package com.techstack.react.app.http;
+
+import com.techstack.react.app.document.Item;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * The ETag of an Item is its version, e.g. "3". Items written before versioning have no ETag.
+ */
+public final class ItemETags {
+
+    private static final String ANY = "*";
+
+    private ItemETags() {
+    }
+
+    public static String of(Item item) {
+        return item.getVersion() == null ? null : "\"" + item.getVersion() + "\"";
+    }
+
+    /**
+     * The version an "If-Match" header asks for, or null when there is no precondition ("*" or no header).
+     * A value which can not be one of our ETags can never match, so it fails with 412 right away.
+     */
+    public static Long expectedVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ANY.equals(ifMatch.trim())) {
+            return null;
+        }
+
+        String etag = ifMatch.trim();
+        if (etag.startsWith("W/")) {
+            etag = etag.substring(2);
+        }
+        if (etag.length() > 2 && etag.startsWith("\"") && etag.endsWith("\"")) {
+            etag = etag.substring(1, etag.length() - 1);
+        }
+        try {
+            return Long.valueOf(etag);
+        } catch (NumberFormatException ex) {
+            throw new ResponseStatusException(HttpStatus.PRECONDITION_FAILED, "If-Match " + ifMatch + " does not match");
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.techstack.react.app.http;
+
+import org.springframework.http.MediaType;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.techstack.react.app.consts.ItemConstants.APPLICATION_SMILE_VALUE;
+import static com.techstack.react.app.consts.ItemConstants.APPLICATION_STREAM_SMILE_VALUE;
+
+/**
+ * Items are served as JSON or as Smile (binary JSON), whichever the "Accept" header prefers.
+ */
+public final class ItemMediaTypes {
+
+    public static final MediaType APPLICATION_SMILE = MediaType.parseMediaType(APPLICATION_SMILE_VALUE);
+
+    public static final MediaType APPLICATION_STREAM_SMILE = MediaType.parseMediaType(APPLICATION_STREAM_SMILE_VALUE);
+
+    private ItemMediaTypes() {
+    }
+
+    /**
+     * Smile when the client asks for it before JSON, JSON otherwise (also for "Accept: *&#47;*" or no header)
+     */
+    public static MediaType responseType(List<MediaType> accept) {
+        return preferred(accept, APPLICATION_SMILE, MediaType.APPLICATION_JSON);
+    }
+
+    public static MediaType streamType(List<MediaType> accept) {
+        return preferred(accept, APPLICATION_STREAM_SMILE, MediaType.APPLICATION_STREAM_JSON);
+    }
+
+    private static MediaType preferred(List<MediaType> accept, MediaType binary, MediaType json) {
+        List<MediaType> accepted = new ArrayList<>(accept);
+        MediaType.sortBySpecificityAndQuality(accepted);
+        for (MediaType mediaType : accepted) {
+            if (mediaType.equalsTypeAndSubtype(binary)) {
+                return binary;
+            }
+            if (mediaType.includes(json)) {
+                return json;
+            }
+        }
+        return json;
+    }
+}
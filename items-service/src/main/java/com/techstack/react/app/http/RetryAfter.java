@@ -0,0 +1,21 @@
+package com.techstack.react.app.http;
+
+import org.springframework.http.HttpHeaders;
+
+import java.time.Duration;
+import java.util.function.Consumer;
+
+/**
+ * "Retry-After" of a 429, for ResponseEntity and ServerResponse alike. The header takes whole seconds,
+ * so the delay is rounded up, and it is at least 1.
+ */
+public final class RetryAfter {
+
+    private RetryAfter() {
+    }
+
+    public static Consumer<HttpHeaders> of(Duration retryAfter) {
+        String seconds = String.valueOf(Math.max(1, (retryAfter.toMillis() + 999) / 1000));
+        return headers -> headers.set(HttpHeaders.RETRY_AFTER, seconds);
+    }
+}
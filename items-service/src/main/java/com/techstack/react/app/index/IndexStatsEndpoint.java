@@ -0,0 +1,33 @@
+package com.techstack.react.app.index;
+
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * GET  /actuator/indexes  usage of every index of the items collection
+ * POST /actuator/indexes  create the declared indexes which are missing, returns all declared index names
+ */
+@Component
+@Endpoint(id = "indexes")
+@RequiredArgsConstructor
+public class IndexStatsEndpoint {
+
+    private final ItemIndexManager itemIndexManager;
+
+    @ReadOperation
+    public Mono<List<Document>> indexStats() {
+        return itemIndexManager.indexStats().collectList();
+    }
+
+    @WriteOperation
+    public Mono<List<String>> ensureIndexes() {
+        return itemIndexManager.ensureIndexes().collectList();
+    }
+}
@@ -0,0 +1,65 @@
+package com.techstack.react.app.index;
+
+import com.techstack.react.app.document.Item;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexResolver;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.util.ClassTypeInformation;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+
+import java.util.List;
+
+/**
+ * The indexes are declared on the documents (@Indexed, @CompoundIndex), this creates them.
+ * ensureIndex is a no-op for an index which already exists, so it is safe to run on every startup
+ * (see ItemIndexInitializer) or as a migration step (POST /actuator/indexes).
+ *
+ * ItemCapped has no indexes on purpose: it is only read with a tailable cursor in insertion order,
+ * and every index would slow down the inserts into the capped collection.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ItemIndexManager {
+
+    private static final List<Class<?>> INDEXED_DOCUMENTS = List.of(Item.class);
+
+    private final ReactiveMongoTemplate reactiveMongoTemplate;
+    private final MongoMappingContext mongoMappingContext;
+
+    /**
+     * Emits the name of every declared index once it exists
+     */
+    public Flux<String> ensureIndexes() {
+        IndexResolver indexResolver = new MongoPersistentEntityIndexResolver(mongoMappingContext);
+
+        return Flux.fromIterable(INDEXED_DOCUMENTS)
+                .concatMap(document -> Flux
+                        .fromIterable(indexResolver.resolveIndexFor(ClassTypeInformation.from(document)))
+                        .concatMap(index -> reactiveMongoTemplate.indexOps(document).ensureIndex(index)))
+                .doOnNext(index -> log.info("Index {} is in place", index));
+    }
+
+    /**
+     * One entry per index of the items collection ($indexStats): its name, its key and
+     * how often it was used ("ops") since "since", which is the last restart of the MongoDB server.
+     * An index with 0 ops over a long time is a candidate to be dropped.
+     */
+    public Flux<Document> indexStats() {
+        return reactiveMongoTemplate
+                .execute(Item.class, collection ->
+                        collection.aggregate(List.of(new Document("$indexStats", new Document()))))
+                .map(stats -> {
+                    Document accesses = stats.get("accesses", Document.class);
+                    return new Document("name", stats.get("name"))
+                            .append("key", stats.get("key"))
+                            .append("ops", accesses.get("ops"))
+                            .append("since", accesses.get("since"));
+                });
+    }
+}
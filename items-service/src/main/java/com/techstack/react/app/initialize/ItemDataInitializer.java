@@ -1,20 +1,18 @@
 package com.techstack.react.app.initialize;
 
-import com.techstack.react.app.document.Item;
+import com.techstack.react.app.config.ItemSeedProperties;
 import com.techstack.react.app.document.ItemCapped;
 import com.techstack.react.app.repository.ItemReactiveCappedRepository;
-import com.techstack.react.app.repository.ItemReactiveRepository;
+import com.techstack.react.app.service.ItemSeedService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.context.annotation.Profile;
 import org.springframework.data.mongodb.core.CollectionOptions;
-import org.springframework.data.mongodb.core.MongoOperations;
+import org.springframework.data.mongodb.core.ReactiveMongoOperations;
 import org.springframework.stereotype.Component;
 import reactor.core.publisher.Flux;
-
-import java.time.Duration;
-import java.util.List;
+import reactor.core.publisher.Mono;
 
 @Profile("!test")
 @Slf4j
@@ -22,56 +20,60 @@ import java.util.List;
 @Component
 public class ItemDataInitializer implements CommandLineRunner {
 
-    private final ItemReactiveRepository itemReactiveRepository;
+    private final ItemSeedService itemSeedService;
     private final ItemReactiveCappedRepository itemReactiveCappedRepository;
-    private final MongoOperations mongoOperations;
+    private final ReactiveMongoOperations reactiveMongoOperations;
+    private final ItemSeedProperties itemSeedProperties;
 
+    /**
+     * With "items.seed.block-startup" (the default) this blocks until the Items are seeded, so the application
+     * is only reported as started once all of them are in MongoDB. Otherwise seeding runs in the background
+     * and the "itemSeed" health indicator tells when it is done.
+     *
+     * The capped collection is always set up in the background, it is not needed to serve the items API.
+     */
     @Override
     public void run(String... args) throws Exception {
 
-        initialDataSetup();
-        createCappedCollection();
-        initialDataSetupForCappedCollection();
+        if (itemSeedProperties.isBlockStartup()) {
+            itemSeedService.seed().block();
+        } else {
+            // seed() logs the failure with its stack trace and the itemSeed health indicator turns DOWN
+            itemSeedService.seed().subscribe(inserted -> { },
+                    ex -> log.warn("Serving requests without the seeded Items: {}", ex.toString()));
+        }
+
+        if (itemSeedProperties.getCapped().isEnabled()) {
+            createCappedCollection()
+                    .thenMany(initialDataSetupForCappedCollection())
+                    .subscribe(itemCapped -> log.debug("Inserted item is {}", itemCapped),
+                            ex -> log.error("Setting up the ItemCapped collection failed", ex));
+        }
     }
 
-    private void createCappedCollection() {
+    private Mono<Void> createCappedCollection() {
         //Every time application starts, this would drop the ItemCapped collection
         //TIP: Don't use capped collection for permanent storage. Its used in temporary storage
-        mongoOperations.dropCollection(ItemCapped.class);
-
-        mongoOperations.createCollection(ItemCapped.class,
-                CollectionOptions
-                        .empty()
-                        .maxDocuments(20) //How many max documents this can store at a given point
-                        .size(50000)  //What is the size of the whole capped collection
-                        .capped());
+        return reactiveMongoOperations.dropCollection(ItemCapped.class)
+                .then(reactiveMongoOperations.createCollection(ItemCapped.class,
+                        CollectionOptions
+                                .empty()
+                                .maxDocuments(itemSeedProperties.getCapped().getMaxDocuments()) //How many max documents this can store at a given point
+                                .size(itemSeedProperties.getCapped().getSize())  //What is the size of the whole capped collection
+                                .capped()))
+                .then();
     }
 
-    private void initialDataSetupForCappedCollection() {
+    private Flux<ItemCapped> initialDataSetupForCappedCollection() {
+        ItemSeedProperties.Capped capped = itemSeedProperties.getCapped();
 
         Flux<ItemCapped> itemCappedFlux = Flux
-                .interval(Duration.ofSeconds(1))
+                .interval(capped.getFeedInterval())
                 .map(value -> new ItemCapped(null, "Random Item "+ value, (100.0 + value)));
+        if (capped.getFeedCount() > 0) {
+            itemCappedFlux = itemCappedFlux.take(capped.getFeedCount());
+        }
 
-        itemReactiveCappedRepository
-                .insert(itemCappedFlux)
-                .subscribe(itemCapped -> log.info("Inserted item is {}", itemCapped));
-    }
-
-    private void initialDataSetup() {
-        itemReactiveRepository
-                .deleteAll()
-                .thenMany(Flux.fromIterable(data()))
-                .flatMap(itemReactiveRepository::save)
-                .thenMany(itemReactiveRepository.findAll())
-                .subscribe(item -> log.info("Item inserted from CommandLineRunner : {}", item));
-    }
-
-    private List<Item> data() {
-        return List.of(
-                new Item(null, "Apple Ipad", 350.0),
-                new Item(null, "Samsung Tab", 450.0),
-                new Item(null, "LG TV", 850.0)
-                );
+        return itemReactiveCappedRepository.insert(itemCappedFlux);
     }
 }
@@ -0,0 +1,33 @@
+package com.techstack.react.app.initialize;
+
+import com.techstack.react.app.index.ItemIndexManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Starts creating the missing indexes in the background. It runs first of the CommandLineRunners,
+ * but does not wait for the indexes: the seeding may write before they exist, MongoDB indexes those
+ * documents as part of the build, and startup never blocks on a build over a large collection.
+ * Switched off with "items.index.ensure-on-startup=false" when the indexes are managed
+ * as a migration step instead (POST /actuator/indexes).
+ */
+@ConditionalOnProperty(prefix = "items.index", name = "ensure-on-startup", havingValue = "true", matchIfMissing = true)
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@Slf4j
+@RequiredArgsConstructor
+@Component
+public class ItemIndexInitializer implements CommandLineRunner {
+
+    private final ItemIndexManager itemIndexManager;
+
+    @Override
+    public void run(String... args) throws Exception {
+        itemIndexManager.ensureIndexes()
+                .subscribe(index -> { }, ex -> log.error("Creating the indexes failed", ex));
+    }
+}
@@ -0,0 +1,38 @@
+package com.techstack.react.app.initialize;
+
+import com.techstack.react.app.service.ItemSeedService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * OUT_OF_SERVICE (503 on /actuator/health) until the Items are seeded, so load balancers and
+ * load tests don't send traffic to a half filled instance. DOWN when seeding failed.
+ */
+@RequiredArgsConstructor
+@Component
+public class ItemSeedHealthIndicator implements HealthIndicator {
+
+    private final ItemSeedService itemSeedService;
+
+    @Override
+    public Health health() {
+        Health.Builder builder;
+        switch (itemSeedService.getState()) {
+            case DONE:
+                builder = Health.up();
+                break;
+            case FAILED:
+                builder = Health.down();
+                break;
+            default:
+                builder = Health.outOfService();
+        }
+        return builder
+                .withDetail("state", itemSeedService.getState())
+                .withDetail("inserted", itemSeedService.getInserted())
+                .withDetail("failed", itemSeedService.getFailed())
+                .build();
+    }
+}
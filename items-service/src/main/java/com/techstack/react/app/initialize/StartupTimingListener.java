@@ -0,0 +1,90 @@
+package com.techstack.react.app.initialize;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationEnvironmentPreparedEvent;
+import org.springframework.boot.context.event.ApplicationPreparedEvent;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.event.ApplicationStartingEvent;
+import org.springframework.boot.web.context.WebServerInitializedEvent;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.event.ContextRefreshedEvent;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Measures how long each startup phase takes:
+ * - jvm: from the JVM start until Spring Boot starts
+ * - environment: reading the configuration
+ * - context: creating the ApplicationContext and loading the bean definitions
+ * - refresh: creating the (non lazy) beans
+ * - web-server: starting Netty
+ * - runners: CommandLineRunners, e.g. the seeding of ItemDataInitializer
+ *
+ * The breakdown is logged when the application is ready and published as "items.startup.phase" gauges.
+ * Has to be added to the SpringApplication (see main), a bean would miss the early phases.
+ */
+@Slf4j
+public class StartupTimingListener implements ApplicationListener<ApplicationEvent> {
+
+    private final Map<String, Duration> phases = new LinkedHashMap<>();
+    private long lastMark;
+
+    @Override
+    public void onApplicationEvent(ApplicationEvent event) {
+        if (event instanceof ApplicationStartingEvent) {
+            lastMark = System.nanoTime();
+            phases.put("jvm", Duration.ofMillis(ManagementFactory.getRuntimeMXBean().getUptime()));
+        } else if (event instanceof ApplicationEnvironmentPreparedEvent) {
+            mark("environment");
+        } else if (event instanceof ApplicationPreparedEvent) {
+            mark("context");
+        } else if (event instanceof ContextRefreshedEvent) {
+            mark("refresh");
+        } else if (event instanceof WebServerInitializedEvent) {
+            mark("web-server");
+        } else if (event instanceof ApplicationReadyEvent) {
+            mark("runners");
+            report(((ApplicationReadyEvent) event).getApplicationContext().getBeanProvider(MeterRegistry.class)
+                    .getIfAvailable());
+        }
+    }
+
+    public Map<String, Duration> phases() {
+        return Collections.unmodifiableMap(phases);
+    }
+
+    /**
+     * Only the first event of a phase counts, e.g. a separate management context is refreshed again later
+     */
+    private void mark(String phase) {
+        if (lastMark == 0 || phases.containsKey(phase)) {
+            return;
+        }
+        long now = System.nanoTime();
+        phases.put(phase, Duration.ofNanos(now - lastMark));
+        lastMark = now;
+    }
+
+    private void report(MeterRegistry meterRegistry) {
+        Duration total = phases.values().stream().reduce(Duration.ZERO, Duration::plus);
+        log.info("Started in {} ms: {}", total.toMillis(), phases.entrySet().stream()
+                .map(phase -> phase.getKey() + " " + phase.getValue().toMillis() + " ms")
+                .collect(Collectors.joining(", ")));
+
+        if (meterRegistry != null) {
+            phases.forEach((phase, duration) -> TimeGauge
+                    .builder("items.startup.phase", duration, TimeUnit.MILLISECONDS, Duration::toMillis)
+                    .tag("phase", phase)
+                    .register(meterRegistry));
+        }
+    }
+}
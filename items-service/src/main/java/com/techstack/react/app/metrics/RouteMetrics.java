@@ -0,0 +1,44 @@
+package com.techstack.react.app.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.HandlerFunction;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+
+/**
+ * Latency of functional routes.
+ *
+ * Annotated controllers are covered by Spring Boot's "http.server.requests" (tagged by uri pattern).
+ * Functional routes are not, because Spring 5.2 does not expose their matching pattern.
+ * Wrapping a HandlerFunction with {@link #timed(String, HandlerFunction)} records "items.route",
+ * tagged by route name and response status, from the request until the response is ready to be written.
+ */
+@Component
+@RequiredArgsConstructor
+public class RouteMetrics {
+
+    private static final String METRIC_NAME = "items.route";
+
+    private final MeterRegistry meterRegistry;
+
+    public HandlerFunction<ServerResponse> timed(String route, HandlerFunction<ServerResponse> handlerFunction) {
+        return serverRequest -> {
+            Timer.Sample sample = Timer.start(meterRegistry);
+
+            return Mono.defer(() -> handlerFunction.handle(serverRequest))
+                    .doOnSuccess(response -> sample.stop(timer(route,
+                            response != null ? String.valueOf(response.statusCode().value()) : "NONE")))
+                    .doOnError(ex -> sample.stop(timer(route, "ERROR")));
+        };
+    }
+
+    private Timer timer(String route, String status) {
+        return Timer.builder(METRIC_NAME)
+                .tag("route", route)
+                .tag("status", status)
+                .register(meterRegistry);
+    }
+}
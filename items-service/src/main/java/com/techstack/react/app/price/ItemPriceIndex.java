@@ -0,0 +1,181 @@
+package com.techstack.react.app.price;
+
+import com.techstack.react.app.config.ItemPriceIndexProperties;
+import com.techstack.react.app.document.Item;
+import com.techstack.react.app.dto.ItemChangeEvent;
+import com.techstack.react.app.stream.ItemCatalogListener;
+import com.techstack.react.app.stream.ItemCatalogTail;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * All Items with a price, kept in memory in price order, so price range and cheapest-N queries
+ * don't go to MongoDB. Entries compare on a primitive double (then the id), nothing is boxed or
+ * converted per comparison. Equal prices are in the "_id" order of MongoDB: an id which is a valid
+ * ObjectId is stored as one, and MongoDB sorts every String before every ObjectId.
+ *
+ * Kept up to date by {@link ItemCatalogTail}, an Item is only replaced by the same or a newer version.
+ * Until a warm up is done {@link #isReady()} is false and the callers go to MongoDB instead; when the
+ * change stream fails the index is dropped until the next warm up is done.
+ *
+ * Metrics: "items.price.index.size" and "items.price.index.ready" (1 or 0).
+ */
+@Slf4j
+@Component
+public class ItemPriceIndex implements ItemCatalogListener {
+
+    private final ItemPriceIndexProperties properties;
+
+    private final NavigableSet<PriceEntry> byPrice = new ConcurrentSkipListSet<>();
+    private final Map<String, PriceEntry> byId = new ConcurrentHashMap<>();
+
+    private volatile boolean ready;
+
+    public ItemPriceIndex(ItemPriceIndexProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+
+        meterRegistry.gaugeMapSize("items.price.index.size", List.of(), byId);
+        Gauge.builder("items.price.index.ready", this, index -> index.isReady() ? 1 : 0)
+                .register(meterRegistry);
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Items with min <= price <= max, cheapest first, at most "limit"
+     */
+    public List<Item> range(double min, double max, int limit) {
+        List<Item> items = new ArrayList<>(Math.min(limit, 256));
+        for (PriceEntry entry : byPrice.tailSet(PriceEntry.lowerBound(min))) {
+            if (entry.price > max || items.size() >= limit) {
+                break;
+            }
+            items.add(entry.item);
+        }
+        return items;
+    }
+
+    public int size() {
+        return byId.size();
+    }
+
+    @Override
+    public boolean followsChanges() {
+        return properties.isEnabled();
+    }
+
+    /**
+     * Nothing to drop, the index is empty since it was created or went out of sync
+     */
+    @Override
+    public void warmUpStarted() {
+    }
+
+    @Override
+    public void load(Item item) {
+        put(item);
+    }
+
+    @Override
+    public void apply(ItemChangeEvent event) {
+        if ("delete".equals(event.getOperation()) || event.getItem() == null) {
+            remove(event.getItemId());
+            return;
+        }
+        put(event.getItem());
+    }
+
+    @Override
+    public void warmedUp() {
+        ready = true;
+        log.info("Price index is ready with {} Items", size());
+    }
+
+    @Override
+    public void outOfSync() {
+        ready = false;
+        byId.clear();
+        byPrice.clear();
+    }
+
+    /**
+     * byId.compute locks the id, so the two structures are changed together for one Item
+     */
+    private void put(Item item) {
+        byId.compute(item.getId(), (id, current) -> {
+            if (current != null && !isNewer(item, current.item)) {
+                return current;
+            }
+            if (current != null) {
+                byPrice.remove(current);
+            }
+            if (item.getPrice() == null || item.getPrice().isNaN()) {
+                return null;
+            }
+            PriceEntry entry = new PriceEntry(item.getPrice(), id, item);
+            byPrice.add(entry);
+            return entry;
+        });
+    }
+
+    private void remove(String id) {
+        if (id == null) {
+            return;
+        }
+        byId.computeIfPresent(id, (key, current) -> {
+            byPrice.remove(current);
+            return null;
+        });
+    }
+
+    private static boolean isNewer(Item item, Item current) {
+        return item.getVersion() == null || current.getVersion() == null || item.getVersion() >= current.getVersion();
+    }
+
+    private static final class PriceEntry implements Comparable<PriceEntry> {
+
+        private final double price;
+        private final boolean objectId;
+        private final String id;
+        private final Item item;
+
+        private PriceEntry(double price, String id, Item item) {
+            this.price = price;
+            this.objectId = ObjectId.isValid(id);
+            this.id = id;
+            this.item = item;
+        }
+
+        /**
+         * Sorts before every entry with this price, "" is the smallest String id
+         */
+        static PriceEntry lowerBound(double price) {
+            return new PriceEntry(price, "", null);
+        }
+
+        @Override
+        public int compareTo(PriceEntry other) {
+            int byPrice = Double.compare(price, other.price);
+            if (byPrice != 0) {
+                return byPrice;
+            }
+            if (objectId != other.objectId) {
+                return objectId ? 1 : -1;
+            }
+            //ObjectIds come back from MongoDB as lower case hex, which sorts like their bytes
+            return id.compareTo(other.id);
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.techstack.react.app.repository;
+
+import com.techstack.react.app.document.Item;
+import com.techstack.react.app.dto.ItemQuery;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Queries of {@link ItemReactiveRepository} which are built at runtime and can not be
+ * expressed as a derived query, because most of their criteria are optional.
+ * Implemented by {@link ItemReactiveRepositoryImpl}.
+ */
+public interface ItemReactiveRepositoryCustom {
+
+    Flux<Item> findItems(ItemQuery itemQuery);
+
+    /**
+     * Items with min <= price <= max, cheapest first (ties in "_id" order), at most "limit".
+     * Items without a price are never part of the result.
+     */
+    Flux<Item> findPriceRange(double min, double max, int limit);
+
+    /**
+     * Items whose description starts with "prefix" (case sensitive), in description order
+     */
+    Flux<Item> searchByDescriptionPrefix(String prefix, int limit);
+
+    /**
+     * Items whose description contains any word of "text", highest text score first
+     */
+    Flux<Item> searchByText(String text, int limit);
+
+    /**
+     * Replaces description and price and increments the version in one atomic findAndModify,
+     * returns the updated Item, or empty when there is no Item with this id.
+     * With an "expectedVersion" the update only happens while the Item is still at that version,
+     * otherwise it fails with an {@link org.springframework.dao.OptimisticLockingFailureException}.
+     */
+    Mono<Item> updateItem(String id, Item item, Long expectedVersion);
+
+    /**
+     * Like {@link #updateItem(String, Item, Long)}, but only the fields of "changes" which are not null are set.
+     */
+    Mono<Item> patchItem(String id, Item changes, Long expectedVersion);
+}
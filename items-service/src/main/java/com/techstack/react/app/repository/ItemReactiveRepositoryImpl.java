@@ -0,0 +1,174 @@
+package com.techstack.react.app.repository;
+
+import com.techstack.react.app.document.Item;
+import com.techstack.react.app.dto.ItemQuery;
+import lombok.RequiredArgsConstructor;
+import org.bson.types.ObjectId;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.TextCriteria;
+import org.springframework.data.mongodb.core.query.TextQuery;
+import org.springframework.data.mongodb.core.query.Update;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@RequiredArgsConstructor
+public class ItemReactiveRepositoryImpl implements ItemReactiveRepositoryCustom {
+
+    /**
+     * BSON type number of ObjectId, used for the "$type" operator
+     */
+    private static final int OBJECT_ID_TYPE = 7;
+
+    private final ReactiveMongoTemplate reactiveMongoTemplate;
+
+    /**
+     * Every criteria is optional, the ones which are present are combined with "and".
+     * - after: "_id" greater than the cursor, served by the "_id" index
+     * - minPrice/maxPrice: inclusive price range, served by the "price_id" index
+     * - descriptionPrefix: anchored, case sensitive regex, served by the "description" index
+     */
+    @Override
+    public Flux<Item> findItems(ItemQuery itemQuery) {
+        Query query = new Query().with(Sort.by(Sort.Direction.ASC, "id"));
+
+        if (itemQuery.getAfter() != null) {
+            query.addCriteria(afterCursor(itemQuery.getAfter()));
+        }
+        if (itemQuery.getMinPrice() != null || itemQuery.getMaxPrice() != null) {
+            Criteria price = Criteria.where("price");
+            if (itemQuery.getMinPrice() != null) {
+                price = price.gte(itemQuery.getMinPrice());
+            }
+            if (itemQuery.getMaxPrice() != null) {
+                price = price.lte(itemQuery.getMaxPrice());
+            }
+            query.addCriteria(price);
+        }
+        if (itemQuery.getDescriptionPrefix() != null && !itemQuery.getDescriptionPrefix().isEmpty()) {
+            query.addCriteria(Criteria.where("description").regex("^" + escapeRegex(itemQuery.getDescriptionPrefix())));
+        }
+        if (itemQuery.getLimit() != null) {
+            query.limit(itemQuery.getLimit());
+        }
+
+        return reactiveMongoTemplate.find(query, Item.class);
+    }
+
+    /**
+     * Served by the "price_id" index in index order, so MongoDB stops after "limit" entries.
+     * A numeric range never matches null, min and max may be infinite.
+     */
+    @Override
+    public Flux<Item> findPriceRange(double min, double max, int limit) {
+        Query query = Query.query(Criteria.where("price").gte(min).lte(max))
+                .with(Sort.by(Sort.Direction.ASC, "price", "id"))
+                .limit(limit);
+
+        return reactiveMongoTemplate.find(query, Item.class);
+    }
+
+    /**
+     * Anchored regex plus sort on the same field, so MongoDB walks the "description" index
+     * from the prefix on and stops after "limit" entries, without sorting in memory.
+     */
+    @Override
+    public Flux<Item> searchByDescriptionPrefix(String prefix, int limit) {
+        Query query = Query.query(Criteria.where("description").regex("^" + escapeRegex(prefix)))
+                .with(Sort.by(Sort.Direction.ASC, "description"))
+                .limit(limit);
+
+        return reactiveMongoTemplate.find(query, Item.class);
+    }
+
+    /**
+     * Served by the text index on "description" (@TextIndexed)
+     */
+    @Override
+    public Flux<Item> searchByText(String text, int limit) {
+        Query query = TextQuery.queryText(TextCriteria.forDefaultLanguage().matching(text))
+                .sortByScore()
+                .limit(limit);
+
+        return reactiveMongoTemplate.find(query, Item.class);
+    }
+
+    @Override
+    public Mono<Item> updateItem(String id, Item item, Long expectedVersion) {
+        Update update = new Update()
+                .set("description", item.getDescription())
+                .set("price", item.getPrice());
+        return findAndModify(id, update, expectedVersion);
+    }
+
+    @Override
+    public Mono<Item> patchItem(String id, Item changes, Long expectedVersion) {
+        Update update = new Update();
+        if (changes.getDescription() != null) {
+            update.set("description", changes.getDescription());
+        }
+        if (changes.getPrice() != null) {
+            update.set("price", changes.getPrice());
+        }
+        if (update.getUpdateObject().isEmpty()) {
+            return reactiveMongoTemplate
+                    .findById(id, Item.class)
+                    .flatMap(item -> expectedVersion == null || expectedVersion.equals(item.getVersion())
+                            ? Mono.just(item)
+                            : Mono.error(versionMismatch(id, expectedVersion)));
+        }
+        return findAndModify(id, update, expectedVersion);
+    }
+
+    /**
+     * One round trip: the update is applied on the server and the post-image is returned,
+     * so concurrent writers can not overwrite each other's fields with a stale copy.
+     * Only when a versioned update finds nothing, a second query tells a missing Item (empty)
+     * from one that has moved on to another version (error).
+     */
+    private Mono<Item> findAndModify(String id, Update update, Long expectedVersion) {
+        Query query = Query.query(Criteria.where("id").is(id));
+        if (expectedVersion != null) {
+            query.addCriteria(Criteria.where("version").is(expectedVersion));
+        }
+
+        Mono<Item> updated = reactiveMongoTemplate.findAndModify(
+                query,
+                update.inc("version", 1),
+                FindAndModifyOptions.options().returnNew(true),
+                Item.class);
+
+        if (expectedVersion == null) {
+            return updated;
+        }
+        return updated.switchIfEmpty(Mono.defer(() -> reactiveMongoTemplate
+                .exists(Query.query(Criteria.where("id").is(id)), Item.class)
+                .flatMap(exists -> exists ? Mono.error(versionMismatch(id, expectedVersion)) : Mono.empty())));
+    }
+
+    private static OptimisticLockingFailureException versionMismatch(String id, Long expectedVersion) {
+        return new OptimisticLockingFailureException("Item " + id + " is not at version " + expectedVersion);
+    }
+
+    /**
+     * Ids are stored as ObjectId when they look like one and as String otherwise.
+     * MongoDB only compares values of the same type, and sorts all Strings before all ObjectIds.
+     * So after a String cursor every ObjectId is still to come.
+     */
+    private static Criteria afterCursor(String after) {
+        if (ObjectId.isValid(after)) {
+            return Criteria.where("id").gt(after);
+        }
+        return new Criteria().orOperator(
+                Criteria.where("id").gt(after),
+                Criteria.where("id").type(OBJECT_ID_TYPE));
+    }
+
+    private static String escapeRegex(String value) {
+        return value.replaceAll("[\\\\^$.|?*+()\\[\\]{}]", "\\\\$0");
+    }
+}
@@ -0,0 +1,104 @@
+package com.techstack.react.app.service;
+
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.client.model.InsertManyOptions;
+import com.techstack.react.app.config.ItemBulkProperties;
+import com.techstack.react.app.document.Item;
+import com.techstack.react.app.dto.BulkInsertResult;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ItemBulkService {
+
+    private final ReactiveMongoTemplate reactiveMongoTemplate;
+    private final ItemBulkProperties itemBulkProperties;
+
+    /**
+     * 1. Group the incoming items into batches of "items.bulk.batch-size"
+     * 2. Write each batch with a single unordered insertMany, at most "items.bulk.concurrency" at a time
+     * 3. Emit one BulkInsertResult per batch, in the same order as the batches were received
+     *
+     * Only "concurrency" batches are requested from the upstream at a time, so the request body
+     * is read as fast as MongoDB can absorb it and never held in memory as a whole.
+     */
+    public Flux<BulkInsertResult> insert(Flux<Item> items) {
+        return insert(items, itemBulkProperties.getBatchSize(), itemBulkProperties.getConcurrency());
+    }
+
+    /**
+     * Same as {@link #insert(Flux)} with its own batch size and concurrency, for callers
+     * like the startup seeding which are not bound by the limits of a request
+     */
+    public Flux<BulkInsertResult> insert(Flux<Item> items, int batchSize, int concurrency) {
+        return items
+                .buffer(batchSize)
+                .index()
+                .flatMapSequential(batch -> insertBatch(batch.getT1() + 1, batch.getT2()), concurrency)
+                .name("items.bulk")
+                .metrics();
+    }
+
+    private Mono<BulkInsertResult> insertBatch(long batchNumber, List<Item> batch) {
+        List<Document> documents = batch.stream()
+                .map(this::toDocument)
+                .collect(Collectors.toList());
+        long start = System.nanoTime();
+
+        return reactiveMongoTemplate
+                .execute(Item.class, collection ->
+                        collection.insertMany(documents, new InsertManyOptions().ordered(false)))
+                .then(Mono.fromCallable(() ->
+                        new BulkInsertResult(batchNumber, documents.size(), 0, elapsedMillis(start), List.of())))
+                .onErrorResume(ex -> Mono.just(failedBatch(batchNumber, documents.size(), start, ex)));
+    }
+
+    /**
+     * An unordered insertMany keeps going after a failed document (e.g. a duplicate id),
+     * the MongoBulkWriteException then tells how many made it and which ones did not.
+     * Any other error means the batch as a whole did not make it.
+     */
+    private BulkInsertResult failedBatch(long batchNumber, int size, long start, Throwable ex) {
+        Throwable cause = NestedExceptionUtils.getMostSpecificCause(ex);
+
+        if (cause instanceof MongoBulkWriteException) {
+            MongoBulkWriteException bulkWriteException = (MongoBulkWriteException) cause;
+            List<String> errors = bulkWriteException.getWriteErrors().stream()
+                    .map(error -> "item " + error.getIndex() + ": " + error.getMessage())
+                    .collect(Collectors.toList());
+
+            return new BulkInsertResult(batchNumber, bulkWriteException.getWriteResult().getInsertedCount(),
+                    errors.size(), elapsedMillis(start), errors);
+        }
+
+        log.error("Bulk insert of batch {} failed", batchNumber, ex);
+        return new BulkInsertResult(batchNumber, 0, size, elapsedMillis(start),
+                List.of(String.valueOf(cause.getMessage())));
+    }
+
+    /**
+     * Every imported Item is new, so it starts at version 0 like the ones inserted through the repository
+     */
+    private Document toDocument(Item item) {
+        item.setVersion(0L);
+        Document document = new Document();
+        reactiveMongoTemplate.getConverter().write(item, document);
+        return document;
+    }
+
+    private static long elapsedMillis(long start) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    }
+}
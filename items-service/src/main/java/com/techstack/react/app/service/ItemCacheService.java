@@ -0,0 +1,88 @@
+package com.techstack.react.app.service;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.techstack.react.app.config.ItemCacheProperties;
+import com.techstack.react.app.document.Item;
+import com.techstack.react.app.repository.ItemReactiveRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Read-through cache in front of {@link ItemReactiveRepository#findById(Object)}.
+ *
+ * The cache holds the in-flight CompletableFuture for an id, not only the loaded Item.
+ * So concurrent misses for the same id share one MongoDB query instead of each running their own.
+ * Empty results (unknown ids) and failed loads are not cached.
+ *
+ * Writes have to go through {@link #save(Item)}, {@link #update(String, Item, Long)}, {@link #patch(String, Item, Long)}
+ * and {@link #deleteById(String)} (or call
+ * {@link #refresh(Item)} / {@link #evict(String)}) to keep the cache in line with the collection.
+ *
+ * Hit, miss, eviction and size are published as "cache.*" metrics with the tag cache=items.
+ */
+@Service
+public class ItemCacheService {
+
+    private final ItemReactiveRepository itemReactiveRepository;
+    private final AsyncCache<String, Item> cache;
+
+    public ItemCacheService(ItemReactiveRepository itemReactiveRepository,
+                            ItemCacheProperties itemCacheProperties,
+                            MeterRegistry meterRegistry) {
+        this.itemReactiveRepository = itemReactiveRepository;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(itemCacheProperties.getMaximumSize())
+                .expireAfterWrite(itemCacheProperties.getTimeToLive().toMillis(), TimeUnit.MILLISECONDS)
+                .recordStats()
+                .buildAsync();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache.synchronous(), "items");
+    }
+
+    public Mono<Item> findById(String id) {
+        return Mono.defer(() -> Mono.fromFuture(
+                cache.get(id, (key, executor) -> itemReactiveRepository.findById(key).toFuture())));
+    }
+
+    public Mono<Item> save(Item item) {
+        return itemReactiveRepository
+                .save(item)
+                .doOnNext(this::refresh);
+    }
+
+    public Mono<Item> update(String id, Item item, Long expectedVersion) {
+        return itemReactiveRepository
+                .updateItem(id, item, expectedVersion)
+                .doOnNext(this::refresh);
+    }
+
+    public Mono<Item> patch(String id, Item changes, Long expectedVersion) {
+        return itemReactiveRepository
+                .patchItem(id, changes, expectedVersion)
+                .doOnNext(this::refresh);
+    }
+
+    public Mono<Void> deleteById(String id) {
+        return itemReactiveRepository
+                .deleteById(id)
+                .doFinally(signalType -> evict(id));
+    }
+
+    public void refresh(Item item) {
+        cache.put(item.getId(), CompletableFuture.completedFuture(item));
+    }
+
+    public void evict(String id) {
+        cache.synchronous().invalidate(id);
+    }
+
+    public void evictAll() {
+        cache.synchronous().invalidateAll();
+    }
+}
@@ -0,0 +1,67 @@
+package com.techstack.react.app.service;
+
+import com.techstack.react.app.config.ItemMultiGetProperties;
+import com.techstack.react.app.document.Item;
+import com.techstack.react.app.dto.MultiGetRequest;
+import com.techstack.react.app.dto.MultiGetResponse;
+import com.techstack.react.app.repository.ItemReactiveRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Resolves many ids with one "_id: {$in: [...]}" query instead of one findById per id.
+ */
+@Service
+@RequiredArgsConstructor
+public class ItemMultiGetService {
+
+    private final ItemReactiveRepository itemReactiveRepository;
+    private final ItemMultiGetProperties itemMultiGetProperties;
+
+    public Mono<MultiGetResponse> get(MultiGetRequest multiGetRequest) {
+        List<String> ids = multiGetRequest.getIds();
+        if (ids == null || ids.isEmpty()) {
+            return Mono.error(new ResponseStatusException(HttpStatus.BAD_REQUEST, "ids must not be empty"));
+        }
+        if (ids.size() > itemMultiGetProperties.getMaxIds()) {
+            return Mono.error(new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "At most " + itemMultiGetProperties.getMaxIds() + " ids per request"));
+        }
+
+        Set<String> distinctIds = new LinkedHashSet<>(ids);
+
+        return itemReactiveRepository
+                .findAllById(distinctIds)
+                .collectMap(Item::getId)
+                .map(found -> response(ids, distinctIds, found))
+                .name("items.mget")
+                .metrics();
+    }
+
+    private static MultiGetResponse response(List<String> ids, Set<String> distinctIds, Map<String, Item> found) {
+        List<Item> items = new ArrayList<>(found.size());
+        for (String id : ids) {
+            Item item = found.get(id);
+            if (item != null) {
+                items.add(item);
+            }
+        }
+
+        List<String> missing = new ArrayList<>();
+        for (String id : distinctIds) {
+            if (!found.containsKey(id)) {
+                missing.add(id);
+            }
+        }
+        return new MultiGetResponse(items, missing);
+    }
+}
@@ -0,0 +1,55 @@
+package com.techstack.react.app.service;
+
+import com.techstack.react.app.config.ItemPageProperties;
+import com.techstack.react.app.document.Item;
+import com.techstack.react.app.price.ItemPriceIndex;
+import com.techstack.react.app.repository.ItemReactiveRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+
+/**
+ * Price range and cheapest-N queries. Answered from the in-memory {@link ItemPriceIndex} once it is warm,
+ * from MongoDB ("price_id" index) before that or when the index is switched off.
+ * Both give the same order: cheapest first, ties in MongoDB "_id" order (String ids before ObjectIds).
+ *
+ * Metrics: the "items.price.query" flow, tagged with source=index|mongo.
+ */
+@Service
+@RequiredArgsConstructor
+public class ItemPriceQueryService {
+
+    private final ItemPriceIndex itemPriceIndex;
+    private final ItemReactiveRepository itemReactiveRepository;
+    private final ItemPageProperties itemPageProperties;
+
+    /**
+     * @param min inclusive, no lower bound when null
+     * @param max inclusive, no upper bound when null
+     */
+    public Flux<Item> range(@Nullable Double min, @Nullable Double max, @Nullable Integer limit) {
+        double from = min != null ? min : Double.NEGATIVE_INFINITY;
+        double to = max != null ? max : Double.POSITIVE_INFINITY;
+        if (from > to) {
+            return Flux.error(new ResponseStatusException(HttpStatus.BAD_REQUEST, "min must not be greater than max"));
+        }
+        int resolvedLimit = itemPageProperties.resolveLimit(limit);
+
+        boolean fromIndex = itemPriceIndex.isReady();
+        Flux<Item> items = fromIndex
+                ? Flux.defer(() -> Flux.fromIterable(itemPriceIndex.range(from, to, resolvedLimit)))
+                : itemReactiveRepository.findPriceRange(from, to, resolvedLimit);
+
+        return items
+                .name("items.price.query")
+                .tag("source", fromIndex ? "index" : "mongo")
+                .metrics();
+    }
+
+    public Flux<Item> cheapest(@Nullable Integer limit) {
+        return range(null, null, limit);
+    }
+}
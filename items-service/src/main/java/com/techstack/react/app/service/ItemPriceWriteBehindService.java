@@ -0,0 +1,211 @@
+package com.techstack.react.app.service;
+
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.UpdateOneModel;
+import com.mongodb.client.model.Updates;
+import com.mongodb.client.model.WriteModel;
+import com.techstack.react.app.config.ItemPriceWriteBehindProperties;
+import com.techstack.react.app.document.Item;
+import io.micrometer.core.instrument.Clock;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.stereotype.Service;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Write-behind stage for price updates (PUT /v1/items/{id}/price).
+ *
+ * {@link #offer(String, double)} only records the latest price per id, so repeated updates of a hot Item
+ * between two flushes collapse into one write (last writer wins). Every "items.price.write-behind.flush-interval"
+ * the pending prices are written with unordered bulkWrites of UpdateOne models, which also increment the version.
+ * Only one flush runs at a time, so a newer price is never overtaken by an older one. When some updates
+ * of a bulkWrite fail, only those are queued again.
+ *
+ * The queue is bounded by "max-pending" distinct ids, beyond that offers are rejected and the caller is
+ * expected to back off (429). A new id reserves its slot in a counter before it is put, so concurrent
+ * offers can not overshoot the bound. Updates of unknown ids are dropped by MongoDB without an error.
+ * Callers which need to read their own write keep using PUT /v1/items/{id}.
+ *
+ * Metrics: "items.price.updates" (result=accepted|coalesced|rejected), "items.price.pending",
+ * "items.price.flush" (latency of one bulkWrite), "items.price.flush.size" and "items.price.flush.errors".
+ */
+@Slf4j
+@Service
+public class ItemPriceWriteBehindService implements DisposableBean {
+
+    private final ReactiveMongoTemplate reactiveMongoTemplate;
+    private final ItemPriceWriteBehindProperties properties;
+    private final ItemCacheService itemCacheService;
+    private final Map<String, Double> pending = new ConcurrentHashMap<>();
+    private final AtomicInteger pendingIds = new AtomicInteger();
+
+    private final Counter accepted;
+    private final Counter coalesced;
+    private final Counter rejected;
+    private final Counter flushErrors;
+    private final Timer flushTimer;
+    private final DistributionSummary flushSize;
+    private final Disposable flusher;
+
+    public ItemPriceWriteBehindService(ReactiveMongoTemplate reactiveMongoTemplate,
+                                       ItemPriceWriteBehindProperties properties,
+                                       ItemCacheService itemCacheService,
+                                       MeterRegistry meterRegistry) {
+        this.reactiveMongoTemplate = reactiveMongoTemplate;
+        this.properties = properties;
+        this.itemCacheService = itemCacheService;
+
+        this.accepted = meterRegistry.counter("items.price.updates", "result", "accepted");
+        this.coalesced = meterRegistry.counter("items.price.updates", "result", "coalesced");
+        this.rejected = meterRegistry.counter("items.price.updates", "result", "rejected");
+        this.flushErrors = meterRegistry.counter("items.price.flush.errors");
+        this.flushTimer = Timer.builder("items.price.flush")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.flushSize = DistributionSummary.builder("items.price.flush.size")
+                .register(meterRegistry);
+        meterRegistry.gaugeMapSize("items.price.pending", List.of(), pending);
+
+        this.flusher = Flux.interval(properties.getFlushInterval())
+                .onBackpressureDrop()
+                .concatMap(tick -> flush(), 1)
+                .subscribe();
+    }
+
+    /**
+     * @return false when the queue is full and the update was not taken
+     */
+    public boolean offer(String id, double price) {
+        if (pending.replace(id, price) != null) {
+            coalesced.increment();
+            return true;
+        }
+        if (pendingIds.incrementAndGet() > properties.getMaxPending()) {
+            pendingIds.decrementAndGet();
+            rejected.increment();
+            return false;
+        }
+        if (pending.put(id, price) == null) {
+            accepted.increment();
+        } else {
+            // a concurrent offer of the same id took the slot first
+            pendingIds.decrementAndGet();
+            coalesced.increment();
+        }
+        return true;
+    }
+
+    /**
+     * Hint for callers which were rejected
+     */
+    public Duration retryAfter() {
+        return properties.getFlushInterval();
+    }
+
+    /**
+     * Writes everything pending right now, emits the number of updates written.
+     * Runs on its own every "flush-interval", tests call it to not depend on timing.
+     */
+    public Mono<Integer> flush() {
+        Map<String, Double> batch = drain();
+        if (batch.isEmpty()) {
+            return Mono.just(0);
+        }
+        return write(batch)
+                .flatMap(written -> written
+                        ? Mono.defer(this::flush).map(rest -> rest + batch.size())
+                        : Mono.just(0));
+    }
+
+    private Map<String, Double> drain() {
+        Map<String, Double> batch = new LinkedHashMap<>();
+        Iterator<String> ids = pending.keySet().iterator();
+        while (batch.size() < properties.getMaxBatchSize() && ids.hasNext()) {
+            String id = ids.next();
+            Double price = pending.remove(id);
+            if (price != null) {
+                pendingIds.decrementAndGet();
+                batch.put(id, price);
+            }
+        }
+        return batch;
+    }
+
+    /**
+     * Emits false when the bulkWrite failed, the flush then stops until the next interval
+     */
+    private Mono<Boolean> write(Map<String, Double> batch) {
+        List<WriteModel<Document>> updates = new ArrayList<>(batch.size());
+        batch.forEach((id, price) -> updates.add(new UpdateOneModel<>(
+                Filters.eq("_id", ObjectId.isValid(id) ? new ObjectId(id) : id),
+                Updates.combine(Updates.set("price", price), Updates.inc("version", 1L)))));
+
+        Timer.Sample sample = Timer.start(Clock.SYSTEM);
+        return reactiveMongoTemplate
+                .execute(Item.class, collection -> collection.bulkWrite(updates, new BulkWriteOptions().ordered(false)))
+                .then(Mono.fromCallable(() -> {
+                    sample.stop(flushTimer);
+                    flushSize.record(batch.size());
+                    batch.keySet().forEach(itemCacheService::evict);
+                    return true;
+                }))
+                .onErrorResume(ex -> {
+                    List<String> ids = new ArrayList<>(batch.keySet());
+                    List<String> failed = failedIds(ex, ids);
+                    log.error("Write-behind flush: {} of {} price updates failed, they are retried with the next flush",
+                            failed.size(), batch.size(), ex);
+                    flushErrors.increment();
+                    ids.forEach(itemCacheService::evict);
+                    // a newer price which arrived in the meantime wins over the failed one
+                    failed.forEach(id -> {
+                        if (pending.putIfAbsent(id, batch.get(id)) == null) {
+                            pendingIds.incrementAndGet();
+                        }
+                    });
+                    return Mono.just(false);
+                });
+    }
+
+    /**
+     * An unordered bulkWrite applies every update it can and reports the index of each one which failed.
+     * Only those are retried: the others already incremented the version, writing them again would
+     * increment it twice. Without that report (e.g. a network error) all of them are retried.
+     */
+    private static List<String> failedIds(Throwable ex, List<String> ids) {
+        for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+            if (cause instanceof MongoBulkWriteException) {
+                return ((MongoBulkWriteException) cause).getWriteErrors().stream()
+                        .map(error -> ids.get(error.getIndex()))
+                        .collect(Collectors.toList());
+            }
+        }
+        return ids;
+    }
+
+    @Override
+    public void destroy() {
+        flusher.dispose();
+        flush().block(Duration.ofSeconds(10));
+    }
+}
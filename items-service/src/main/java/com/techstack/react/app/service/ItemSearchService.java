@@ -0,0 +1,62 @@
+package com.techstack.react.app.service;
+
+import com.techstack.react.app.config.ItemSearchProperties;
+import com.techstack.react.app.document.Item;
+import com.techstack.react.app.dto.ItemSearch;
+import com.techstack.react.app.repository.ItemReactiveRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+
+import java.util.Locale;
+
+/**
+ * Search over the Item descriptions, both modes are answered by an index and stop after "limit" Items:
+ * - prefix: descriptions starting with "q" (case sensitive), in alphabetical order. Reads "limit" entries of the
+ *   "description" index no matter how big the catalog is, which is what autocomplete needs.
+ * - text: descriptions containing any word of "q" (case insensitive, stemmed), best text score first.
+ *   Every matching Item is scored before the best ones are returned, so very common words cost more.
+ */
+@Service
+@RequiredArgsConstructor
+public class ItemSearchService {
+
+    public enum Mode {
+        PREFIX, TEXT
+    }
+
+    private final ItemReactiveRepository itemReactiveRepository;
+    private final ItemSearchProperties itemSearchProperties;
+
+    public Flux<Item> search(ItemSearch itemSearch) {
+        return Flux.defer(() -> {
+            if (!StringUtils.hasText(itemSearch.getQ())) {
+                return Flux.error(new ResponseStatusException(HttpStatus.BAD_REQUEST, "q must not be empty"));
+            }
+            Mode mode = mode(itemSearch.getMode());
+            int limit = itemSearchProperties.resolveLimit(itemSearch.getLimit());
+
+            Flux<Item> items = mode == Mode.TEXT
+                    ? itemReactiveRepository.searchByText(itemSearch.getQ(), limit)
+                    : itemReactiveRepository.searchByDescriptionPrefix(itemSearch.getQ(), limit);
+            return items
+                    .name("items.search")
+                    .tag("mode", mode.name().toLowerCase(Locale.ROOT))
+                    .metrics();
+        });
+    }
+
+    private static Mode mode(String mode) {
+        if (mode == null) {
+            return Mode.PREFIX;
+        }
+        try {
+            return Mode.valueOf(mode.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException ex) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "mode must be prefix or text");
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package com.techstack.react.app.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.techstack.react.app.config.ItemSeedProperties;
+import com.techstack.react.app.document.Item;
+import com.techstack.react.app.dto.BulkInsertResult;
+import com.techstack.react.app.repository.ItemReactiveRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+import reactor.core.Disposable;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Fills the Items collection at startup from the "items.seed.source".
+ *
+ * The Items are produced lazily and written through {@link ItemBulkService} in batches of "items.seed.batch-size",
+ * at most "items.seed.concurrency" batches at a time, so seeding millions of Items needs no more memory
+ * than a few batches. Progress is logged every "items.seed.progress-interval", and until seeding is done
+ * the "itemSeed" health indicator reports OUT_OF_SERVICE.
+ */
+@Slf4j
+@Service
+public class ItemSeedService {
+
+    public enum State {
+        PENDING, RUNNING, DONE, FAILED
+    }
+
+    private final ItemBulkService itemBulkService;
+    private final ItemReactiveRepository itemReactiveRepository;
+    private final ItemSeedProperties properties;
+    private final ResourceLoader resourceLoader;
+    private final ObjectMapper objectMapper;
+
+    private final AtomicLong inserted = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private volatile State state;
+    private volatile long startNanos;
+
+    public ItemSeedService(ItemBulkService itemBulkService,
+                           ItemReactiveRepository itemReactiveRepository,
+                           ItemSeedProperties properties,
+                           ResourceLoader resourceLoader,
+                           ObjectMapper objectMapper) {
+        this.itemBulkService = itemBulkService;
+        this.itemReactiveRepository = itemReactiveRepository;
+        this.properties = properties;
+        this.resourceLoader = resourceLoader;
+        this.objectMapper = objectMapper;
+        this.state = properties.getSource() == ItemSeedProperties.Source.NONE ? State.DONE : State.PENDING;
+    }
+
+    /**
+     * Seeds the Items collection, emits how many Items were inserted.
+     * Items which could not be inserted (e.g. a duplicate id in the FILE) are counted and logged, they don't fail the seeding.
+     */
+    public Mono<Long> seed() {
+        if (properties.getSource() == ItemSeedProperties.Source.NONE) {
+            return Mono.just(0L);
+        }
+        return Mono.defer(() -> {
+            state = State.RUNNING;
+            inserted.set(0);
+            failed.set(0);
+            startNanos = System.nanoTime();
+            log.info("Seeding Items from {}", properties.getSource());
+
+            Disposable progress = Flux.interval(properties.getProgressInterval())
+                    .subscribe(tick -> logProgress("Seeding in progress"));
+
+            Mono<Void> dropExisting = properties.isDropExisting() ? itemReactiveRepository.deleteAll() : Mono.empty();
+            return dropExisting
+                    .thenMany(Flux.defer(this::items))
+                    .as(items -> itemBulkService.insert(items, properties.getBatchSize(), properties.getConcurrency()))
+                    .doOnNext(this::record)
+                    .then(Mono.fromCallable(inserted::get))
+                    .doOnSuccess(total -> {
+                        state = State.DONE;
+                        logProgress("Seeding done");
+                    })
+                    .doOnError(ex -> {
+                        state = State.FAILED;
+                        log.error("Seeding failed after {} Items", inserted.get(), ex);
+                    })
+                    .doFinally(signal -> progress.dispose());
+        });
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    public long getInserted() {
+        return inserted.get();
+    }
+
+    public long getFailed() {
+        return failed.get();
+    }
+
+    private Flux<Item> items() {
+        switch (properties.getSource()) {
+            case GENERATOR:
+                return generate(properties.getCount(), properties.getRandomSeed());
+            case FILE:
+                return read(properties.getFile());
+            default:
+                return Flux.fromIterable(demoItems());
+        }
+    }
+
+    private static Flux<Item> generate(int count, long randomSeed) {
+        return Flux.defer(() -> {
+            SplittableRandom random = new SplittableRandom(randomSeed);
+            return Flux.range(0, count)
+                    .map(i -> new Item(null, "Generated Item " + i,
+                            Math.round(random.nextDouble(1.0, 5000.0) * 100) / 100.0));
+        });
+    }
+
+    private Flux<Item> read(String location) {
+        if (!StringUtils.hasText(location)) {
+            return Flux.error(new IllegalStateException("items.seed.file is required for the FILE source"));
+        }
+        Resource resource = resourceLoader.getResource(location);
+
+        return Flux.using(
+                () -> new BufferedReader(new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8)),
+                reader -> Flux.fromStream(reader.lines()),
+                ItemSeedService::close)
+                .filter(line -> !line.isBlank())
+                .map(this::toItem);
+    }
+
+    private Item toItem(String line) {
+        try {
+            return objectMapper.readValue(line, Item.class);
+        } catch (IOException ex) {
+            throw Exceptions.propagate(ex);
+        }
+    }
+
+    private static void close(BufferedReader reader) {
+        try {
+            reader.close();
+        } catch (IOException ex) {
+            log.warn("Could not close the seed file", ex);
+        }
+    }
+
+    private void record(BulkInsertResult result) {
+        inserted.addAndGet(result.getInserted());
+        if (result.getFailed() > 0) {
+            failed.addAndGet(result.getFailed());
+            log.warn("Seed batch {}: {} Items not inserted, first error: {}",
+                    result.getBatch(), result.getFailed(), result.getErrors().get(0));
+        }
+    }
+
+    private void logProgress(String message) {
+        long elapsedMillis = Math.max(1, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+        log.info("{}: {} Items inserted, {} failed, {} ms, {} Items/s", message, inserted.get(), failed.get(),
+                elapsedMillis, inserted.get() * 1000 / elapsedMillis);
+    }
+
+    private static List<Item> demoItems() {
+        return List.of(
+                new Item(null, "Apple Ipad", 350.0),
+                new Item(null, "Samsung Tab", 450.0),
+                new Item(null, "LG TV", 850.0)
+        );
+    }
+}
@@ -0,0 +1,29 @@
+package com.techstack.react.app.snapshot;
+
+import com.techstack.react.app.http.ItemMediaTypes;
+import org.springframework.http.MediaType;
+
+import java.util.List;
+
+/**
+ * The encodings the catalog snapshot is kept in, each one is built once per change of the catalog
+ */
+public enum CatalogFormat {
+
+    JSON(MediaType.APPLICATION_JSON),
+    SMILE(ItemMediaTypes.APPLICATION_SMILE);
+
+    private final MediaType mediaType;
+
+    CatalogFormat(MediaType mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    public static CatalogFormat forAccept(List<MediaType> accept) {
+        return ItemMediaTypes.responseType(accept).equals(SMILE.mediaType) ? SMILE : JSON;
+    }
+}
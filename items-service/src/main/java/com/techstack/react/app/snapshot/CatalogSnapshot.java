@@ -0,0 +1,63 @@
+package com.techstack.react.app.snapshot;
+
+import java.nio.ByteBuffer;
+
+/**
+ * The whole catalog, serialized as one array of Items, in a read-only direct buffer.
+ *
+ * A snapshot is immutable and shared by every response until the catalog changes, so it is never
+ * copied: each response writes its own view ({@link #getBuffer()}) of the same memory.
+ * The ETag is a checksum of the content, the same catalog has the same ETag on every instance.
+ */
+public final class CatalogSnapshot {
+
+    private final CatalogFormat format;
+    private final long generation;
+    private final int items;
+    private final ByteBuffer buffer;
+    private final String eTag;
+    private final long builtAt;
+
+    CatalogSnapshot(CatalogFormat format, long generation, int items, ByteBuffer buffer, String eTag, long builtAt) {
+        this.format = format;
+        this.generation = generation;
+        this.items = items;
+        this.buffer = buffer.asReadOnlyBuffer();
+        this.eTag = eTag;
+        this.builtAt = builtAt;
+    }
+
+    public CatalogFormat getFormat() {
+        return format;
+    }
+
+    long getGeneration() {
+        return generation;
+    }
+
+    /**
+     * System.nanoTime() of the build
+     */
+    long getBuiltAt() {
+        return builtAt;
+    }
+
+    public int getItems() {
+        return items;
+    }
+
+    /**
+     * A view of the content with its own position, for one response
+     */
+    public ByteBuffer getBuffer() {
+        return buffer.duplicate();
+    }
+
+    public int getSize() {
+        return buffer.remaining();
+    }
+
+    public String getETag() {
+        return eTag;
+    }
+}
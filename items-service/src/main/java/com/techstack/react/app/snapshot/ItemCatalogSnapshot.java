@@ -0,0 +1,359 @@
+package com.techstack.react.app.snapshot;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import com.techstack.react.app.config.ItemSnapshotProperties;
+import com.techstack.react.app.document.Item;
+import com.techstack.react.app.dto.ItemChangeEvent;
+import com.techstack.react.app.repository.ItemReactiveRepository;
+import com.techstack.react.app.stream.ItemCatalogListener;
+import com.techstack.react.app.stream.ItemCatalogTail;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.CRC32C;
+
+/**
+ * The full catalog, pre-serialized, for bulk consumers which poll GET /v1/items/snapshot.
+ *
+ * Every Item is kept serialized on its own (as JSON and as Smile), in "_id" order. A change of the
+ * catalog re-serializes only the Items which changed and moves the generation on. The first request
+ * for a new generation concatenates the serialized Items into one direct buffer per format, every
+ * further request writes that same buffer until the next change, with no read of MongoDB and no
+ * serialization. Pollers with an unchanged ETag get 304.
+ *
+ * Changes come from {@link ItemCatalogTail}, the change stream the price index follows as well. A warm
+ * up fills a new set of fragments, which replaces the current one once every Item is loaded. When
+ * changes are not followed (no replica set, "items.snapshot.follow-changes: false", or while the change
+ * stream is down) a request re-reads the collection when the last read is older than
+ * "items.snapshot.rescan-interval". Items whose version did not change keep their serialized form.
+ *
+ * A build copies the whole catalog, so it runs on the bounded elastic scheduler, never on the event
+ * loop; a request for an unchanged generation returns the existing snapshot without a thread switch.
+ * Buffers are not pooled: a snapshot is read by all in-flight responses until it is replaced,
+ * reusing its memory would need reference counting across them. Instead a snapshot is rebuilt at
+ * most once per "items.snapshot.min-rebuild-interval", which bounds the direct memory allocated
+ * while the catalog keeps changing; requests in between get the previous snapshot.
+ *
+ * Metrics: "items.snapshot.items", "items.snapshot.ready" (1 or 0), "items.snapshot.builds" by format.
+ */
+@Slf4j
+@Component
+public class ItemCatalogSnapshot implements ItemCatalogListener {
+
+    private final ItemReactiveRepository itemReactiveRepository;
+    private final ItemSnapshotProperties properties;
+
+    private final ObjectMapper jsonMapper;
+    private final ObjectMapper smileMapper;
+    private final Map<CatalogFormat, Envelope> envelopes = new EnumMap<>(CatalogFormat.class);
+    private final Map<CatalogFormat, CatalogSnapshot> snapshots = new ConcurrentHashMap<>();
+    private final Map<CatalogFormat, Counter> builds = new EnumMap<>(CatalogFormat.class);
+
+    private final AtomicLong generation = new AtomicLong();
+    private final AtomicReference<Mono<Void>> rescan = new AtomicReference<>();
+
+    private volatile Map<String, Fragment> fragments = new ConcurrentSkipListMap<>();
+    private volatile Map<String, Fragment> warming;
+    private volatile long rescanDue;
+    private volatile boolean ready;
+
+    public ItemCatalogSnapshot(ItemReactiveRepository itemReactiveRepository,
+                               ItemSnapshotProperties properties,
+                               Jackson2ObjectMapperBuilder objectMapperBuilder,
+                               MeterRegistry meterRegistry) {
+        this.itemReactiveRepository = itemReactiveRepository;
+        this.properties = properties;
+
+        // Items are serialized one by one and concatenated later: no header per Item and no
+        // back references to names of other Items, which Smile would otherwise use
+        this.jsonMapper = objectMapperBuilder.build();
+        this.smileMapper = objectMapperBuilder
+                .factory(new SmileFactory()
+                        .disable(SmileGenerator.Feature.WRITE_HEADER)
+                        .disable(SmileGenerator.Feature.CHECK_SHARED_NAMES))
+                .build();
+
+        envelopes.put(CatalogFormat.JSON, new Envelope(bytes("["), bytes(","), bytes("]")));
+        envelopes.put(CatalogFormat.SMILE, smileEnvelope());
+
+        meterRegistry.gauge("items.snapshot.items", this, snapshot -> snapshot.fragments.size());
+        Gauge.builder("items.snapshot.ready", this, snapshot -> snapshot.ready ? 1 : 0)
+                .register(meterRegistry);
+        for (CatalogFormat format : CatalogFormat.values()) {
+            builds.put(format, meterRegistry.counter("items.snapshot.builds", "format", format.name().toLowerCase()));
+        }
+    }
+
+    /**
+     * The current snapshot in this format, built when the catalog changed since the last one
+     */
+    public Mono<CatalogSnapshot> snapshot(CatalogFormat format) {
+        return rescanIfStale().then(Mono.defer(() -> {
+            CatalogSnapshot snapshot = snapshots.get(format);
+            if (snapshot != null && (snapshot.getGeneration() == generation.get() || !rebuildDue(snapshot))) {
+                return Mono.just(snapshot);
+            }
+            return Mono.fromCallable(() -> build(format))
+                    .subscribeOn(Schedulers.boundedElastic());
+        }));
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    @Override
+    public boolean followsChanges() {
+        return properties.isFollowChanges();
+    }
+
+    @Override
+    public void warmUpStarted() {
+        warming = new ConcurrentSkipListMap<>();
+    }
+
+    /**
+     * Re-uses the fragment of the current set when the Item did not change
+     */
+    @Override
+    public void load(Item item) {
+        Map<String, Fragment> loading = warming;
+        if (loading != null) {
+            put(loading, item, fragments.get(item.getId()));
+        }
+    }
+
+    @Override
+    public void apply(ItemChangeEvent event) {
+        Map<String, Fragment> loading = warming;
+        Map<String, Fragment> target = loading != null ? loading : fragments;
+
+        if ("delete".equals(event.getOperation()) || event.getItem() == null) {
+            if (event.getItemId() != null && target.remove(event.getItemId()) != null) {
+                generation.incrementAndGet();
+            }
+            return;
+        }
+        put(target, event.getItem());
+    }
+
+    @Override
+    public void warmedUp() {
+        Map<String, Fragment> loaded = warming;
+        if (loaded == null) {
+            return;
+        }
+        fragments = loaded;
+        warming = null;
+        generation.incrementAndGet();
+        ready = true;
+        log.info("Catalog snapshot follows changes with {} Items", loaded.size());
+    }
+
+    @Override
+    public void outOfSync() {
+        ready = false;
+        warming = null;
+    }
+
+    /**
+     * Concatenates the serialized Items, unless the snapshot of this generation already exists
+     */
+    synchronized CatalogSnapshot build(CatalogFormat format) {
+        long current = generation.get();
+        CatalogSnapshot snapshot = snapshots.get(format);
+        if (snapshot != null && snapshot.getGeneration() == current) {
+            return snapshot;
+        }
+
+        Envelope envelope = envelopes.get(format);
+        List<byte[]> parts = new ArrayList<>(fragments.size());
+        int size = envelope.prefix.length + envelope.suffix.length;
+        for (Fragment fragment : fragments.values()) {
+            byte[] part = format == CatalogFormat.SMILE ? fragment.smile : fragment.json;
+            parts.add(part);
+            size += part.length;
+        }
+        size += Math.max(0, parts.size() - 1) * envelope.separator.length;
+
+        ByteBuffer buffer = ByteBuffer.allocateDirect(size);
+        buffer.put(envelope.prefix);
+        for (int i = 0; i < parts.size(); i++) {
+            if (i > 0) {
+                buffer.put(envelope.separator);
+            }
+            buffer.put(parts.get(i));
+        }
+        buffer.put(envelope.suffix);
+        buffer.flip();
+
+        CRC32C checksum = new CRC32C();
+        checksum.update(buffer.duplicate());
+        String eTag = "\"" + Long.toHexString(checksum.getValue()) + "-" + Integer.toHexString(size) + "\"";
+
+        snapshot = new CatalogSnapshot(format, current, parts.size(), buffer, eTag, System.nanoTime());
+        snapshots.put(format, snapshot);
+        builds.get(format).increment();
+        return snapshot;
+    }
+
+    private boolean rebuildDue(CatalogSnapshot snapshot) {
+        return System.nanoTime() - snapshot.getBuiltAt() >= properties.getMinRebuildInterval().toNanos();
+    }
+
+    private Mono<Void> rescanIfStale() {
+        return Mono.defer(() -> {
+            if (ready || System.currentTimeMillis() < rescanDue) {
+                return Mono.empty();
+            }
+            return rescan.updateAndGet(current -> current != null ? current : rescan()
+                    .doFinally(signalType -> rescan.set(null))
+                    .cache());
+        });
+    }
+
+    /**
+     * Reads the whole collection into a new set of fragments, re-using the ones of unchanged Items.
+     * The generation only moves on when something changed, so the ETag stays the same otherwise.
+     */
+    private Mono<Void> rescan() {
+        Map<String, Fragment> current = fragments;
+        Map<String, Fragment> fresh = new ConcurrentSkipListMap<>();
+
+        return itemReactiveRepository.findAll()
+                .doOnNext(item -> fresh.put(item.getId(), fragment(current.get(item.getId()), item)))
+                .then(Mono.fromRunnable(() -> {
+                    rescanDue = System.currentTimeMillis() + properties.getRescanInterval().toMillis();
+                    // the change stream took over in the meantime, it is more recent than this read
+                    if (ready || fragments != current || sameFragments(current, fresh)) {
+                        return;
+                    }
+                    fragments = fresh;
+                    generation.incrementAndGet();
+                }));
+    }
+
+    private void put(Map<String, Fragment> target, Item item) {
+        put(target, item, null);
+    }
+
+    /**
+     * Replaces the fragment of the Item unless the current one is newer
+     *
+     * @param previous fragment to re-use when the Item did not change, e.g. from the map being replaced
+     */
+    private void put(Map<String, Fragment> target, Item item, Fragment previous) {
+        boolean[] changed = new boolean[1];
+        target.compute(item.getId(), (id, current) -> {
+            if (current != null && isOlder(item, current)) {
+                return current;
+            }
+            Fragment fragment = fragment(current != null ? current : previous, item);
+            changed[0] = fragment != current;
+            return fragment;
+        });
+        if (changed[0]) {
+            generation.incrementAndGet();
+        }
+    }
+
+    /**
+     * The existing fragment when it holds the same Item, a newly serialized one otherwise
+     */
+    private Fragment fragment(Fragment existing, Item item) {
+        if (existing != null && existing.version != null && existing.version.equals(item.getVersion())) {
+            return existing;
+        }
+        Fragment fragment = new Fragment(item.getVersion(), serialize(jsonMapper, item), serialize(smileMapper, item));
+        if (existing != null && Arrays.equals(existing.json, fragment.json)) {
+            return existing;
+        }
+        return fragment;
+    }
+
+    private static boolean sameFragments(Map<String, Fragment> current, Map<String, Fragment> fresh) {
+        if (current.size() != fresh.size()) {
+            return false;
+        }
+        for (Map.Entry<String, Fragment> entry : fresh.entrySet()) {
+            if (current.get(entry.getKey()) != entry.getValue()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isOlder(Item item, Fragment current) {
+        return item.getVersion() != null && current.version != null && item.getVersion() < current.version;
+    }
+
+    private static byte[] serialize(ObjectMapper objectMapper, Object value) {
+        try {
+            return objectMapper.writeValueAsBytes(value);
+        } catch (JsonProcessingException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /**
+     * An empty Smile array is the header, "start array" and "end array"
+     */
+    private static Envelope smileEnvelope() {
+        ObjectMapper envelopeMapper = new ObjectMapper(new SmileFactory()
+                .disable(SmileGenerator.Feature.CHECK_SHARED_NAMES));
+        byte[] emptyArray = serialize(envelopeMapper, List.of());
+        int end = emptyArray.length - 1;
+        return new Envelope(Arrays.copyOf(emptyArray, end), new byte[0], new byte[]{emptyArray[end]});
+    }
+
+    private static byte[] bytes(String json) {
+        return json.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static final class Fragment {
+
+        private final Long version;
+        private final byte[] json;
+        private final byte[] smile;
+
+        private Fragment(Long version, byte[] json, byte[] smile) {
+            this.version = version;
+            this.json = json;
+            this.smile = smile;
+        }
+    }
+
+    private static final class Envelope {
+
+        private final byte[] prefix;
+        private final byte[] separator;
+        private final byte[] suffix;
+
+        private Envelope(byte[] prefix, byte[] separator, byte[] suffix) {
+            this.prefix = prefix;
+            this.separator = separator;
+            this.suffix = suffix;
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.techstack.react.app.stream;
+
+import com.techstack.react.app.document.Item;
+import com.techstack.react.app.dto.ItemChangeEvent;
+
+/**
+ * An in-memory view of the items collection, kept up to date by {@link ItemCatalogTail}.
+ * The callbacks of one warm up arrive in this order: warmUpStarted, then load and apply
+ * interleaved, then warmedUp, then apply only. outOfSync can come at any point.
+ */
+public interface ItemCatalogListener {
+
+    /**
+     * False leaves this view out of the change stream, e.g. "items.price.index.enabled: false"
+     */
+    boolean followsChanges();
+
+    /**
+     * The collection is about to be read again, changes already arrive
+     */
+    void warmUpStarted();
+
+    /**
+     * An Item read during the warm up. An Item deleted by a change of the same warm up is not loaded,
+     * an Item updated by one may still be loaded in its older version.
+     */
+    void load(Item item);
+
+    /**
+     * One change of the items collection
+     */
+    void apply(ItemChangeEvent event);
+
+    /**
+     * Every Item is loaded, from now on only changes arrive
+     */
+    void warmedUp();
+
+    /**
+     * The change stream failed, the view misses changes until the next warm up is done
+     */
+    void outOfSync();
+}
@@ -0,0 +1,180 @@
+package com.techstack.react.app.stream;
+
+import com.techstack.react.app.config.ItemCatalogTailProperties;
+import com.techstack.react.app.dto.ItemChangeEvent;
+import com.techstack.react.app.repository.ItemReactiveRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Follows the items collection with one change stream for every {@link ItemCatalogListener}
+ * (the price index and the catalog snapshot), instead of one change stream each.
+ *
+ * Warm up: the change stream is opened from the server time before the collection is read, then
+ * every Item is loaded. Changes which happen during the load are replayed by the change stream, the
+ * listeners only replace an Item by the same or a newer version, so the order of the two does not
+ * matter. An Item deleted during the load is not loaded afterwards.
+ *
+ * When the change stream fails the listeners are out of sync, and everything starts over after
+ * "items.stream.catalog-tail.retry-interval". After "items.stream.catalog-tail.max-retries" failures
+ * in a row (e.g. a standalone MongoDB, no replica set) it gives up, the listeners stay out of sync.
+ * The "itemCatalogTail" health indicator shows the state and the last error.
+ */
+@Slf4j
+@Component
+public class ItemCatalogTail implements DisposableBean {
+
+    public enum State {
+        DISABLED, WARMING, FOLLOWING, RETRYING, GAVE_UP
+    }
+
+    /**
+     * Head room for the difference between the server time and the time of the oplog entries,
+     * replaying a change twice does no harm
+     */
+    private static final Duration CATCH_UP_OVERLAP = Duration.ofSeconds(1);
+
+    private final ItemChangeStreamService itemChangeStreamService;
+    private final ItemReactiveRepository itemReactiveRepository;
+    private final ReactiveMongoTemplate reactiveMongoTemplate;
+    private final ItemCatalogTailProperties properties;
+    private final List<ItemCatalogListener> listeners;
+
+    private final Set<String> deletedWhileWarming = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger failures = new AtomicInteger();
+    private volatile State state;
+    private volatile Throwable lastError;
+    private volatile Disposable subscription;
+
+    public ItemCatalogTail(ItemChangeStreamService itemChangeStreamService,
+                           ItemReactiveRepository itemReactiveRepository,
+                           ReactiveMongoTemplate reactiveMongoTemplate,
+                           ItemCatalogTailProperties properties,
+                           List<ItemCatalogListener> listeners) {
+        this.itemChangeStreamService = itemChangeStreamService;
+        this.itemReactiveRepository = itemReactiveRepository;
+        this.reactiveMongoTemplate = reactiveMongoTemplate;
+        this.properties = properties;
+        this.listeners = listeners.stream()
+                .filter(ItemCatalogListener::followsChanges)
+                .collect(Collectors.toList());
+        this.state = this.listeners.isEmpty() ? State.DISABLED : State.WARMING;
+    }
+
+    /**
+     * Started once the application is ready, so the warm up is not on the startup path
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (listeners.isEmpty() || subscription != null) {
+            return;
+        }
+        subscription = Flux.defer(this::warmUpAndFollow)
+                .retryWhen(errors -> errors.concatMap(this::retryOrGiveUp))
+                .subscribe();
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    /**
+     * Failures of the change stream since the last warm up was done
+     */
+    public int getFailures() {
+        return failures.get();
+    }
+
+    public Throwable getLastError() {
+        return lastError;
+    }
+
+    @Override
+    public void destroy() {
+        if (subscription != null) {
+            subscription.dispose();
+        }
+    }
+
+    private Flux<ItemChangeEvent> warmUpAndFollow() {
+        long start = System.nanoTime();
+        AtomicLong loaded = new AtomicLong();
+
+        return serverTime().flatMapMany(now -> {
+            state = State.WARMING;
+            deletedWhileWarming.clear();
+            listeners.forEach(ItemCatalogListener::warmUpStarted);
+
+            Flux<ItemChangeEvent> changes = itemChangeStreamService
+                    .changesSince(now.minus(CATCH_UP_OVERLAP))
+                    .doOnNext(this::apply);
+
+            Mono<ItemChangeEvent> load = itemReactiveRepository.findAll()
+                    .filter(item -> !deletedWhileWarming.contains(item.getId()))
+                    .doOnNext(item -> {
+                        loaded.incrementAndGet();
+                        listeners.forEach(listener -> listener.load(item));
+                    })
+                    .then(Mono.fromRunnable(() -> {
+                        state = State.FOLLOWING;
+                        deletedWhileWarming.clear();
+                        failures.set(0);
+                        listeners.forEach(ItemCatalogListener::warmedUp);
+                        log.info("Catalog changes are followed after loading {} Items in {} ms", loaded.get(),
+                                Duration.ofNanos(System.nanoTime() - start).toMillis());
+                    }));
+
+            return Flux.merge(changes, load);
+        });
+    }
+
+    private void apply(ItemChangeEvent event) {
+        if (state == State.WARMING && event.getItemId() != null) {
+            if ("delete".equals(event.getOperation()) || event.getItem() == null) {
+                deletedWhileWarming.add(event.getItemId());
+            } else {
+                deletedWhileWarming.remove(event.getItemId());
+            }
+        }
+        listeners.forEach(listener -> listener.apply(event));
+    }
+
+    /**
+     * A delay before the next warm up, or an empty sequence which ends the retries
+     */
+    private Mono<Long> retryOrGiveUp(Throwable ex) {
+        lastError = ex;
+        listeners.forEach(ItemCatalogListener::outOfSync);
+        int failure = failures.incrementAndGet();
+        if (failure > properties.getMaxRetries()) {
+            state = State.GAVE_UP;
+            log.warn("Catalog changes are not followed any more after {} failures: {}", failure, ex.toString());
+            return Mono.empty();
+        }
+        state = State.RETRYING;
+        log.warn("Catalog changes are not followed, retried in {}: {}", properties.getRetryInterval(), ex.toString());
+        return Mono.delay(properties.getRetryInterval());
+    }
+
+    private Mono<Instant> serverTime() {
+        return reactiveMongoTemplate.executeCommand("{isMaster: 1}")
+                .map(isMaster -> isMaster.get("localTime", Date.class).toInstant());
+    }
+}
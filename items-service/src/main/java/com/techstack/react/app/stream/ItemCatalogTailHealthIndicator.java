@@ -0,0 +1,32 @@
+package com.techstack.react.app.stream;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * UP while the catalog changes are followed (or nothing follows them), UNKNOWN while warming up,
+ * retrying or after giving up. Never DOWN: without the change stream the price queries go to MongoDB
+ * and the catalog snapshot re-reads the collection.
+ */
+@RequiredArgsConstructor
+@Component
+public class ItemCatalogTailHealthIndicator implements HealthIndicator {
+
+    private final ItemCatalogTail itemCatalogTail;
+
+    @Override
+    public Health health() {
+        ItemCatalogTail.State state = itemCatalogTail.getState();
+        Health.Builder builder = state == ItemCatalogTail.State.FOLLOWING || state == ItemCatalogTail.State.DISABLED
+                ? Health.up()
+                : Health.unknown();
+        builder.withDetail("state", state)
+                .withDetail("failures", itemCatalogTail.getFailures());
+        if (itemCatalogTail.getLastError() != null) {
+            builder.withDetail("lastError", itemCatalogTail.getLastError().toString());
+        }
+        return builder.build();
+    }
+}
@@ -0,0 +1,132 @@
+package com.techstack.react.app.stream;
+
+import com.mongodb.client.model.changestream.OperationType;
+import com.techstack.react.app.document.Item;
+import com.techstack.react.app.dto.ItemChangeEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.bson.BsonValue;
+import org.springframework.data.mongodb.core.ChangeStreamEvent;
+import org.springframework.data.mongodb.core.ChangeStreamOptions;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+
+import java.time.Instant;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Live feed of the "items" collection backed by a MongoDB change stream.
+ *
+ * Unlike the tailable cursor on the capped collection, every event carries a resume token.
+ * A client that reconnects with the token of the last event it saw continues right after it,
+ * without a full re-read and without missing anything in between.
+ *
+ * TIP: change streams need a replica set (a single node replica set is enough).
+ *
+ * Metrics: "items.changes.subscribers" is the number of open change streams, the "items.changes"
+ * flow is instrumented with the Reactor metrics (reactor.flow.duration, reactor.onNext.delay, ...).
+ */
+@Service
+public class ItemChangeStreamService {
+
+    private static final Set<OperationType> ITEM_OPERATIONS =
+            EnumSet.of(OperationType.INSERT, OperationType.UPDATE, OperationType.REPLACE, OperationType.DELETE);
+
+    private final ReactiveMongoTemplate reactiveMongoTemplate;
+    private final AtomicInteger subscribers;
+
+    public ItemChangeStreamService(ReactiveMongoTemplate reactiveMongoTemplate, MeterRegistry meterRegistry) {
+        this.reactiveMongoTemplate = reactiveMongoTemplate;
+        this.subscribers = meterRegistry.gauge("items.changes.subscribers", new AtomicInteger());
+    }
+
+    /**
+     * @param resumeToken token of the last event the client saw, or null to start with the next change
+     */
+    public Flux<ItemChangeEvent> changes(@Nullable String resumeToken) {
+        return changes(() -> options(resumeToken));
+    }
+
+    /**
+     * Changes from "since" (MongoDB server time) on, including the ones which happened before the subscription.
+     * Used to catch up with the writes which happened while the collection was read.
+     */
+    public Flux<ItemChangeEvent> changesSince(Instant since) {
+        return changes(() -> ChangeStreamOptions
+                .builder()
+                .returnFullDocumentOnUpdate()
+                .resumeAt(since)
+                .build());
+    }
+
+    private Flux<ItemChangeEvent> changes(Supplier<ChangeStreamOptions> options) {
+        return Flux.defer(() -> reactiveMongoTemplate
+                .changeStream(reactiveMongoTemplate.getCollectionName(Item.class), options.get(), Item.class)
+                .filter(event -> ITEM_OPERATIONS.contains(event.getOperationType()))
+                .map(this::toItemChangeEvent))
+                .doOnSubscribe(subscription -> subscribers.incrementAndGet())
+                .doFinally(signalType -> subscribers.decrementAndGet())
+                .name("items.changes")
+                .metrics();
+    }
+
+    public Flux<ServerSentEvent<ItemChangeEvent>> serverSentEvents(@Nullable String resumeToken) {
+        return changes(resumeToken)
+                .map(event -> ServerSentEvent
+                        .builder(event)
+                        .id(event.getResumeToken())
+                        .event(event.getOperation())
+                        .build());
+    }
+
+    private static ChangeStreamOptions options(@Nullable String resumeToken) {
+        ChangeStreamOptions.ChangeStreamOptionsBuilder options = ChangeStreamOptions
+                .builder()
+                .returnFullDocumentOnUpdate();
+
+        if (resumeToken != null && !resumeToken.isEmpty()) {
+            try {
+                options.resumeAfter(ResumeTokens.decode(resumeToken));
+            } catch (IllegalArgumentException ex) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, ex.getMessage(), ex);
+            }
+        }
+        return options.build();
+    }
+
+    private ItemChangeEvent toItemChangeEvent(ChangeStreamEvent<Item> event) {
+        Item item = event.getBody();
+        String itemId = item != null ? item.getId() : documentKeyId(event);
+
+        return new ItemChangeEvent(
+                ResumeTokens.encode(event.getResumeToken()),
+                event.getOperationType().getValue(),
+                itemId,
+                item);
+    }
+
+    /**
+     * Deletes have no document, only the "_id" of the one that was deleted
+     */
+    @Nullable
+    private static String documentKeyId(ChangeStreamEvent<Item> event) {
+        if (event.getRaw() == null || event.getRaw().getDocumentKey() == null) {
+            return null;
+        }
+        BsonValue id = event.getRaw().getDocumentKey().get("_id");
+        if (id == null) {
+            return null;
+        }
+        if (id.isObjectId()) {
+            return id.asObjectId().getValue().toHexString();
+        }
+        return id.isString() ? id.asString().getValue() : id.toString();
+    }
+}
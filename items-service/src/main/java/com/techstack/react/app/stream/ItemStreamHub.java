@@ -0,0 +1,118 @@
+package com.techstack.react.app.stream;
+
+import com.techstack.react.app.config.ItemStreamHubProperties;
+import com.techstack.react.app.document.ItemCapped;
+import com.techstack.react.app.repository.ItemReactiveCappedRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import reactor.core.Exceptions;
+import reactor.core.publisher.BufferOverflowStrategy;
+import reactor.core.publisher.ConnectableFlux;
+import reactor.core.publisher.Flux;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Hot publisher in front of {@link ItemReactiveCappedRepository#findItemsBy()}.
+ *
+ * Without the hub every stream subscriber opens its own tailable cursor. With it there is one
+ * cursor per node: it is opened by the first subscriber, multicast to all of them and closed
+ * "items.stream.hub.grace-period" after the last one left.
+ *
+ * Each subscriber gets its own bounded buffer, so one slow HTTP client can neither hold back
+ * the others nor grow the memory of the node. Late joiners first receive the last
+ * "items.stream.hub.replay-size" Items.
+ *
+ * Metrics:
+ * - items.stream.hub.subscribers: current number of subscribers
+ * - items.stream.hub.pending: Items buffered for subscribers but not delivered yet (lag)
+ * - items.stream.hub.dropped: Items dropped because a subscriber buffer was full
+ * - items.stream.hub.disconnected: subscribers disconnected because they were too slow
+ * - the "items.stream.hub" flow is instrumented with the Reactor metrics (reactor.flow.duration, ...)
+ */
+@Slf4j
+@Component
+public class ItemStreamHub {
+
+    private final Flux<ItemCapped> shared;
+    private final int bufferSize;
+    private final ItemStreamHubProperties.OverflowStrategy overflowStrategy;
+
+    private final AtomicInteger subscribers = new AtomicInteger();
+    private final AtomicLong pending = new AtomicLong();
+    private final Counter dropped;
+    private final Counter disconnected;
+
+    public ItemStreamHub(ItemReactiveCappedRepository itemReactiveCappedRepository,
+                         ItemStreamHubProperties itemStreamHubProperties,
+                         MeterRegistry meterRegistry) {
+        this.bufferSize = itemStreamHubProperties.getBufferSize();
+        this.overflowStrategy = itemStreamHubProperties.getOverflowStrategy();
+
+        ConnectableFlux<ItemCapped> replay = Flux
+                .defer(itemReactiveCappedRepository::findItemsBy)
+                .doOnSubscribe(subscription -> log.info("Opening the shared tailable cursor"))
+                .doFinally(signalType -> log.info("Shared tailable cursor closed on {}", signalType))
+                .replay(itemStreamHubProperties.getReplaySize());
+        this.shared = itemStreamHubProperties.getGracePeriod().isZero()
+                ? replay.refCount(1)
+                : replay.refCount(1, itemStreamHubProperties.getGracePeriod());
+
+        Gauge.builder("items.stream.hub.subscribers", subscribers, AtomicInteger::get)
+                .description("Current subscribers of the Item stream")
+                .register(meterRegistry);
+        Gauge.builder("items.stream.hub.pending", pending, AtomicLong::get)
+                .description("Items buffered for subscribers but not delivered yet")
+                .register(meterRegistry);
+        this.dropped = Counter.builder("items.stream.hub.dropped")
+                .description("Items dropped because a subscriber buffer was full")
+                .register(meterRegistry);
+        this.disconnected = Counter.builder("items.stream.hub.disconnected")
+                .description("Subscribers disconnected because they could not keep up")
+                .register(meterRegistry);
+    }
+
+    public Flux<ItemCapped> stream() {
+        return Flux.defer(() -> {
+            AtomicLong buffered = new AtomicLong();
+
+            return shared
+                    .doOnNext(item -> {
+                        buffered.incrementAndGet();
+                        pending.incrementAndGet();
+                    })
+                    .onBackpressureBuffer(bufferSize, item -> {
+                        buffered.decrementAndGet();
+                        pending.decrementAndGet();
+                        dropped.increment();
+                    }, bufferOverflowStrategy())
+                    .doOnNext(item -> {
+                        buffered.decrementAndGet();
+                        pending.decrementAndGet();
+                    })
+                    .doOnError(Exceptions::isOverflow, ex -> disconnected.increment())
+                    .doOnSubscribe(subscription -> subscribers.incrementAndGet())
+                    .doFinally(signalType -> {
+                        subscribers.decrementAndGet();
+                        pending.addAndGet(-buffered.get());
+                    });
+        })
+                .name("items.stream.hub")
+                .metrics();
+    }
+
+    private BufferOverflowStrategy bufferOverflowStrategy() {
+        switch (overflowStrategy) {
+            case DROP_LATEST:
+                return BufferOverflowStrategy.DROP_LATEST;
+            case DISCONNECT:
+                return BufferOverflowStrategy.ERROR;
+            default:
+                return BufferOverflowStrategy.DROP_OLDEST;
+        }
+    }
+}
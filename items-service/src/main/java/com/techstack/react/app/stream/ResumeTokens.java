@@ -0,0 +1,34 @@
+package com.techstack.react.app.stream;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.bson.BsonDocument;
+import org.bson.BsonValue;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Converts change stream resume tokens to and from the opaque, URL and header safe
+ * strings handed out to clients as SSE event ids.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class ResumeTokens {
+
+    public static String encode(BsonValue resumeToken) {
+        byte[] json = resumeToken.asDocument().toJson().getBytes(StandardCharsets.UTF_8);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(json);
+    }
+
+    /**
+     * @throws IllegalArgumentException when the value was not produced by {@link #encode(BsonValue)}
+     */
+    public static BsonDocument decode(String value) {
+        try {
+            byte[] json = Base64.getUrlDecoder().decode(value);
+            return BsonDocument.parse(new String(json, StandardCharsets.UTF_8));
+        } catch (RuntimeException ex) {
+            throw new IllegalArgumentException("Invalid resume token: " + value, ex);
+        }
+    }
+}
@@ -5,6 +5,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.server.ResponseStatusException;
 
 @Slf4j
 @ControllerAdvice
@@ -16,4 +17,14 @@ public class ControllerExceptionHandler {
         return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(ex.getMessage());
     }
 
+    /**
+     * ResponseStatusException already knows its status (400, 404, 412, ...),
+     * so it is not turned into a 500 by {@link #handleRuntimeException(RuntimeException)}.
+     */
+    @ExceptionHandler(ResponseStatusException.class)
+    public ResponseEntity<String> handleResponseStatusException(ResponseStatusException ex) {
+        log.warn("Exception caught in handleResponseStatusException: {}", ex.getMessage());
+        return ResponseEntity.status(ex.getStatus()).body(ex.getReason());
+    }
+
 }
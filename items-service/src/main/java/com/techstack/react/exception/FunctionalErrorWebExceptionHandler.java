@@ -43,8 +43,11 @@ public class FunctionalErrorWebExceptionHandler extends AbstractErrorWebExceptio
         Map<String, Object> errorAttributes =  getErrorAttributes(serverRequest, false);
         log.info("errorAttributesMap : " + errorAttributes);
 
+        //"status" is 500 unless the error was a ResponseStatusException (400, 404, 412, ...)
+        int status = (int) errorAttributes.getOrDefault("status", HttpStatus.INTERNAL_SERVER_ERROR.value());
+
         return ServerResponse
-                .status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .status(HttpStatus.valueOf(status))
                 .contentType(MediaType.APPLICATION_JSON)
                 .body(BodyInserters.fromObject(errorAttributes.get("error")));
     }
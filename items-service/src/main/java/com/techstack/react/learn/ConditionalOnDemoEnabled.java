@@ -0,0 +1,21 @@
+package com.techstack.react.learn;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks the learning examples (/mono, /flux, /functional/...) which are not part of the items API.
+ * They are registered unless "items.demo.enabled" is false, which the "prod" profile does
+ * to keep them out of the startup path.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE, ElementType.METHOD})
+@ConditionalOnProperty(prefix = "items.demo", name = "enabled", havingValue = "true", matchIfMissing = true)
+public @interface ConditionalOnDemoEnabled {
+}
@@ -1,5 +1,8 @@
 package com.techstack.react.learn.controller;
 
+import com.techstack.react.learn.ConditionalOnDemoEnabled;
+import com.techstack.trace.SignalTracer;
+import lombok.RequiredArgsConstructor;
 import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RestController;
@@ -8,9 +11,13 @@ import reactor.core.publisher.Mono;
 
 import java.time.Duration;
 
+@ConditionalOnDemoEnabled
 @RestController
+@RequiredArgsConstructor
 public class FluxAndMonoController {
 
+    private final SignalTracer signalTracer;
+
     @GetMapping("/mono")
     public Mono<String> getSubject() {
         return Mono.just("Spring Boot ")
@@ -20,7 +27,7 @@ public class FluxAndMonoController {
 
     @GetMapping("/mono1")
     public Mono<Integer> returnMono() {
-        return Mono.just(1).log();
+        return signalTracer.trace("mono1", Mono.just(1));
     }
 
     /**
@@ -31,10 +38,9 @@ public class FluxAndMonoController {
      */
     @GetMapping("/flux")
     public Flux<String> getSubjects() {
-        return Flux.just("Spring Boot ", "Spring Data ", "Spring Message ")
+        return signalTracer.trace("flux", Flux.just("Spring Boot ", "Spring Data ", "Spring Message ")
                    .map(s -> s.concat("Reactive <br>"))
-                   .delayElements(Duration.ofSeconds(1))
-                   .log();
+                   .delayElements(Duration.ofSeconds(1)));
     }
 
     /**
@@ -50,10 +56,9 @@ public class FluxAndMonoController {
      */
     @GetMapping("/flux1")
     public Flux<Integer> returnIntegerFlux() {
-        return Flux
+        return signalTracer.trace("flux1", Flux
                 .just(1, 2, 3, 4)
-                .delayElements(Duration.ofSeconds(1))
-                .log();
+                .delayElements(Duration.ofSeconds(1)));
     }
 
     /**
@@ -64,10 +69,9 @@ public class FluxAndMonoController {
      */
     @GetMapping(value = "/flux2", produces = MediaType.APPLICATION_STREAM_JSON_VALUE)
     public Flux<Integer> returnIntegerFluxStream() {
-        return Flux
+        return signalTracer.trace("flux2", Flux
                 .just(1, 2, 3, 4)
-                .delayElements(Duration.ofSeconds(1))
-                .log();
+                .delayElements(Duration.ofSeconds(1)));
     }
 
     /**
@@ -78,14 +82,14 @@ public class FluxAndMonoController {
      * Each tab will start consume the values from this Flux from the starting (1...N).
      * This is called "Cold Publisher".
      *
-     * If you stop the SpringBoot application, you will see the log contains two cancel()
-     * event. Why? Because, publisher will pass the cancel signal to the subscriber that
-     * no more data is coming from the publisher side.
+     * If you stop the SpringBoot application with tracing of "flux3" enabled, you will see
+     * two cancel() events in /actuator/signaltrace. Why? Because, publisher will pass the cancel
+     * signal to the subscriber that no more data is coming from the publisher side.
      *
      * @return
      */
     @GetMapping(value = "/flux3", produces = MediaType.APPLICATION_STREAM_JSON_VALUE)
     public Flux<Long> returnInfiniteFluxStream() {
-        return Flux.interval(Duration.ofSeconds(1)).log();
+        return signalTracer.trace("flux3", Flux.interval(Duration.ofSeconds(1)));
     }
 }
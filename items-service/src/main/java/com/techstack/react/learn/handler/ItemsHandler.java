@@ -1,60 +1,232 @@
 package com.techstack.react.learn.handler;
 
+import com.techstack.react.app.config.ItemPageProperties;
 import com.techstack.react.app.document.Item;
 import com.techstack.react.app.document.ItemCapped;
-import com.techstack.react.app.repository.ItemReactiveCappedRepository;
+import com.techstack.react.app.dto.BulkInsertResult;
+import com.techstack.react.app.dto.ItemChangeEvent;
+import com.techstack.react.app.dto.ItemQuery;
+import com.techstack.react.app.dto.ItemSearch;
+import com.techstack.react.app.dto.MultiGetRequest;
+import com.techstack.react.app.dto.PriceUpdate;
+import com.techstack.react.app.http.ItemETags;
+import com.techstack.react.app.http.ItemMediaTypes;
+import com.techstack.react.app.http.RetryAfter;
 import com.techstack.react.app.repository.ItemReactiveRepository;
+import com.techstack.react.app.service.ItemBulkService;
+import com.techstack.react.app.service.ItemCacheService;
+import com.techstack.react.app.service.ItemMultiGetService;
+import com.techstack.react.app.service.ItemPriceQueryService;
+import com.techstack.react.app.service.ItemPriceWriteBehindService;
+import com.techstack.react.app.service.ItemSearchService;
+import com.techstack.react.app.snapshot.CatalogFormat;
+import com.techstack.react.app.snapshot.ItemCatalogSnapshot;
+import com.techstack.react.app.stream.ItemChangeStreamService;
+import com.techstack.react.app.stream.ItemStreamHub;
 import lombok.AllArgsConstructor;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.BodyInserters;
 import org.springframework.web.reactive.function.server.ServerRequest;
 import org.springframework.web.reactive.function.server.ServerResponse;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import static com.techstack.react.app.consts.ItemConstants.LAST_EVENT_ID_HEADER;
+import static com.techstack.react.app.consts.ItemConstants.NEXT_CURSOR_HEADER;
 import static org.springframework.web.reactive.function.BodyInserters.fromObject;
+import static org.springframework.web.reactive.function.BodyInserters.fromServerSentEvents;
 
 @Component
 @AllArgsConstructor
 public class ItemsHandler {
 
     private final ItemReactiveRepository itemReactiveRepository;
-    private final ItemReactiveCappedRepository itemReactiveCappedRepository;
+    private final ItemStreamHub itemStreamHub;
+    private final ItemChangeStreamService itemChangeStreamService;
+    private final ItemBulkService itemBulkService;
+    private final ItemCacheService itemCacheService;
+    private final ItemMultiGetService itemMultiGetService;
+    private final ItemPriceWriteBehindService itemPriceWriteBehindService;
+    private final ItemSearchService itemSearchService;
+    private final ItemPriceQueryService itemPriceQueryService;
+    private final ItemCatalogSnapshot itemCatalogSnapshot;
+    private final ItemPageProperties itemPageProperties;
 
     static Mono<ServerResponse> notFound = ServerResponse.notFound().build();
 
+    /**
+     * Same paging contract as {@code ItemController#getAllItems}
+     */
     public Mono<ServerResponse> getAllItems(ServerRequest serverRequest) {
+
+        ItemQuery itemQuery = itemQuery(serverRequest);
+        itemQuery.setLimit(itemPageProperties.resolveLimit(itemQuery.getLimit()));
+
+        return itemReactiveRepository
+                .findItems(itemQuery)
+                .name("items.page")
+                .metrics()
+                .collectList()
+                .flatMap(items -> ServerResponse
+                        .ok()
+                        .contentType(responseType(serverRequest))
+                        .headers(headers -> {
+                            String nextCursor = itemQuery.nextCursor(items);
+                            if (nextCursor != null) {
+                                headers.set(NEXT_CURSOR_HEADER, nextCursor);
+                            }
+                        })
+                        .body(fromObject(items)));
+    }
+
+    public Mono<ServerResponse> streamAllItems(ServerRequest serverRequest) {
+
+        ItemQuery itemQuery = itemQuery(serverRequest);
+        itemQuery.setLimit(null);
+
         return ServerResponse
                 .ok()
-                .contentType(MediaType.APPLICATION_JSON)
-                .body(itemReactiveRepository.findAll(), Item.class);
+                .contentType(streamType(serverRequest))
+                .body(itemReactiveRepository
+                        .findItems(itemQuery)
+                        .limitRate(itemPageProperties.getStreamPrefetch())
+                        .name("items.streamAll")
+                        .metrics(), Item.class);
+    }
+
+    /**
+     * Same contract as {@code ItemController#searchItems}
+     */
+    public Mono<ServerResponse> searchItems(ServerRequest serverRequest) {
+
+        ItemSearch itemSearch = new ItemSearch(
+                serverRequest.queryParam("q").orElse(null),
+                serverRequest.queryParam("mode").orElse(null),
+                intParam(serverRequest, "limit"));
+
+        return ServerResponse
+                .ok()
+                .contentType(responseType(serverRequest))
+                .body(itemSearchService.search(itemSearch), Item.class);
+    }
+
+    /**
+     * Same contract as {@code ItemController#getItemsByPriceRange}
+     */
+    public Mono<ServerResponse> getItemsByPriceRange(ServerRequest serverRequest) {
+
+        Flux<Item> items = itemPriceQueryService.range(
+                doubleParam(serverRequest, "min"),
+                doubleParam(serverRequest, "max"),
+                intParam(serverRequest, "limit"));
+
+        return ServerResponse
+                .ok()
+                .contentType(responseType(serverRequest))
+                .body(items, Item.class);
+    }
+
+    public Mono<ServerResponse> getCheapestItems(ServerRequest serverRequest) {
+
+        Flux<Item> items = itemPriceQueryService.cheapest(intParam(serverRequest, "limit"));
+
+        return ServerResponse
+                .ok()
+                .contentType(responseType(serverRequest))
+                .body(items, Item.class);
+    }
+
+    /**
+     * The whole catalog from {@link ItemCatalogSnapshot}, as JSON or Smile. The pre-serialized buffer is
+     * written as it is. A matching "If-None-Match" is answered with 304, like {@code ItemController#getItemsSnapshot}.
+     */
+    public Mono<ServerResponse> getItemsSnapshot(ServerRequest serverRequest) {
+        CatalogFormat format = CatalogFormat.forAccept(serverRequest.headers().accept());
+
+        return itemCatalogSnapshot.snapshot(format)
+                .flatMap(snapshot -> {
+                    if (serverRequest.exchange().checkNotModified(snapshot.getETag())) {
+                        return ServerResponse.status(HttpStatus.NOT_MODIFIED).eTag(snapshot.getETag()).build();
+                    }
+                    DataBuffer body = serverRequest.exchange().getResponse().bufferFactory().wrap(snapshot.getBuffer());
+                    return ServerResponse
+                            .ok()
+                            .contentType(format.getMediaType())
+                            .contentLength(snapshot.getSize())
+                            .eTag(snapshot.getETag())
+                            .header(HttpHeaders.VARY, HttpHeaders.ACCEPT)
+                            .body(BodyInserters.fromDataBuffers(Mono.just(body)));
+                });
     }
 
+    /**
+     * Same conditional GET as {@code ItemController#getOneItem}: the ETag is the Item's version,
+     * a matching "If-None-Match" gets a 304 without a body.
+     */
     public Mono<ServerResponse> getOneItem(ServerRequest serverRequest) {
 
         String id = serverRequest.pathVariable("id");
-        Mono<Item> itemMono = itemReactiveRepository.findById(id);
+        Mono<Item> itemMono = itemCacheService.findById(id);
+
+        return itemMono.flatMap(item -> {
+                    String etag = ItemETags.of(item);
+                    if (etag != null && serverRequest.exchange().checkNotModified(etag)) {
+                        return ServerResponse.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+                    }
+                    return okWithETag(item, responseType(serverRequest));
+                })
+                .switchIfEmpty(notFound);
+    }
+
+    /**
+     * Same contract as {@code ItemController#multiGetItems}
+     */
+    public Mono<ServerResponse> multiGetItems(ServerRequest serverRequest) {
 
-        return itemMono.flatMap(item -> ServerResponse
+        return serverRequest.bodyToMono(MultiGetRequest.class)
+                .flatMap(itemMultiGetService::get)
+                .flatMap(multiGetResponse -> ServerResponse
                         .ok()
-                        .contentType(MediaType.APPLICATION_JSON)
-                        .body(fromObject(item)))
-                        .switchIfEmpty(notFound);
+                        .contentType(responseType(serverRequest))
+                        .body(fromObject(multiGetResponse)));
     }
 
+    /**
+     * Same contract as {@code ItemController#createItem}, 409 when the id is already taken
+     */
     public Mono<ServerResponse> createItem(ServerRequest serverRequest) {
 
-        Mono<Item> itemToBeInserted = serverRequest.bodyToMono(Item.class);
-        return itemToBeInserted.flatMap(item ->
+        Mono<Item> insertedItem = serverRequest.bodyToMono(Item.class)
+                .doOnNext(item -> item.setVersion(null))
+                .flatMap(itemCacheService::save)
+                .onErrorMap(DuplicateKeyException.class, ItemsHandler::conflict);
+        return insertedItem.flatMap(item ->
                     ServerResponse
                         .created(null)
-                        .contentType(MediaType.APPLICATION_JSON)
-                        .body(itemReactiveRepository.save(item), Item.class));
+                        .contentType(responseType(serverRequest))
+                        .body(fromObject(item)));
+    }
+
+    public Mono<ServerResponse> bulkInsertItems(ServerRequest serverRequest) {
+
+        Flux<BulkInsertResult> results = itemBulkService.insert(serverRequest.bodyToFlux(Item.class));
+        return ServerResponse
+                .ok()
+                .contentType(MediaType.APPLICATION_STREAM_JSON)
+                .body(results, BulkInsertResult.class);
     }
 
     public Mono<ServerResponse> deleteItem(ServerRequest serverRequest) {
 
         String id = serverRequest.pathVariable("id");
-        Mono<Void> deleteItem = itemReactiveRepository.deleteById(id);
+        Mono<Void> deleteItem = itemCacheService.deleteById(id);
 
         return ServerResponse
                 .ok()
@@ -62,26 +234,48 @@ public class ItemsHandler {
                 .body(deleteItem, Void.class);
     }
 
+    /**
+     * Same contract as {@code ItemController#updateItem}, including "If-Match" (412 on a mismatch)
+     */
     public Mono<ServerResponse> updateItem(ServerRequest serverRequest) {
 
         String id = serverRequest.pathVariable("id");
         Mono<Item> updatedItem = serverRequest.bodyToMono(Item.class)
-                .flatMap(item -> {
-
-                    Mono<Item> itemMono = itemReactiveRepository.findById(id)
-                        .flatMap(currentItem -> {
-                            currentItem.setDescription(item.getDescription());
-                            currentItem.setPrice(item.getPrice());
-                            return itemReactiveRepository.save(currentItem);
-                        });
-                    return itemMono;
-                });
+                .flatMap(item -> itemCacheService.update(id, item, expectedVersion(serverRequest)));
+
+        return updatedItem.flatMap(item -> okWithETag(item, responseType(serverRequest)))
+                    .onErrorMap(OptimisticLockingFailureException.class, ItemsHandler::preconditionFailed)
+                    .switchIfEmpty(notFound);
+    }
+
+    /**
+     * Partial update, only the fields present in the request body are changed.
+     */
+    public Mono<ServerResponse> patchItem(ServerRequest serverRequest) {
+
+        String id = serverRequest.pathVariable("id");
+        Mono<Item> patchedItem = serverRequest.bodyToMono(Item.class)
+                .flatMap(changes -> itemCacheService.patch(id, changes, expectedVersion(serverRequest)));
 
-        return updatedItem.flatMap(item -> ServerResponse
-                    .ok()
-                    .contentType(MediaType.APPLICATION_JSON)
-                    .body(fromObject(item))
-                    .switchIfEmpty(notFound));
+        return patchedItem.flatMap(item -> okWithETag(item, responseType(serverRequest)))
+                    .onErrorMap(OptimisticLockingFailureException.class, ItemsHandler::preconditionFailed)
+                    .switchIfEmpty(notFound);
+    }
+
+    /**
+     * Same contract as {@code ItemController#updateItemPrice}: 202 when queued, 429 while the queue is full
+     */
+    public Mono<ServerResponse> updateItemPrice(ServerRequest serverRequest) {
+
+        String id = serverRequest.pathVariable("id");
+        return serverRequest.bodyToMono(PriceUpdate.class)
+                .filter(priceUpdate -> priceUpdate.getPrice() != null)
+                .switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.BAD_REQUEST, "price is required")))
+                .flatMap(priceUpdate -> itemPriceWriteBehindService.offer(id, priceUpdate.getPrice())
+                        ? ServerResponse.accepted().build()
+                        : ServerResponse.status(HttpStatus.TOO_MANY_REQUESTS)
+                                .headers(RetryAfter.of(itemPriceWriteBehindService.retryAfter()))
+                                .build());
     }
 
     /**
@@ -97,10 +291,86 @@ public class ItemsHandler {
         throw new RuntimeException("Runtime Error Occurred");
     }
 
+    private static Mono<ServerResponse> okWithETag(Item item, MediaType mediaType) {
+        String etag = ItemETags.of(item);
+        ServerResponse.BodyBuilder ok = ServerResponse.ok().contentType(mediaType);
+        if (etag != null) {
+            ok.eTag(etag);
+        }
+        return ok.body(fromObject(item));
+    }
+
+    private static MediaType responseType(ServerRequest serverRequest) {
+        return ItemMediaTypes.responseType(serverRequest.headers().accept());
+    }
+
+    private static MediaType streamType(ServerRequest serverRequest) {
+        return ItemMediaTypes.streamType(serverRequest.headers().accept());
+    }
+
+    private static Long expectedVersion(ServerRequest serverRequest) {
+        return ItemETags.expectedVersion(serverRequest.headers().asHttpHeaders().getFirst(HttpHeaders.IF_MATCH));
+    }
+
+    private static Throwable preconditionFailed(Throwable ex) {
+        return new ResponseStatusException(HttpStatus.PRECONDITION_FAILED, ex.getMessage());
+    }
+
+    private static Throwable conflict(Throwable ex) {
+        return new ResponseStatusException(HttpStatus.CONFLICT, "Item already exists");
+    }
+
+    private static ItemQuery itemQuery(ServerRequest serverRequest) {
+        return new ItemQuery(
+                serverRequest.queryParam("after").orElse(null),
+                doubleParam(serverRequest, "minPrice"),
+                doubleParam(serverRequest, "maxPrice"),
+                serverRequest.queryParam("descriptionPrefix").orElse(null),
+                intParam(serverRequest, "limit"));
+    }
+
+    /**
+     * A query parameter which is not a number is a bad request, as for the @RequestParam of the controller
+     */
+    private static Integer intParam(ServerRequest serverRequest, String name) {
+        try {
+            return serverRequest.queryParam(name).map(Integer::valueOf).orElse(null);
+        } catch (NumberFormatException ex) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, name + " must be an integer", ex);
+        }
+    }
+
+    private static Double doubleParam(ServerRequest serverRequest, String name) {
+        try {
+            return serverRequest.queryParam(name).map(Double::valueOf).orElse(null);
+        } catch (NumberFormatException ex) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, name + " must be a number", ex);
+        }
+    }
+
     public Mono<ServerResponse> itemsStream(ServerRequest serverRequest) {
         return ServerResponse
                 .ok()
                 .contentType(MediaType.APPLICATION_STREAM_JSON)
-                .body(itemReactiveCappedRepository.findItemsBy(), ItemCapped.class);
+                .body(itemStreamHub.stream(), ItemCapped.class);
+    }
+
+    public Mono<ServerResponse> itemChangesAsEvents(ServerRequest serverRequest) {
+        return ServerResponse
+                .ok()
+                .contentType(MediaType.TEXT_EVENT_STREAM)
+                .body(fromServerSentEvents(itemChangeStreamService.serverSentEvents(resumeToken(serverRequest))));
+    }
+
+    public Mono<ServerResponse> itemChanges(ServerRequest serverRequest) {
+        return ServerResponse
+                .ok()
+                .contentType(MediaType.APPLICATION_STREAM_JSON)
+                .body(itemChangeStreamService.changes(resumeToken(serverRequest)), ItemChangeEvent.class);
+    }
+
+    private static String resumeToken(ServerRequest serverRequest) {
+        return serverRequest.queryParam("resumeAfter")
+                .orElseGet(() -> serverRequest.headers().asHttpHeaders().getFirst(LAST_EVENT_ID_HEADER));
     }
 }
@@ -1,5 +1,8 @@
 package com.techstack.react.learn.handler;
 
+import com.techstack.react.learn.ConditionalOnDemoEnabled;
+import com.techstack.trace.SignalTracer;
+import lombok.RequiredArgsConstructor;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.server.ServerRequest;
@@ -7,16 +10,20 @@ import org.springframework.web.reactive.function.server.ServerResponse;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+@ConditionalOnDemoEnabled
 @Component
+@RequiredArgsConstructor
 public class SampleHandlerFunction {
 
+    private final SignalTracer signalTracer;
+
     public Mono<ServerResponse> flux(ServerRequest serverRequest) {
 
         return ServerResponse
                 .ok()
                 .contentType(MediaType.APPLICATION_JSON)
                 .body(
-                        Flux.just(1, 2, 3, 4).log(), Integer.class
+                        signalTracer.trace("functional.flux", Flux.just(1, 2, 3, 4)), Integer.class
                 );
     }
 
@@ -26,7 +33,7 @@ public class SampleHandlerFunction {
                 .ok()
                 .contentType(MediaType.APPLICATION_JSON)
                 .body(
-                        Mono.just(1).log(), Integer.class
+                        signalTracer.trace("functional.mono", Mono.just(1)), Integer.class
                 );
     }
 }
@@ -1,5 +1,6 @@
 package com.techstack.react.learn.router;
 
+import com.techstack.react.app.metrics.RouteMetrics;
 import com.techstack.react.learn.handler.ItemsHandler;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -8,35 +9,69 @@ import org.springframework.web.reactive.function.server.RouterFunction;
 import org.springframework.web.reactive.function.server.RouterFunctions;
 import org.springframework.web.reactive.function.server.ServerResponse;
 
+import static com.techstack.react.app.consts.ItemConstants.APPLICATION_NDJSON_VALUE;
 import static com.techstack.react.app.consts.ItemConstants.ITEM_FUNCTIONAL_END_POINT_V1;
 import static com.techstack.react.app.consts.ItemConstants.ITEM_FUNCTIONAL_STREAM_END_POINT_V1;
+import static com.techstack.react.app.http.ItemMediaTypes.APPLICATION_SMILE;
+import static com.techstack.react.app.http.ItemMediaTypes.APPLICATION_STREAM_SMILE;
 import static org.springframework.web.reactive.function.server.RequestPredicates.DELETE;
 import static org.springframework.web.reactive.function.server.RequestPredicates.GET;
+import static org.springframework.web.reactive.function.server.RequestPredicates.PATCH;
 import static org.springframework.web.reactive.function.server.RequestPredicates.POST;
 import static org.springframework.web.reactive.function.server.RequestPredicates.PUT;
 import static org.springframework.web.reactive.function.server.RequestPredicates.accept;
+import static org.springframework.web.reactive.function.server.RequestPredicates.contentType;
 
 @Configuration
 public class ItemsRouter {
 
     @Bean
-    public RouterFunction<ServerResponse> itemsRoute(ItemsHandler itemsHandler) {
+    public RouterFunction<ServerResponse> itemsRoute(ItemsHandler itemsHandler, RouteMetrics routeMetrics) {
 
         return RouterFunctions
-                .route(GET(ITEM_FUNCTIONAL_END_POINT_V1).and(accept(MediaType.APPLICATION_JSON)),
-                        itemsHandler::getAllItems)
+                .route(GET(ITEM_FUNCTIONAL_END_POINT_V1).and(accept(MediaType.APPLICATION_JSON, APPLICATION_SMILE)),
+                        routeMetrics.timed("items.getAll", itemsHandler::getAllItems))
 
-                .andRoute(GET(ITEM_FUNCTIONAL_END_POINT_V1.concat("/{id}")).and(accept(MediaType.APPLICATION_JSON)),
-                        itemsHandler::getOneItem)
+                .andRoute(GET(ITEM_FUNCTIONAL_END_POINT_V1).and(accept(MediaType.APPLICATION_STREAM_JSON, APPLICATION_STREAM_SMILE)),
+                        routeMetrics.timed("items.streamAll", itemsHandler::streamAllItems))
 
-                .andRoute(POST(ITEM_FUNCTIONAL_END_POINT_V1).and(accept(MediaType.APPLICATION_JSON)),
-                        itemsHandler::createItem)
+                // before "/{id}", which would take "search", "price-range", "cheapest" and "snapshot" as id
+                .andRoute(GET(ITEM_FUNCTIONAL_END_POINT_V1.concat("/search")).and(accept(MediaType.APPLICATION_JSON, APPLICATION_SMILE)),
+                        routeMetrics.timed("items.search", itemsHandler::searchItems))
+
+                .andRoute(GET(ITEM_FUNCTIONAL_END_POINT_V1.concat("/price-range")).and(accept(MediaType.APPLICATION_JSON, APPLICATION_SMILE)),
+                        routeMetrics.timed("items.priceRange", itemsHandler::getItemsByPriceRange))
+
+                .andRoute(GET(ITEM_FUNCTIONAL_END_POINT_V1.concat("/cheapest")).and(accept(MediaType.APPLICATION_JSON, APPLICATION_SMILE)),
+                        routeMetrics.timed("items.cheapest", itemsHandler::getCheapestItems))
+
+                .andRoute(GET(ITEM_FUNCTIONAL_END_POINT_V1.concat("/snapshot")).and(accept(MediaType.APPLICATION_JSON, APPLICATION_SMILE)),
+                        routeMetrics.timed("items.snapshot", itemsHandler::getItemsSnapshot))
+
+                .andRoute(GET(ITEM_FUNCTIONAL_END_POINT_V1.concat("/{id}")).and(accept(MediaType.APPLICATION_JSON, APPLICATION_SMILE)),
+                        routeMetrics.timed("items.getOne", itemsHandler::getOneItem))
+
+                .andRoute(POST(ITEM_FUNCTIONAL_END_POINT_V1.concat("/_mget")).and(accept(MediaType.APPLICATION_JSON, APPLICATION_SMILE)),
+                        routeMetrics.timed("items.multiGet", itemsHandler::multiGetItems))
+
+                .andRoute(POST(ITEM_FUNCTIONAL_END_POINT_V1).and(accept(MediaType.APPLICATION_JSON, APPLICATION_SMILE)),
+                        routeMetrics.timed("items.create", itemsHandler::createItem))
+
+                .andRoute(POST(ITEM_FUNCTIONAL_END_POINT_V1.concat("/bulk"))
+                                .and(contentType(MediaType.APPLICATION_STREAM_JSON, MediaType.parseMediaType(APPLICATION_NDJSON_VALUE))),
+                        routeMetrics.timed("items.bulkInsert", itemsHandler::bulkInsertItems))
 
                 .andRoute(DELETE(ITEM_FUNCTIONAL_END_POINT_V1.concat("/{id}")).and(accept(MediaType.APPLICATION_JSON)),
-                        itemsHandler::deleteItem)
+                        routeMetrics.timed("items.delete", itemsHandler::deleteItem))
+
+                .andRoute(PUT(ITEM_FUNCTIONAL_END_POINT_V1.concat("/{id}")).and(accept(MediaType.APPLICATION_JSON, APPLICATION_SMILE)),
+                        routeMetrics.timed("items.update", itemsHandler::updateItem))
+
+                .andRoute(PUT(ITEM_FUNCTIONAL_END_POINT_V1.concat("/{id}/price")),
+                        routeMetrics.timed("items.updatePrice", itemsHandler::updateItemPrice))
 
-                .andRoute(PUT(ITEM_FUNCTIONAL_END_POINT_V1.concat("/{id}")).and(accept(MediaType.APPLICATION_JSON)),
-                        itemsHandler::updateItem)
+                .andRoute(PATCH(ITEM_FUNCTIONAL_END_POINT_V1.concat("/{id}")).and(accept(MediaType.APPLICATION_JSON, APPLICATION_SMILE)),
+                        routeMetrics.timed("items.patch", itemsHandler::patchItem))
 
         ;
 
@@ -50,9 +85,15 @@ public class ItemsRouter {
     }
 
     @Bean
-    public RouterFunction<ServerResponse> itemStreamRouter(ItemsHandler itemsHandler) {
+    public RouterFunction<ServerResponse> itemStreamRouter(ItemsHandler itemsHandler, RouteMetrics routeMetrics) {
         return RouterFunctions
                 .route(GET(ITEM_FUNCTIONAL_STREAM_END_POINT_V1).and(accept(MediaType.APPLICATION_JSON)),
-                        itemsHandler::itemsStream);
+                        routeMetrics.timed("items.stream", itemsHandler::itemsStream))
+
+                .andRoute(GET(ITEM_FUNCTIONAL_STREAM_END_POINT_V1.concat("/changes")).and(accept(MediaType.TEXT_EVENT_STREAM)),
+                        routeMetrics.timed("items.changes.sse", itemsHandler::itemChangesAsEvents))
+
+                .andRoute(GET(ITEM_FUNCTIONAL_STREAM_END_POINT_V1.concat("/changes")).and(accept(MediaType.APPLICATION_STREAM_JSON)),
+                        routeMetrics.timed("items.changes", itemsHandler::itemChanges));
     }
 }
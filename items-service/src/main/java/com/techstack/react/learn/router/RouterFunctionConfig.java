@@ -1,5 +1,6 @@
 package com.techstack.react.learn.router;
 
+import com.techstack.react.learn.ConditionalOnDemoEnabled;
 import com.techstack.react.learn.handler.SampleHandlerFunction;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -11,6 +12,7 @@ import org.springframework.web.reactive.function.server.ServerResponse;
 import static org.springframework.web.reactive.function.server.RequestPredicates.GET;
 import static org.springframework.web.reactive.function.server.RequestPredicates.accept;
 
+@ConditionalOnDemoEnabled
 @Configuration
 public class RouterFunctionConfig {
 
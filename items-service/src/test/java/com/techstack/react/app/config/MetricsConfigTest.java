@@ -0,0 +1,26 @@
+package com.techstack.react.app.config;
+
+import com.mongodb.MongoClientSettings;
+import io.micrometer.core.instrument.binder.mongodb.MongoMetricsCommandListener;
+import io.micrometer.core.instrument.binder.mongodb.MongoMetricsConnectionPoolListener;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MetricsConfigTest {
+
+    @Test
+    @DisplayName("The MongoDB client settings get the command and the connection pool listener")
+    void mongoListeners() {
+        MongoClientSettings.Builder builder = MongoClientSettings.builder();
+        new MetricsConfig().mongoMetricsCustomizer(new SimpleMeterRegistry()).customize(builder);
+        MongoClientSettings settings = builder.build();
+
+        assertTrue(settings.getCommandListeners().stream()
+                .anyMatch(MongoMetricsCommandListener.class::isInstance));
+        assertTrue(settings.getConnectionPoolSettings().getConnectionPoolListeners().stream()
+                .anyMatch(MongoMetricsConnectionPoolListener.class::isInstance));
+    }
+}
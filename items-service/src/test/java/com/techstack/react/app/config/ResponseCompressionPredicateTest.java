@@ -0,0 +1,96 @@
+package com.techstack.react.app.config;
+
+import io.netty.handler.codec.http.HttpHeaderNames;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.ByteBufFlux;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.http.server.HttpServerResponse;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ResponseCompressionPredicateTest {
+
+    static final String FRAME = "{\"id\":\"ABC\",\"description\":\"Samsung TV\",\"price\":400.0}\n";
+
+    DisposableServer server;
+
+    @BeforeEach
+    void setup() {
+        ResponseCompressionPredicate predicate =
+                new ResponseCompressionPredicate(new ResponseCompressionProperties().getMimeTypes());
+
+        server = HttpServer.create()
+                .port(0)
+                .compress(predicate)
+                .route(routes -> routes
+                        .get("/small", (request, response) -> send(response, "application/json", 64))
+                        .get("/large", (request, response) -> send(response, "application/json", 4096))
+                        .get("/image", (request, response) -> send(response, "image/png", 4096))
+                        .get("/stream", (request, response) -> response
+                                .header(HttpHeaderNames.CONTENT_TYPE, "application/stream+json")
+                                // one frame, flushed, and a stream which never ends
+                                .sendGroups(Flux.concat(Mono.just(ByteBufFlux.fromString(Mono.just(FRAME))), Mono.never()))))
+                .bindNow();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.disposeNow();
+    }
+
+    private static Publisher<Void> send(HttpServerResponse response, String contentType, int size) {
+        byte[] body = "x".repeat(size).getBytes();
+        return response
+                .header(HttpHeaderNames.CONTENT_TYPE, contentType)
+                .header(HttpHeaderNames.CONTENT_LENGTH, String.valueOf(body.length))
+                .sendByteArray(Mono.just(body));
+    }
+
+    private String contentEncoding(String path) {
+        return HttpClient.create()
+                .headers(headers -> headers.set(HttpHeaderNames.ACCEPT_ENCODING, "gzip"))
+                .get()
+                .uri("http://localhost:" + server.port() + path)
+                .response()
+                .map(response -> response.responseHeaders().get(HttpHeaderNames.CONTENT_ENCODING, "identity"))
+                .block(Duration.ofSeconds(5));
+    }
+
+    @Test
+    @DisplayName("Responses below the threshold of their media type are not compressed")
+    void belowThreshold() {
+        assertEquals("identity", contentEncoding("/small"));
+        assertEquals("gzip", contentEncoding("/large"));
+    }
+
+    @Test
+    @DisplayName("Media types without a threshold are never compressed")
+    void unlistedMediaType() {
+        assertEquals("identity", contentEncoding("/image"));
+    }
+
+    @Test
+    @DisplayName("A stream is compressed and its frames arrive before it ends")
+    void streamIsCompressedFrameByFrame() {
+        assertEquals("gzip", contentEncoding("/stream"));
+
+        String firstFrame = HttpClient.create()
+                .compress(true)
+                .get()
+                .uri("http://localhost:" + server.port() + "/stream")
+                .responseContent()
+                .asString()
+                .blockFirst(Duration.ofSeconds(5));
+        assertEquals(FRAME, firstFrame);
+    }
+}
@@ -0,0 +1,46 @@
+package com.techstack.react.app.initialize;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.event.ApplicationEnvironmentPreparedEvent;
+import org.springframework.boot.context.event.ApplicationPreparedEvent;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.event.ApplicationStartingEvent;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.support.GenericApplicationContext;
+import org.springframework.core.env.StandardEnvironment;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+class StartupTimingListenerTest {
+
+    SpringApplication application = new SpringApplication();
+    String[] args = new String[0];
+
+    @Test
+    @DisplayName("Every startup phase is measured once and published as gauge")
+    void phases() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        GenericApplicationContext context = new GenericApplicationContext();
+        context.registerBean(MeterRegistry.class, () -> meterRegistry);
+        context.refresh();
+        StartupTimingListener listener = new StartupTimingListener();
+
+        listener.onApplicationEvent(new ApplicationStartingEvent(application, args));
+        listener.onApplicationEvent(new ApplicationEnvironmentPreparedEvent(application, args, new StandardEnvironment()));
+        listener.onApplicationEvent(new ApplicationPreparedEvent(application, args, context));
+        listener.onApplicationEvent(new ContextRefreshedEvent(context));
+        listener.onApplicationEvent(new ContextRefreshedEvent(context));
+        listener.onApplicationEvent(new ApplicationReadyEvent(application, args, context));
+
+        assertEquals(List.of("jvm", "environment", "context", "refresh", "runners"),
+                List.copyOf(listener.phases().keySet()));
+        assertNotNull(meterRegistry.find("items.startup.phase").tag("phase", "refresh").timeGauge());
+    }
+}
@@ -0,0 +1,87 @@
+package com.techstack.react.app.metrics;
+
+import com.techstack.react.app.config.ItemPageProperties;
+import com.techstack.react.app.document.Item;
+import com.techstack.react.app.repository.ItemReactiveRepository;
+import com.techstack.react.app.service.ItemBulkService;
+import com.techstack.react.app.service.ItemCacheService;
+import com.techstack.react.app.service.ItemMultiGetService;
+import com.techstack.react.app.service.ItemPriceQueryService;
+import com.techstack.react.app.service.ItemPriceWriteBehindService;
+import com.techstack.react.app.service.ItemSearchService;
+import com.techstack.react.app.snapshot.ItemCatalogSnapshot;
+import com.techstack.react.app.stream.ItemChangeStreamService;
+import com.techstack.react.app.stream.ItemStreamHub;
+import com.techstack.react.learn.handler.ItemsHandler;
+import com.techstack.react.learn.router.ItemsRouter;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+
+import static com.techstack.react.app.consts.ItemConstants.ITEM_FUNCTIONAL_END_POINT_V1;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * The routes of {@link ItemsRouter} without a Spring context, so no MongoDB is needed
+ */
+class RouteMetricsTest {
+
+    SimpleMeterRegistry meterRegistry;
+    WebTestClient webTestClient;
+
+    @BeforeEach
+    void setup() {
+        ItemPriceQueryService itemPriceQueryService = mock(ItemPriceQueryService.class);
+        when(itemPriceQueryService.cheapest(2)).thenReturn(Flux.just(new Item("1", "Apple Ipad", 350.0, 0L)));
+
+        meterRegistry = new SimpleMeterRegistry();
+        ItemsHandler itemsHandler = new ItemsHandler(mock(ItemReactiveRepository.class), mock(ItemStreamHub.class),
+                mock(ItemChangeStreamService.class), mock(ItemBulkService.class), mock(ItemCacheService.class),
+                mock(ItemMultiGetService.class), mock(ItemPriceWriteBehindService.class), mock(ItemSearchService.class),
+                itemPriceQueryService, mock(ItemCatalogSnapshot.class), new ItemPageProperties());
+        webTestClient = WebTestClient
+                .bindToRouterFunction(new ItemsRouter().itemsRoute(itemsHandler, new RouteMetrics(meterRegistry)))
+                .build();
+    }
+
+    @Test
+    @DisplayName("A routed request records items.route tagged by route name and status")
+    void timedRoute() {
+        webTestClient
+                .get()
+                .uri(ITEM_FUNCTIONAL_END_POINT_V1.concat("/cheapest?limit=2"))
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk();
+
+        Timer timer = meterRegistry.find("items.route")
+                .tags("route", "items.cheapest", "status", "200")
+                .timer();
+        assertEquals(1, timer.count());
+        assertNull(meterRegistry.find("items.route").tag("route", "items.getAll").timer());
+    }
+
+    @Test
+    @DisplayName("A handler which fails records the status ERROR")
+    void failedRoute() {
+        webTestClient
+                .get()
+                .uri(ITEM_FUNCTIONAL_END_POINT_V1.concat("/cheapest?limit=two"))
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isBadRequest();
+
+        Timer timer = meterRegistry.find("items.route")
+                .tags("route", "items.cheapest", "status", "ERROR")
+                .timer();
+        assertEquals(1, timer.count());
+    }
+}
@@ -0,0 +1,80 @@
+package com.techstack.react.app.price;
+
+import com.techstack.react.app.config.ItemPriceIndexProperties;
+import com.techstack.react.app.document.Item;
+import com.techstack.react.app.dto.ItemChangeEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The warm up is done by ItemCatalogTail, these tests feed the index directly
+ */
+class ItemPriceIndexTest {
+
+    ItemPriceIndex itemPriceIndex;
+
+    @BeforeEach
+    void setup() {
+        itemPriceIndex = new ItemPriceIndex(new ItemPriceIndexProperties(), new SimpleMeterRegistry());
+
+        itemPriceIndex.load(new Item("1", "Apple Ipad", 350.0, 0L));
+        itemPriceIndex.load(new Item("2", "Samsung Tab", 450.0, 0L));
+        itemPriceIndex.load(new Item("3", "LG TV", 850.0, 0L));
+        itemPriceIndex.load(new Item("4", "Apple MacBook Pro 16", 2400.0, 0L));
+        itemPriceIndex.load(new Item("5", "Samsung TV", 850.0, 0L));
+        itemPriceIndex.load(new Item("6", "No price yet", null, 0L));
+    }
+
+    @Test
+    @DisplayName("A range is returned cheapest first, equal prices by id, up to the limit")
+    void range() {
+        assertEquals(List.of("2", "3", "5"), ids(itemPriceIndex.range(400.0, 850.0, 10)));
+        assertEquals(List.of("1", "2"), ids(itemPriceIndex.range(Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY, 2)));
+        assertEquals(List.of(), ids(itemPriceIndex.range(900.0, 1000.0, 10)));
+        assertEquals(5, itemPriceIndex.size());
+        assertFalse(itemPriceIndex.isReady());
+    }
+
+    @Test
+    @DisplayName("Equal prices follow the MongoDB \"_id\" order, String ids before ObjectIds")
+    void range_MixedIdTypes() {
+        itemPriceIndex.load(new Item("5ece6e9834cd6d162e32d147", "Beats Headphones", 850.0, 0L));
+        itemPriceIndex.load(new Item("zz-tv", "Sony TV", 850.0, 0L));
+
+        assertEquals(List.of("3", "5", "zz-tv", "5ece6e9834cd6d162e32d147"), ids(itemPriceIndex.range(850.0, 850.0, 10)));
+    }
+
+    @Test
+    @DisplayName("An update moves the Item to its new price, an older version is ignored")
+    void apply_Update() {
+        itemPriceIndex.apply(new ItemChangeEvent("t1", "update", "4", new Item("4", "Apple MacBook Pro 16", 300.0, 1L)));
+        itemPriceIndex.load(new Item("4", "Apple MacBook Pro 16", 2400.0, 0L));
+
+        assertEquals(List.of("4", "1"), ids(itemPriceIndex.range(0.0, 400.0, 10)));
+        assertEquals(List.of(), ids(itemPriceIndex.range(2000.0, 3000.0, 10)));
+    }
+
+    @Test
+    @DisplayName("The index is ready after the warm up and dropped when the change stream fails")
+    void warmedUp_OutOfSync() {
+        itemPriceIndex.warmedUp();
+        assertTrue(itemPriceIndex.isReady());
+
+        itemPriceIndex.outOfSync();
+        assertFalse(itemPriceIndex.isReady());
+        assertEquals(0, itemPriceIndex.size());
+    }
+
+    private static List<String> ids(List<Item> items) {
+        return items.stream().map(Item::getId).collect(Collectors.toList());
+    }
+}
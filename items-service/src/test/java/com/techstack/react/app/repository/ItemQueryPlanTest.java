@@ -0,0 +1,186 @@
+package com.techstack.react.app.repository;
+
+import com.mongodb.event.CommandFailedEvent;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+import com.techstack.react.app.document.Item;
+import com.techstack.react.app.dto.ItemQuery;
+import com.techstack.react.app.index.ItemIndexManager;
+import org.bson.BsonDocument;
+import org.bson.BsonString;
+import org.bson.Document;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Every query sent to the items collection during a test is recorded (command listener on the driver)
+ * and explained afterwards. A test fails when the winning plan of one of them is a COLLSCAN,
+ * i.e. the query reads the whole collection because no index fits.
+ */
+@SpringBootTest
+@AutoConfigureWebTestClient
+@ActiveProfiles("test")
+class ItemQueryPlanTest {
+
+    private static final Set<String> QUERY_COMMANDS = Set.of("find", "aggregate", "count", "findAndModify");
+    private static final Set<String> SESSION_FIELDS = Set.of("$db", "lsid", "$clusterTime", "$readPreference", "txnNumber");
+
+    static final List<BsonDocument> queries = new CopyOnWriteArrayList<>();
+
+    @TestConfiguration
+    static class QueryRecorderConfig {
+
+        @Bean
+        MongoClientSettingsBuilderCustomizer queryRecorder() {
+            return builder -> builder.addCommandListener(new CommandListener() {
+                @Override
+                public void commandStarted(CommandStartedEvent event) {
+                    BsonDocument command = event.getCommand();
+                    if (QUERY_COMMANDS.contains(event.getCommandName())
+                            && new BsonString("items").equals(command.get(event.getCommandName()))) {
+                        queries.add(command.clone());
+                    }
+                }
+
+                @Override
+                public void commandSucceeded(CommandSucceededEvent event) {
+                }
+
+                @Override
+                public void commandFailed(CommandFailedEvent event) {
+                }
+            });
+        }
+    }
+
+    @Autowired
+    ItemReactiveRepository itemReactiveRepository;
+
+    @Autowired
+    ItemIndexManager itemIndexManager;
+
+    @Autowired
+    ReactiveMongoTemplate reactiveMongoTemplate;
+
+    @Autowired
+    WebTestClient webTestClient;
+
+    @BeforeEach
+    void setup() {
+        itemReactiveRepository.deleteAll()
+                .thenMany(itemIndexManager.ensureIndexes())
+                .thenMany(Flux.just(
+                        new Item(null, "Apple Ipad", 350.0),
+                        new Item(null, "Samsung Tab", 450.0),
+                        new Item("ABC123", "Apple MacBook Pro 16", 2400.0)))
+                .flatMap(itemReactiveRepository::save)
+                .blockLast();
+        queries.clear();
+    }
+
+    @AfterEach
+    void noCollectionScan() {
+        assertFalse(queries.isEmpty(), "no query to the items collection was recorded");
+        for (BsonDocument query : queries) {
+            Document plan = explain(query);
+            if (containsStage(plan.get("queryPlanner"), "COLLSCAN")) {
+                fail("COLLSCAN for " + query.toJson() + "\n" + plan.toJson());
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Exact description lookup uses the description index")
+    void findByDescription() {
+        itemReactiveRepository.findByDescription("Apple Ipad").block();
+    }
+
+    @Test
+    @DisplayName("Description prefix and price range filters use an index")
+    void findItems_Filtered() {
+        itemReactiveRepository.findItems(new ItemQuery(null, null, null, "Apple", 10)).blockLast();
+        itemReactiveRepository.findItems(new ItemQuery(null, 300.0, 500.0, null, 10)).blockLast();
+        itemReactiveRepository.findItems(new ItemQuery("ABC123", null, null, null, 10)).blockLast();
+    }
+
+    @Test
+    @DisplayName("Price range and cheapest-N fallback queries use the price_id index")
+    void findPriceRange() {
+        itemReactiveRepository.findPriceRange(300.0, 500.0, 10).blockLast();
+        itemReactiveRepository.findPriceRange(Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY, 10).blockLast();
+    }
+
+    @Test
+    @DisplayName("Lookups by id use the _id index")
+    void findById() {
+        itemReactiveRepository.findById("ABC123").block();
+        itemReactiveRepository.findAllById(List.of("ABC123", "DEF123")).blockLast();
+    }
+
+    @Test
+    @DisplayName("Prefix and text search use the description and text indexes")
+    void search() {
+        itemReactiveRepository.searchByDescriptionPrefix("Apple", 10).blockLast();
+        itemReactiveRepository.searchByText("ipad tab", 10).blockLast();
+    }
+
+    @Test
+    @DisplayName("/actuator/indexes reports the usage of the description index")
+    void indexStats() {
+        itemReactiveRepository.findByDescription("Apple Ipad").block();
+
+        webTestClient.get().uri("/actuator/indexes")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$[?(@.name == 'description')].ops").value(ops ->
+                        assertFalse(((List<?>) ops).isEmpty()));
+    }
+
+    private Document explain(BsonDocument query) {
+        BsonDocument command = query.clone();
+        SESSION_FIELDS.forEach(command::remove);
+
+        return reactiveMongoTemplate.executeCommand(
+                new BsonDocument("explain", command).append("verbosity", new BsonString("queryPlanner")).toJson())
+                .block();
+    }
+
+    /**
+     * The plan is a tree of stages (inputStage, inputStages, queryPlan, ...), so every nested document is searched
+     */
+    private static boolean containsStage(Object node, String stage) {
+        if (node instanceof Map) {
+            Map<?, ?> map = (Map<?, ?>) node;
+            if (stage.equals(map.get("stage"))) {
+                return true;
+            }
+            return map.values().stream().anyMatch(value -> containsStage(value, stage));
+        }
+        if (node instanceof List) {
+            return ((List<?>) node).stream().anyMatch(value -> containsStage(value, stage));
+        }
+        return false;
+    }
+}
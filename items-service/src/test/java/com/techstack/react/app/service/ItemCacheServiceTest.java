@@ -0,0 +1,96 @@
+package com.techstack.react.app.service;
+
+import com.techstack.react.app.config.ItemCacheProperties;
+import com.techstack.react.app.document.Item;
+import com.techstack.react.app.repository.ItemReactiveRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ItemCacheServiceTest {
+
+    ItemReactiveRepository itemReactiveRepository = mock(ItemReactiveRepository.class);
+    SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    ItemCacheService itemCacheService;
+
+    Item item = new Item("ABC123", "Apple MacBook Pro 16", 2400.0);
+
+    @BeforeEach
+    void setup() {
+        itemCacheService = new ItemCacheService(itemReactiveRepository, new ItemCacheProperties(), meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Concurrent misses for the same Id share one repository call")
+    void findById_Coalesced() {
+        when(itemReactiveRepository.findById("ABC123"))
+                .thenReturn(Mono.just(item).delayElement(Duration.ofMillis(100)));
+
+        StepVerifier
+                .create(Flux.merge(itemCacheService.findById("ABC123"), itemCacheService.findById("ABC123")))
+                .expectNext(item, item)
+                .verifyComplete();
+
+        verify(itemReactiveRepository, times(1)).findById("ABC123");
+    }
+
+    @Test
+    @DisplayName("Second lookup is served from the cache and counted as a hit")
+    void findById_Hit() {
+        when(itemReactiveRepository.findById("ABC123")).thenReturn(Mono.just(item));
+
+        StepVerifier.create(itemCacheService.findById("ABC123")).expectNext(item).verifyComplete();
+        StepVerifier.create(itemCacheService.findById("ABC123")).expectNext(item).verifyComplete();
+
+        verify(itemReactiveRepository, times(1)).findById("ABC123");
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("result", "hit").functionCounter().count());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("result", "miss").functionCounter().count());
+    }
+
+    @Test
+    @DisplayName("Unknown Ids are not cached")
+    void findById_NotFound() {
+        when(itemReactiveRepository.findById("DEF123")).thenReturn(Mono.empty());
+
+        StepVerifier.create(itemCacheService.findById("DEF123")).verifyComplete();
+        StepVerifier.create(itemCacheService.findById("DEF123")).verifyComplete();
+
+        verify(itemReactiveRepository, times(2)).findById("DEF123");
+    }
+
+    @Test
+    @DisplayName("Save refreshes the cached Item")
+    void save_RefreshesCache() {
+        when(itemReactiveRepository.save(item)).thenReturn(Mono.just(item));
+
+        StepVerifier.create(itemCacheService.save(item)).expectNext(item).verifyComplete();
+        StepVerifier.create(itemCacheService.findById("ABC123")).expectNext(item).verifyComplete();
+
+        verify(itemReactiveRepository, times(0)).findById("ABC123");
+    }
+
+    @Test
+    @DisplayName("Delete evicts the cached Item")
+    void deleteById_EvictsCache() {
+        when(itemReactiveRepository.findById("ABC123")).thenReturn(Mono.just(item), Mono.empty());
+        when(itemReactiveRepository.deleteById("ABC123")).thenReturn(Mono.empty());
+
+        StepVerifier.create(itemCacheService.findById("ABC123")).expectNext(item).verifyComplete();
+        StepVerifier.create(itemCacheService.deleteById("ABC123")).verifyComplete();
+        StepVerifier.create(itemCacheService.findById("ABC123")).verifyComplete();
+
+        verify(itemReactiveRepository, times(2)).findById("ABC123");
+    }
+}
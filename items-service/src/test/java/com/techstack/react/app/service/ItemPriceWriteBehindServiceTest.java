@@ -0,0 +1,150 @@
+package com.techstack.react.app.service;
+
+import com.techstack.react.app.config.ItemPriceWriteBehindProperties;
+import com.techstack.react.app.document.Item;
+import com.techstack.react.app.repository.ItemReactiveRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.Document;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class ItemPriceWriteBehindServiceTest {
+
+    @Autowired
+    ReactiveMongoTemplate reactiveMongoTemplate;
+
+    @Autowired
+    ItemReactiveRepository itemReactiveRepository;
+
+    @Autowired
+    ItemCacheService itemCacheService;
+
+    SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    ItemPriceWriteBehindService itemPriceWriteBehindService;
+
+    @BeforeEach
+    void setup() {
+        itemReactiveRepository
+                .deleteAll()
+                .then(itemReactiveRepository.save(new Item("ABC123", "Apple MacBook Pro 16", 2400.0)))
+                .block();
+        itemCacheService.evictAll();
+
+        ItemPriceWriteBehindProperties properties = new ItemPriceWriteBehindProperties();
+        properties.setFlushInterval(Duration.ofHours(1));
+        properties.setMaxPending(2);
+        itemPriceWriteBehindService =
+                new ItemPriceWriteBehindService(reactiveMongoTemplate, properties, itemCacheService, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        itemPriceWriteBehindService.destroy();
+    }
+
+    @Test
+    @DisplayName("Repeated price updates of one Item are written once, the last one wins")
+    void offer_Coalesced() {
+        assertTrue(itemPriceWriteBehindService.offer("ABC123", 2300.0));
+        assertTrue(itemPriceWriteBehindService.offer("ABC123", 2200.0));
+        assertTrue(itemPriceWriteBehindService.offer("ABC123", 2100.0));
+
+        StepVerifier.create(itemPriceWriteBehindService.flush())
+                .expectNext(1)
+                .verifyComplete();
+
+        StepVerifier.create(itemReactiveRepository.findById("ABC123"))
+                .expectNextMatches(item -> item.getPrice() == 2100.0 && item.getVersion() == 1L)
+                .verifyComplete();
+        assertEquals(2.0, meterRegistry.get("items.price.updates").tag("result", "coalesced").counter().count());
+        assertEquals(1L, meterRegistry.get("items.price.flush").timer().count());
+    }
+
+    @Test
+    @DisplayName("Only the failed updates of a bulkWrite are retried, the others are not applied twice")
+    void flush_PartialFailure() {
+        // $inc fails on a version which is no number, only for this Item
+        reactiveMongoTemplate.insert(new Document("_id", "BAD123").append("price", 10.0).append("version", "x"),
+                reactiveMongoTemplate.getCollectionName(Item.class)).block();
+
+        assertTrue(itemPriceWriteBehindService.offer("ABC123", 2300.0));
+        assertTrue(itemPriceWriteBehindService.offer("BAD123", 20.0));
+
+        StepVerifier.create(itemPriceWriteBehindService.flush())
+                .expectNext(0)
+                .verifyComplete();
+        assertEquals(1.0, meterRegistry.get("items.price.pending").gauge().value());
+
+        StepVerifier.create(itemPriceWriteBehindService.flush())
+                .expectNext(0)
+                .verifyComplete();
+        StepVerifier.create(itemReactiveRepository.findById("ABC123"))
+                .expectNextMatches(item -> item.getPrice() == 2300.0 && item.getVersion() == 1L)
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("A full queue rejects new Items but still takes updates of queued ones")
+    void offer_Rejected() {
+        assertTrue(itemPriceWriteBehindService.offer("ABC123", 2300.0));
+        assertTrue(itemPriceWriteBehindService.offer("DEF123", 100.0));
+
+        assertFalse(itemPriceWriteBehindService.offer("GHI123", 200.0));
+        assertTrue(itemPriceWriteBehindService.offer("ABC123", 2250.0));
+        assertEquals(1.0, meterRegistry.get("items.price.updates").tag("result", "rejected").counter().count());
+
+        // unknown ids are no error, they just don't match anything
+        StepVerifier.create(itemPriceWriteBehindService.flush())
+                .expectNext(2)
+                .verifyComplete();
+        assertTrue(itemPriceWriteBehindService.offer("GHI123", 200.0));
+    }
+
+    @Test
+    @DisplayName("Concurrent offers of new Items never take more than max-pending slots")
+    void offer_ConcurrentBound() throws Exception {
+        int threads = 16;
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<Boolean>> offers = IntStream.range(0, threads)
+                    .mapToObj(i -> executor.submit(() -> {
+                        start.await();
+                        return itemPriceWriteBehindService.offer("ID" + i, i);
+                    }))
+                    .collect(Collectors.toList());
+            start.countDown();
+
+            long taken = 0;
+            for (Future<Boolean> offer : offers) {
+                taken += offer.get() ? 1 : 0;
+            }
+            assertEquals(2, taken);
+            assertEquals(2.0, meterRegistry.get("items.price.pending").gauge().value());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.techstack.react.app.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.techstack.react.app.config.ItemSeedProperties;
+import com.techstack.react.app.repository.ItemReactiveRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.test.context.ActiveProfiles;
+import reactor.test.StepVerifier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class ItemSeedServiceTest {
+
+    @Autowired
+    ItemBulkService itemBulkService;
+
+    @Autowired
+    ItemReactiveRepository itemReactiveRepository;
+
+    @Autowired
+    ResourceLoader resourceLoader;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    private ItemSeedService itemSeedService(ItemSeedProperties properties) {
+        return new ItemSeedService(itemBulkService, itemReactiveRepository, properties, resourceLoader, objectMapper);
+    }
+
+    @Test
+    @DisplayName("The generator source inserts \"count\" Items in batches")
+    void seed_Generator() {
+        ItemSeedProperties properties = new ItemSeedProperties();
+        properties.setSource(ItemSeedProperties.Source.GENERATOR);
+        properties.setCount(2500);
+        properties.setBatchSize(1000);
+        properties.setConcurrency(2);
+        ItemSeedService itemSeedService = itemSeedService(properties);
+
+        assertEquals(ItemSeedService.State.PENDING, itemSeedService.getState());
+        StepVerifier.create(itemSeedService.seed())
+                .expectNext(2500L)
+                .verifyComplete();
+
+        assertEquals(ItemSeedService.State.DONE, itemSeedService.getState());
+        StepVerifier.create(itemReactiveRepository.count())
+                .expectNext(2500L)
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("The file source skips blank lines and counts Items which could not be inserted")
+    void seed_File() {
+        ItemSeedProperties properties = new ItemSeedProperties();
+        properties.setSource(ItemSeedProperties.Source.FILE);
+        properties.setFile("classpath:seed/items.ndjson");
+        ItemSeedService itemSeedService = itemSeedService(properties);
+
+        StepVerifier.create(itemSeedService.seed())
+                .expectNext(3L)
+                .verifyComplete();
+
+        assertEquals(1L, itemSeedService.getFailed());
+        StepVerifier.create(itemReactiveRepository.findById("SEED1"))
+                .expectNextMatches(item -> item.getDescription().equals("Apple Ipad"))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Seeding fails when the file source has no file")
+    void seed_FileMissing() {
+        ItemSeedProperties properties = new ItemSeedProperties();
+        properties.setSource(ItemSeedProperties.Source.FILE);
+        ItemSeedService itemSeedService = itemSeedService(properties);
+
+        StepVerifier.create(itemSeedService.seed())
+                .verifyError(IllegalStateException.class);
+        assertEquals(ItemSeedService.State.FAILED, itemSeedService.getState());
+    }
+}
@@ -0,0 +1,153 @@
+package com.techstack.react.app.snapshot;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.techstack.react.app.config.ItemSnapshotProperties;
+import com.techstack.react.app.document.Item;
+import com.techstack.react.app.dto.ItemChangeEvent;
+import com.techstack.react.app.repository.ItemReactiveRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * The change stream and the rescan need MongoDB, these tests feed the snapshot directly
+ */
+class ItemCatalogSnapshotTest {
+
+    static final TypeReference<List<Item>> ITEMS = new TypeReference<>() {
+    };
+
+    ItemCatalogSnapshot itemCatalogSnapshot;
+
+    @BeforeEach
+    void setup() {
+        itemCatalogSnapshot = new ItemCatalogSnapshot(null, new ItemSnapshotProperties(),
+                Jackson2ObjectMapperBuilder.json(), new SimpleMeterRegistry());
+
+        itemCatalogSnapshot.apply(insert(new Item("2", "Samsung Tab", 450.0, 0L)));
+        itemCatalogSnapshot.apply(insert(new Item("1", "Apple Ipad", 350.0, 0L)));
+        itemCatalogSnapshot.apply(insert(new Item("3", "LG TV", 850.0, 0L)));
+    }
+
+    @Test
+    @DisplayName("The snapshot is a JSON array of all Items in id order, in a direct buffer")
+    void json() throws Exception {
+        CatalogSnapshot snapshot = itemCatalogSnapshot.build(CatalogFormat.JSON);
+
+        assertEquals(List.of(
+                new Item("1", "Apple Ipad", 350.0, 0L),
+                new Item("2", "Samsung Tab", 450.0, 0L),
+                new Item("3", "LG TV", 850.0, 0L)),
+                new ObjectMapper().readValue(bytes(snapshot), ITEMS));
+        assertEquals(3, snapshot.getItems());
+        assertTrue(snapshot.getBuffer().isDirect());
+    }
+
+    @Test
+    @DisplayName("The Smile snapshot decodes to the same Items")
+    void smile() throws Exception {
+        CatalogSnapshot snapshot = itemCatalogSnapshot.build(CatalogFormat.SMILE);
+
+        List<Item> items = new ObjectMapper(new SmileFactory()).readValue(bytes(snapshot), ITEMS);
+        assertEquals(new ObjectMapper().readValue(bytes(itemCatalogSnapshot.build(CatalogFormat.JSON)), ITEMS), items);
+    }
+
+    @Test
+    @DisplayName("The snapshot is only rebuilt after a change, an older version is no change")
+    void rebuiltOnChange() {
+        CatalogSnapshot snapshot = itemCatalogSnapshot.build(CatalogFormat.JSON);
+        assertSame(snapshot, itemCatalogSnapshot.build(CatalogFormat.JSON));
+
+        itemCatalogSnapshot.apply(new ItemChangeEvent("t1", "update", "1", new Item("1", "Apple Ipad", 300.0, 1L)));
+        CatalogSnapshot updated = itemCatalogSnapshot.build(CatalogFormat.JSON);
+        assertNotEquals(snapshot.getETag(), updated.getETag());
+
+        itemCatalogSnapshot.apply(new ItemChangeEvent("t2", "update", "1", new Item("1", "Apple Ipad", 350.0, 0L)));
+        assertSame(updated, itemCatalogSnapshot.build(CatalogFormat.JSON));
+    }
+
+    @Test
+    @DisplayName("A deleted Item leaves the snapshot, the same content has the same ETag")
+    void delete() {
+        CatalogSnapshot snapshot = itemCatalogSnapshot.build(CatalogFormat.JSON);
+
+        itemCatalogSnapshot.apply(new ItemChangeEvent("t1", "delete", "3", null));
+        CatalogSnapshot deleted = itemCatalogSnapshot.build(CatalogFormat.JSON);
+        assertEquals(2, deleted.getItems());
+
+        itemCatalogSnapshot.apply(insert(new Item("3", "LG TV", 850.0, 0L)));
+        assertEquals(snapshot.getETag(), itemCatalogSnapshot.build(CatalogFormat.JSON).getETag());
+    }
+
+    @Test
+    @DisplayName("A request builds on the bounded elastic scheduler, an unchanged generation needs no build")
+    void snapshotBuildsOffTheEventLoop() {
+        ItemCatalogSnapshot requested = requestedSnapshot(Duration.ZERO);
+        String[] buildThread = new String[1];
+
+        StepVerifier.create(requested.snapshot(CatalogFormat.JSON)
+                .doOnNext(snapshot -> buildThread[0] = Thread.currentThread().getName()))
+                .expectNextMatches(snapshot -> snapshot.getItems() == 3)
+                .verifyComplete();
+        assertTrue(buildThread[0].startsWith("boundedElastic"), buildThread[0]);
+
+        CatalogSnapshot snapshot = requested.snapshot(CatalogFormat.JSON).block();
+        assertSame(snapshot, requested.snapshot(CatalogFormat.JSON).block());
+    }
+
+    @Test
+    @DisplayName("While the catalog keeps changing, a request gets the previous snapshot until min-rebuild-interval passed")
+    void minRebuildInterval() {
+        ItemCatalogSnapshot requested = requestedSnapshot(Duration.ofHours(1));
+        CatalogSnapshot snapshot = requested.snapshot(CatalogFormat.JSON).block();
+
+        requested.apply(new ItemChangeEvent("t1", "update", "1", new Item("1", "Apple Ipad", 300.0, 1L)));
+        assertSame(snapshot, requested.snapshot(CatalogFormat.JSON).block());
+    }
+
+    /**
+     * A snapshot for {@link ItemCatalogSnapshot#snapshot(CatalogFormat)}, whose first request reads the Items once
+     */
+    private static ItemCatalogSnapshot requestedSnapshot(Duration minRebuildInterval) {
+        List<Item> items = List.of(
+                new Item("1", "Apple Ipad", 350.0, 0L),
+                new Item("2", "Samsung Tab", 450.0, 0L),
+                new Item("3", "LG TV", 850.0, 0L));
+        ItemReactiveRepository itemReactiveRepository = mock(ItemReactiveRepository.class);
+        when(itemReactiveRepository.findAll()).thenReturn(Flux.fromIterable(items));
+
+        ItemSnapshotProperties properties = new ItemSnapshotProperties();
+        properties.setRescanInterval(Duration.ofHours(1));
+        properties.setMinRebuildInterval(minRebuildInterval);
+        return new ItemCatalogSnapshot(itemReactiveRepository, properties,
+                Jackson2ObjectMapperBuilder.json(), new SimpleMeterRegistry());
+    }
+
+    private static ItemChangeEvent insert(Item item) {
+        return new ItemChangeEvent("t0", "insert", item.getId(), item);
+    }
+
+    private static byte[] bytes(CatalogSnapshot snapshot) {
+        ByteBuffer buffer = snapshot.getBuffer();
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.get(bytes);
+        return bytes;
+    }
+}
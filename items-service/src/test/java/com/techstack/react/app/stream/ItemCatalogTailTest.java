@@ -0,0 +1,137 @@
+package com.techstack.react.app.stream;
+
+import com.techstack.react.app.config.ItemCatalogTailProperties;
+import com.techstack.react.app.config.ItemPriceIndexProperties;
+import com.techstack.react.app.config.ItemSnapshotProperties;
+import com.techstack.react.app.document.Item;
+import com.techstack.react.app.dto.ItemChangeEvent;
+import com.techstack.react.app.price.ItemPriceIndex;
+import com.techstack.react.app.repository.ItemReactiveRepository;
+import com.techstack.react.app.snapshot.CatalogFormat;
+import com.techstack.react.app.snapshot.ItemCatalogSnapshot;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.Document;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * MongoDB is mocked, the listeners are the real price index and catalog snapshot
+ */
+class ItemCatalogTailTest {
+
+    ItemChangeStreamService itemChangeStreamService = mock(ItemChangeStreamService.class);
+    ItemReactiveRepository itemReactiveRepository = mock(ItemReactiveRepository.class);
+    ReactiveMongoTemplate reactiveMongoTemplate = mock(ReactiveMongoTemplate.class);
+    ItemCatalogTailProperties properties = new ItemCatalogTailProperties();
+
+    ItemPriceIndex itemPriceIndex;
+    ItemCatalogSnapshot itemCatalogSnapshot;
+    ItemCatalogTail itemCatalogTail;
+
+    @BeforeEach
+    void setup() {
+        itemPriceIndex = new ItemPriceIndex(new ItemPriceIndexProperties(), new SimpleMeterRegistry());
+        ItemSnapshotProperties snapshotProperties = new ItemSnapshotProperties();
+        snapshotProperties.setRescanInterval(Duration.ofHours(1));
+        itemCatalogSnapshot = new ItemCatalogSnapshot(itemReactiveRepository, snapshotProperties,
+                Jackson2ObjectMapperBuilder.json(), new SimpleMeterRegistry());
+
+        when(itemReactiveRepository.findAll()).thenReturn(Flux.just(
+                new Item("1", "Apple Ipad", 350.0, 0L),
+                new Item("2", "Samsung Tab", 450.0, 0L)));
+    }
+
+    @AfterEach
+    void tearDown() {
+        itemCatalogTail.destroy();
+    }
+
+    @Test
+    @DisplayName("Both listeners warm up from one change stream, an Item deleted meanwhile is not loaded")
+    void start_OneChangeStream() throws InterruptedException {
+        when(reactiveMongoTemplate.executeCommand("{isMaster: 1}"))
+                .thenReturn(Mono.just(new Document("localTime", new Date())));
+        when(itemChangeStreamService.changesSince(any(Instant.class)))
+                .thenReturn(Flux.just(new ItemChangeEvent("t1", "delete", "1", null)).concatWith(Flux.never()));
+        itemCatalogTail = tail();
+
+        itemCatalogTail.start();
+        awaitState(() -> itemCatalogTail.getState() == ItemCatalogTail.State.FOLLOWING);
+
+        verify(itemChangeStreamService, times(1)).changesSince(any(Instant.class));
+        assertTrue(itemPriceIndex.isReady());
+        assertTrue(itemCatalogSnapshot.isReady());
+        assertEquals(List.of("2"), itemPriceIndex.range(0.0, 1000.0, 10).stream()
+                .map(Item::getId).collect(Collectors.toList()));
+        assertEquals(1, itemCatalogSnapshot.snapshot(CatalogFormat.JSON).block().getItems());
+    }
+
+    @Test
+    @DisplayName("A failing change stream is retried \"max-retries\" times, then the tail gives up")
+    void start_GivesUp() throws InterruptedException {
+        properties.setRetryInterval(Duration.ofMillis(1));
+        properties.setMaxRetries(2);
+        when(reactiveMongoTemplate.executeCommand("{isMaster: 1}"))
+                .thenReturn(Mono.error(new IllegalStateException("no replica set")));
+        itemCatalogTail = tail();
+
+        itemCatalogTail.start();
+        awaitState(() -> itemCatalogTail.getState() == ItemCatalogTail.State.GAVE_UP);
+
+        assertEquals(3, itemCatalogTail.getFailures());
+        assertFalse(itemPriceIndex.isReady());
+        assertFalse(itemCatalogSnapshot.isReady());
+        assertEquals(Status.UNKNOWN, new ItemCatalogTailHealthIndicator(itemCatalogTail).health().getStatus());
+    }
+
+    @Test
+    @DisplayName("Without a listener which follows changes no change stream is opened")
+    void start_Disabled() {
+        ItemPriceIndexProperties disabled = new ItemPriceIndexProperties();
+        disabled.setEnabled(false);
+        itemCatalogTail = new ItemCatalogTail(itemChangeStreamService, itemReactiveRepository, reactiveMongoTemplate,
+                properties, List.of(new ItemPriceIndex(disabled, new SimpleMeterRegistry())));
+
+        itemCatalogTail.start();
+
+        assertEquals(ItemCatalogTail.State.DISABLED, itemCatalogTail.getState());
+        assertEquals(Status.UP, new ItemCatalogTailHealthIndicator(itemCatalogTail).health().getStatus());
+        verify(itemChangeStreamService, times(0)).changesSince(any(Instant.class));
+    }
+
+    private ItemCatalogTail tail() {
+        return new ItemCatalogTail(itemChangeStreamService, itemReactiveRepository, reactiveMongoTemplate,
+                properties, List.of(itemPriceIndex, itemCatalogSnapshot));
+    }
+
+    private static void awaitState(BooleanSupplier reached) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (!reached.getAsBoolean() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertTrue(reached.getAsBoolean());
+    }
+}
@@ -0,0 +1,108 @@
+package com.techstack.react.app.stream;
+
+import com.techstack.react.app.config.ItemStreamHubProperties;
+import com.techstack.react.app.document.ItemCapped;
+import com.techstack.react.app.repository.ItemReactiveCappedRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+import reactor.core.Exceptions;
+import reactor.test.StepVerifier;
+import reactor.test.publisher.TestPublisher;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ItemStreamHubTest {
+
+    ItemReactiveCappedRepository itemReactiveCappedRepository = mock(ItemReactiveCappedRepository.class);
+    TestPublisher<ItemCapped> cursor = TestPublisher.create();
+    SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    ItemStreamHubProperties properties = new ItemStreamHubProperties();
+
+    ItemCapped item1 = new ItemCapped("1", "Random Item 1", 101.0);
+    ItemCapped item2 = new ItemCapped("2", "Random Item 2", 102.0);
+    ItemCapped item3 = new ItemCapped("3", "Random Item 3", 103.0);
+
+    @BeforeEach
+    void setup() {
+        when(itemReactiveCappedRepository.findItemsBy()).thenReturn(cursor.flux());
+        properties.setGracePeriod(Duration.ZERO);
+    }
+
+    @Test
+    @DisplayName("All subscribers share one tailable cursor")
+    void singleCursor() {
+        ItemStreamHub itemStreamHub = new ItemStreamHub(itemReactiveCappedRepository, properties, meterRegistry);
+
+        Disposable first = itemStreamHub.stream().subscribe();
+        Disposable second = itemStreamHub.stream().subscribe();
+
+        verify(itemReactiveCappedRepository, times(1)).findItemsBy();
+        assertEquals(2.0, meterRegistry.get("items.stream.hub.subscribers").gauge().value());
+
+        first.dispose();
+        second.dispose();
+        assertEquals(0.0, meterRegistry.get("items.stream.hub.subscribers").gauge().value());
+    }
+
+    @Test
+    @DisplayName("Late joiners receive the last N Items first")
+    void replayForLateJoiners() {
+        properties.setReplaySize(2);
+        ItemStreamHub itemStreamHub = new ItemStreamHub(itemReactiveCappedRepository, properties, meterRegistry);
+
+        Disposable first = itemStreamHub.stream().subscribe();
+        cursor.next(item1, item2, item3);
+
+        StepVerifier
+                .create(itemStreamHub.stream())
+                .expectNext(item2, item3)
+                .thenCancel()
+                .verify();
+
+        first.dispose();
+    }
+
+    @Test
+    @DisplayName("A full subscriber buffer drops the oldest Items")
+    void dropOldest() {
+        properties.setBufferSize(1);
+        ItemStreamHub itemStreamHub = new ItemStreamHub(itemReactiveCappedRepository, properties, meterRegistry);
+
+        StepVerifier
+                .create(itemStreamHub.stream(), 0)
+                .then(() -> cursor.next(item1, item2, item3))
+                .then(() -> assertEquals(2.0, meterRegistry.get("items.stream.hub.dropped").counter().count()))
+                .then(() -> assertEquals(1.0, meterRegistry.get("items.stream.hub.pending").gauge().value()))
+                .thenRequest(1)
+                .expectNext(item3)
+                .thenCancel()
+                .verify();
+    }
+
+    @Test
+    @DisplayName("A slow subscriber is disconnected")
+    void disconnect() {
+        properties.setBufferSize(1);
+        properties.setOverflowStrategy(ItemStreamHubProperties.OverflowStrategy.DISCONNECT);
+        ItemStreamHub itemStreamHub = new ItemStreamHub(itemReactiveCappedRepository, properties, meterRegistry);
+
+        StepVerifier
+                .create(itemStreamHub.stream(), 0)
+                .then(() -> cursor.next(item1, item2))
+                .thenRequest(1)
+                .thenConsumeWhile(item -> true)
+                .expectErrorMatches(Exceptions::isOverflow)
+                .verify();
+
+        assertEquals(1.0, meterRegistry.get("items.stream.hub.disconnected").counter().count());
+    }
+}
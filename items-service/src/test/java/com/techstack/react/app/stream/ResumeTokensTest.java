@@ -0,0 +1,30 @@
+package com.techstack.react.app.stream;
+
+import org.bson.BsonDocument;
+import org.bson.BsonString;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ResumeTokensTest {
+
+    BsonDocument resumeToken = new BsonDocument("_data", new BsonString("825ECE6E98000000012B022C0100296E5A1004"));
+
+    @Test
+    @DisplayName("A resume token survives the round trip through an event id")
+    void roundTrip() {
+        String eventId = ResumeTokens.encode(resumeToken);
+
+        assertFalse(eventId.contains("\n"));
+        assertEquals(resumeToken, ResumeTokens.decode(eventId));
+    }
+
+    @Test
+    @DisplayName("An event id which was not handed out is rejected")
+    void invalidToken() {
+        assertThrows(IllegalArgumentException.class, () -> ResumeTokens.decode("not a token"));
+    }
+}
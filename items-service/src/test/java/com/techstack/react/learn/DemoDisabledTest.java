@@ -0,0 +1,31 @@
+package com.techstack.react.learn;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import static com.techstack.react.app.consts.ItemConstants.ITEM_END_POINT_V1;
+
+@SpringBootTest(properties = "items.demo.enabled=false")
+@AutoConfigureWebTestClient
+@ActiveProfiles("test")
+class DemoDisabledTest {
+
+    @Autowired
+    WebTestClient webTestClient;
+
+    @Test
+    @DisplayName("Without the demo beans only the learning examples are gone")
+    void demoDisabled() {
+        webTestClient.get().uri("/flux").exchange().expectStatus().isNotFound();
+        webTestClient.get().uri("/functional/flux").accept(MediaType.APPLICATION_JSON)
+                .exchange().expectStatus().isNotFound();
+
+        webTestClient.get().uri(ITEM_END_POINT_V1).exchange().expectStatus().isOk();
+    }
+}
@@ -2,7 +2,14 @@ package com.techstack.react.learn.handler;
 
 import com.techstack.react.app.consts.ItemConstants;
 import com.techstack.react.app.document.Item;
+import com.techstack.react.app.dto.BulkInsertResult;
+import com.techstack.react.app.dto.MultiGetRequest;
+import com.techstack.react.app.dto.MultiGetResponse;
+import com.techstack.react.app.dto.PriceUpdate;
+import com.techstack.react.app.index.ItemIndexManager;
 import com.techstack.react.app.repository.ItemReactiveRepository;
+import com.techstack.react.app.service.ItemCacheService;
+import com.techstack.react.app.service.ItemPriceWriteBehindService;
 import lombok.extern.slf4j.Slf4j;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -11,14 +18,24 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.reactive.server.EntityExchangeResult;
 import org.springframework.test.web.reactive.server.WebTestClient;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
 
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
 
 @SpringBootTest
 @ExtendWith(SpringExtension.class)
@@ -33,6 +50,15 @@ class ItemsHandlerTest {
     @Autowired
     ItemReactiveRepository itemReactiveRepository;
 
+    @Autowired
+    ItemCacheService itemCacheService;
+
+    @Autowired
+    ItemPriceWriteBehindService itemPriceWriteBehindService;
+
+    @Autowired
+    ItemIndexManager itemIndexManager;
+
     private List<Item> data() {
         return List.of(
                 new Item(null, "Apple Ipad", 350.0),
@@ -50,6 +76,9 @@ class ItemsHandlerTest {
                 .flatMap(itemReactiveRepository::save)
                 .doOnNext(item -> log.info("From Test: Inserted item is {}", item))
                 .blockLast();
+
+        //the cache outlives the test data, don't let one test see another test's Items
+        itemCacheService.evictAll();
     }
 
     @Test
@@ -65,6 +94,167 @@ class ItemsHandlerTest {
                 .hasSize(4);
     }
 
+    @Test
+    @DisplayName("Get all Items one page at a time")
+    void getAllItems_Paginated() {
+        String nextCursor = webTestClient
+                .get()
+                .uri(ItemConstants.ITEM_FUNCTIONAL_END_POINT_V1.concat("?limit=3"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().exists(ItemConstants.NEXT_CURSOR_HEADER)
+                .expectBodyList(Item.class)
+                .hasSize(3)
+                .returnResult()
+                .getResponseHeaders()
+                .getFirst(ItemConstants.NEXT_CURSOR_HEADER);
+
+        webTestClient
+                .get()
+                .uri(ItemConstants.ITEM_FUNCTIONAL_END_POINT_V1.concat("?limit=3&after={after}"), nextCursor)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().doesNotExist(ItemConstants.NEXT_CURSOR_HEADER)
+                .expectBodyList(Item.class)
+                .hasSize(1);
+    }
+
+    @Test
+    @DisplayName("Get all Items with a page size of one")
+    void getAllItems_PageSizeOne() {
+        Set<String> ids = new HashSet<>();
+        String nextCursor = null;
+        do {
+            EntityExchangeResult<List<Item>> page = webTestClient
+                    .get()
+                    .uri(nextCursor == null
+                            ? ItemConstants.ITEM_FUNCTIONAL_END_POINT_V1.concat("?limit=1")
+                            : ItemConstants.ITEM_FUNCTIONAL_END_POINT_V1.concat("?limit=1&after=").concat(nextCursor))
+                    .exchange()
+                    .expectStatus().isOk()
+                    .expectBodyList(Item.class)
+                    .returnResult();
+            page.getResponseBody().forEach(item -> ids.add(item.getId()));
+            nextCursor = page.getResponseHeaders().getFirst(ItemConstants.NEXT_CURSOR_HEADER);
+        } while (nextCursor != null);
+
+        assertEquals(4, ids.size());
+    }
+
+    @Test
+    @DisplayName("Get all Items filtered by price range and description prefix")
+    void getAllItems_Filtered() {
+        webTestClient
+                .get()
+                .uri(ItemConstants.ITEM_FUNCTIONAL_END_POINT_V1.concat("?minPrice=400&maxPrice=900"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(Item.class)
+                .hasSize(2);
+
+        webTestClient
+                .get()
+                .uri(ItemConstants.ITEM_FUNCTIONAL_END_POINT_V1.concat("?descriptionPrefix=Apple"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(Item.class)
+                .hasSize(2);
+    }
+
+    @Test
+    @DisplayName("Get all Items with a price which is not a number")
+    void getAllItems_InvalidPrice() {
+        webTestClient
+                .get()
+                .uri(ItemConstants.ITEM_FUNCTIONAL_END_POINT_V1.concat("?minPrice=cheap"))
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    @DisplayName("Get all Items as Smile when the client prefers it")
+    void getAllItems_Smile() {
+        MediaType smile = MediaType.parseMediaType(ItemConstants.APPLICATION_SMILE_VALUE);
+        webTestClient
+                .get()
+                .uri(ItemConstants.ITEM_FUNCTIONAL_END_POINT_V1)
+                .accept(smile, MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(smile)
+                .expectBodyList(Item.class)
+                .hasSize(4);
+    }
+
+    @Test
+    @DisplayName("Get the catalog snapshot, a poll with its ETag gets 304 until the catalog changes")
+    void getItemsSnapshot() {
+        String etag = webTestClient
+                .get()
+                .uri(ItemConstants.ITEM_FUNCTIONAL_END_POINT_V1.concat("/snapshot"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(MediaType.APPLICATION_JSON)
+                .expectBodyList(Item.class)
+                .hasSize(4)
+                .returnResult()
+                .getResponseHeaders()
+                .getETag();
+
+        webTestClient
+                .get()
+                .uri(ItemConstants.ITEM_FUNCTIONAL_END_POINT_V1.concat("/snapshot"))
+                .ifNoneMatch(etag)
+                .exchange()
+                .expectStatus().isNotModified()
+                .expectBody().isEmpty();
+
+        itemReactiveRepository.deleteById("ABC123").block();
+
+        webTestClient
+                .get()
+                .uri(ItemConstants.ITEM_FUNCTIONAL_END_POINT_V1.concat("/snapshot"))
+                .ifNoneMatch(etag)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(Item.class)
+                .hasSize(3);
+    }
+
+    @Test
+    @DisplayName("Get the catalog snapshot as Smile")
+    void getItemsSnapshot_Smile() {
+        MediaType smile = MediaType.parseMediaType(ItemConstants.APPLICATION_SMILE_VALUE);
+        webTestClient
+                .get()
+                .uri(ItemConstants.ITEM_FUNCTIONAL_END_POINT_V1.concat("/snapshot"))
+                .accept(smile)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(smile)
+                .expectBodyList(Item.class)
+                .hasSize(4);
+    }
+
+    @Test
+    @DisplayName("Stream all Items")
+    void streamAllItems() {
+        Flux<Item> itemsFlux = webTestClient
+                .get()
+                .uri(ItemConstants.ITEM_FUNCTIONAL_END_POINT_V1)
+                .accept(MediaType.APPLICATION_STREAM_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(MediaType.APPLICATION_STREAM_JSON)
+                .returnResult(Item.class)
+                .getResponseBody();
+
+        StepVerifier
+                .create(itemsFlux)
+                .expectNextCount(4)
+                .verifyComplete();
+    }
+
     @Test
     @DisplayName("get One Item by using Id (Valid) Success")
     void getOneItem_Success() {
@@ -87,6 +277,67 @@ class ItemsHandlerTest {
                 .expectStatus().isNotFound();
     }
 
+    @Test
+    @DisplayName("get One Item answers a matching If-None-Match with 304 and no body")
+    void getOneItem_NotModified() {
+        String etag = webTestClient
+                .get()
+                .uri(ItemConstants.ITEM_FUNCTIONAL_END_POINT_V1.concat("/{id}"), "ABC123")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"0\"")
+                .returnResult(Item.class)
+                .getResponseHeaders()
+                .getETag();
+
+        webTestClient
+                .get()
+                .uri(ItemConstants.ITEM_FUNCTIONAL_END_POINT_V1.concat("/{id}"), "ABC123")
+                .ifNoneMatch(etag)
+                .exchange()
+                .expectStatus().isNotModified()
+                .expectBody().isEmpty();
+    }
+
+    @Test
+    @DisplayName("Get many Items in one request, in request order")
+    void multiGetItems() {
+        String lgTvId = itemReactiveRepository.findByDescription("LG TV").block().getId();
+
+        MultiGetResponse multiGetResponse = webTestClient
+                .post()
+                .uri(ItemConstants.ITEM_FUNCTIONAL_END_POINT_V1.concat("/_mget"))
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(Mono.just(new MultiGetRequest(List.of("ABC123", "DEF123", lgTvId))), MultiGetRequest.class)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(MultiGetResponse.class)
+                .returnResult()
+                .getResponseBody();
+
+        List<String> itemIds = multiGetResponse.getItems().stream()
+                .map(Item::getId)
+                .collect(Collectors.toList());
+        assertEquals(List.of("ABC123", lgTvId), itemIds);
+        assertEquals(List.of("DEF123"), multiGetResponse.getMissing());
+    }
+
+    @Test
+    @DisplayName("Get many Items rejects more ids than allowed")
+    void multiGetItems_TooManyIds() {
+        List<String> ids = IntStream.rangeClosed(1, 1001)
+                .mapToObj(String::valueOf)
+                .collect(Collectors.toList());
+
+        webTestClient
+                .post()
+                .uri(ItemConstants.ITEM_FUNCTIONAL_END_POINT_V1.concat("/_mget"))
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(Mono.just(new MultiGetRequest(ids)), MultiGetRequest.class)
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
     @Test
     @DisplayName("Create an Item")
     void createItem() {
@@ -110,6 +361,82 @@ class ItemsHandlerTest {
 
     }
 
+    @Test
+    @DisplayName("Creating an Item with an existing id is a conflict")
+    void createItemWithExistingId() {
+        Item item = new Item("ABC123", "Apple MacBook Pro 13", 1800.0);
+        webTestClient
+                //Given
+                .post()
+                .uri(ItemConstants.ITEM_FUNCTIONAL_END_POINT_V1)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(Mono.just(item), Item.class)
+
+                //When
+                .exchange()
+
+                //Then
+                .expectStatus().isEqualTo(HttpStatus.CONFLICT);
+
+        StepVerifier.create(itemReactiveRepository.findById("ABC123"))
+                .expectNextMatches(existing -> existing.getDescription().equals("Apple MacBook Pro 16"))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Bulk insert Items as a stream")
+    void bulkInsertItems() {
+        Flux<Item> items = Flux.range(1, 5)
+                .map(i -> new Item(null, "Bulk Item " + i, 10.0 * i));
+
+        Flux<BulkInsertResult> results = webTestClient
+                .post()
+                .uri(ItemConstants.ITEM_FUNCTIONAL_END_POINT_V1.concat("/bulk"))
+                .contentType(MediaType.APPLICATION_STREAM_JSON)
+                .accept(MediaType.APPLICATION_STREAM_JSON)
+                .body(items, Item.class)
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(BulkInsertResult.class)
+                .getResponseBody();
+
+        StepVerifier
+                .create(results)
+                .expectNextMatches(result -> result.getInserted() == 5 && result.getFailed() == 0)
+                .verifyComplete();
+
+        StepVerifier
+                .create(itemReactiveRepository.count())
+                .expectNext(9L)
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Bulk insert keeps going after a duplicate Id")
+    void bulkInsertItems_DuplicateId() {
+        Flux<Item> items = Flux.just(
+                new Item("ABC123", "Apple MacBook Pro 16", 2400.0),
+                new Item(null, "Google Pixel 4", 799.0));
+
+        Flux<BulkInsertResult> results = webTestClient
+                .post()
+                .uri(ItemConstants.ITEM_FUNCTIONAL_END_POINT_V1.concat("/bulk"))
+                .contentType(MediaType.APPLICATION_STREAM_JSON)
+                .accept(MediaType.APPLICATION_STREAM_JSON)
+                .body(items, Item.class)
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(BulkInsertResult.class)
+                .getResponseBody();
+
+        StepVerifier
+                .create(results)
+                .expectNextMatches(result -> result.getInserted() == 1
+                        && result.getFailed() == 1
+                        && result.getErrors().size() == 1)
+                .verifyComplete();
+    }
+
     @Test
     @DisplayName("Delete an Item")
     void deleteItem() {
@@ -128,6 +455,181 @@ class ItemsHandlerTest {
 
     }
 
+    @Test
+    @DisplayName("Get Items in a price range, cheapest first")
+    void getItemsByPriceRange() {
+        webTestClient
+                //Given
+                .get()
+                .uri(ItemConstants.ITEM_FUNCTIONAL_END_POINT_V1.concat("/price-range?min=400&max=900"))
+                .accept(MediaType.APPLICATION_JSON)
+
+                //When
+                .exchange()
+
+                //Then
+                .expectStatus().isOk()
+                .expectBodyList(Item.class)
+                .value(items -> assertEquals(List.of("Samsung Tab", "LG TV"),
+                        items.stream().map(Item::getDescription).collect(Collectors.toList())));
+    }
+
+    @Test
+    @DisplayName("Get Items in a price range with min greater than max")
+    void getItemsByPriceRange_InvalidRange() {
+        webTestClient
+                .get()
+                .uri(ItemConstants.ITEM_FUNCTIONAL_END_POINT_V1.concat("/price-range?min=900&max=400"))
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    @DisplayName("Get Items in a price range with a bound which is not a number")
+    void getItemsByPriceRange_InvalidNumber() {
+        webTestClient
+                .get()
+                .uri(ItemConstants.ITEM_FUNCTIONAL_END_POINT_V1.concat("/price-range?min=low&max=400"))
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isBadRequest();
+
+        webTestClient
+                .get()
+                .uri(ItemConstants.ITEM_FUNCTIONAL_END_POINT_V1.concat("/cheapest?limit=two"))
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    @DisplayName("Get the cheapest Items")
+    void getCheapestItems() {
+        webTestClient
+                //Given
+                .get()
+                .uri(ItemConstants.ITEM_FUNCTIONAL_END_POINT_V1.concat("/cheapest?limit=2"))
+                .accept(MediaType.APPLICATION_JSON)
+
+                //When
+                .exchange()
+
+                //Then
+                .expectStatus().isOk()
+                .expectBodyList(Item.class)
+                .value(items -> assertEquals(List.of(350.0, 450.0),
+                        items.stream().map(Item::getPrice).collect(Collectors.toList())));
+    }
+
+    @Test
+    @DisplayName("Search Items by description prefix")
+    void searchItems_Prefix() {
+        itemIndexManager.ensureIndexes().blockLast();
+
+        webTestClient
+                //Given
+                .get()
+                .uri(uriBuilder -> uriBuilder.path(ItemConstants.ITEM_FUNCTIONAL_END_POINT_V1.concat("/search"))
+                        .queryParam("q", "Apple")
+                        .queryParam("limit", 5)
+                        .build())
+                .accept(MediaType.APPLICATION_JSON)
+
+                //When
+                .exchange()
+
+                //Then
+                .expectStatus().isOk()
+                .expectBodyList(Item.class)
+                .value(items -> assertEquals(List.of("Apple Ipad", "Apple MacBook Pro 16"),
+                        items.stream().map(Item::getDescription).collect(Collectors.toList())));
+    }
+
+    @Test
+    @DisplayName("Search Items by words of the description")
+    void searchItems_Text() {
+        itemIndexManager.ensureIndexes().blockLast();
+
+        webTestClient
+                //Given
+                .get()
+                .uri(uriBuilder -> uriBuilder.path(ItemConstants.ITEM_FUNCTIONAL_END_POINT_V1.concat("/search"))
+                        .queryParam("q", "tv macbook")
+                        .queryParam("mode", "text")
+                        .build())
+                .accept(MediaType.APPLICATION_JSON)
+
+                //When
+                .exchange()
+
+                //Then
+                .expectStatus().isOk()
+                .expectBodyList(Item.class)
+                .value(items -> assertEquals(Set.of("LG TV", "Apple MacBook Pro 16"),
+                        items.stream().map(Item::getDescription).collect(Collectors.toSet())));
+    }
+
+    @Test
+    @DisplayName("Search Items without a query")
+    void searchItems_MissingQuery() {
+        webTestClient
+                .get()
+                .uri(ItemConstants.ITEM_FUNCTIONAL_END_POINT_V1.concat("/search?mode=text"))
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    @DisplayName("Search Items with a limit which is not a number")
+    void searchItems_InvalidLimit() {
+        webTestClient
+                .get()
+                .uri(ItemConstants.ITEM_FUNCTIONAL_END_POINT_V1.concat("/search?q=Apple&limit=ten"))
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    @DisplayName("Update an Item Price through the write-behind queue")
+    void updateItemPrice() {
+        webTestClient
+                //Given
+                .put()
+                .uri(ItemConstants.ITEM_FUNCTIONAL_END_POINT_V1.concat("/{id}/price"), "ABC123")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new PriceUpdate(410.0))
+
+                //When
+                .exchange()
+
+                //Then
+                .expectStatus().isAccepted();
+
+        StepVerifier.create(itemPriceWriteBehindService.flush().then(itemReactiveRepository.findById("ABC123")))
+                .expectNextMatches(item -> item.getPrice() == 410.0 && item.getVersion() == 1L)
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Update an Item Price without a price")
+    void updateItemPrice_MissingPrice() {
+        webTestClient
+                //Given
+                .put()
+                .uri(ItemConstants.ITEM_FUNCTIONAL_END_POINT_V1.concat("/{id}/price"), "ABC123")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new PriceUpdate(null))
+
+                //When
+                .exchange()
+
+                //Then
+                .expectStatus().isBadRequest();
+    }
+
     @Test
     @DisplayName("Update an Item Price Value")
     void updateItem_PriceValue() {
@@ -151,6 +653,84 @@ class ItemsHandlerTest {
                 .jsonPath("$.price", newPrice);
     }
 
+    @Test
+    @DisplayName("Update an Item with If-Match, a stale ETag is rejected with 412")
+    void updateItem_IfMatch() {
+        Item item = new Item(null, "Apple MacBook Pro 16", 2200.0);
+
+        webTestClient
+                .put()
+                .uri(ItemConstants.ITEM_FUNCTIONAL_END_POINT_V1.concat("/{id}"), "ABC123")
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.IF_MATCH, "\"0\"")
+                .body(Mono.just(item), Item.class)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"1\"")
+                .expectBody()
+                .jsonPath("$.price").isEqualTo(2200.0);
+
+        webTestClient
+                .put()
+                .uri(ItemConstants.ITEM_FUNCTIONAL_END_POINT_V1.concat("/{id}"), "ABC123")
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.IF_MATCH, "\"0\"")
+                .body(Mono.just(item), Item.class)
+                .exchange()
+                .expectStatus().isEqualTo(HttpStatus.PRECONDITION_FAILED);
+    }
+
+    @Test
+    @DisplayName("Update an Item with If-Match using Invalid Id")
+    void updateItem_IfMatch_InvalidId() {
+        Item item = new Item(null, "Apple MacBook Pro 16", 2200.0);
+
+        webTestClient
+                .put()
+                .uri(ItemConstants.ITEM_FUNCTIONAL_END_POINT_V1.concat("/{id}"), "XYZ123")
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.IF_MATCH, "\"0\"")
+                .body(Mono.just(item), Item.class)
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    @DisplayName("Patch only the price of an Item")
+    void patchItem_PriceOnly() {
+        Item changes = new Item(null, null, 999.0);
+
+        webTestClient
+                .patch()
+                .uri(ItemConstants.ITEM_FUNCTIONAL_END_POINT_V1.concat("/{id}"), "ABC123")
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON)
+                .body(Mono.just(changes), Item.class)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.price").isEqualTo(999.0)
+                .jsonPath("$.description").isEqualTo("Apple MacBook Pro 16");
+    }
+
+    @Test
+    @DisplayName("Patch an Item using Invalid Id")
+    void patchItem_InvalidId() {
+        Item changes = new Item(null, null, 999.0);
+
+        webTestClient
+                .patch()
+                .uri(ItemConstants.ITEM_FUNCTIONAL_END_POINT_V1.concat("/{id}"), "XYZ123")
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON)
+                .body(Mono.just(changes), Item.class)
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
     @Test
     @DisplayName("Test RuntimeException")
     void runtimeException() {
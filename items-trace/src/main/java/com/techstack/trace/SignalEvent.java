@@ -0,0 +1,22 @@
+package com.techstack.trace;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One signal of a traced subscription.
+ * "elapsedMicros" is the time since the subscription started, "requested" is only set for request signals.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class SignalEvent {
+
+    private String route;
+    private long subscriptionId;
+    private String signal;
+    private long elapsedMicros;
+    private long requested;
+    private String thread;
+}
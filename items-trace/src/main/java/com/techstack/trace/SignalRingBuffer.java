@@ -0,0 +1,51 @@
+package com.techstack.trace;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Fixed size, lock-free ring buffer of {@link SignalEvent}s.
+ * Writers claim a slot with one atomic increment and overwrite the oldest entry,
+ * they never wait for each other or for a reader.
+ */
+class SignalRingBuffer {
+
+    private final AtomicReferenceArray<SignalEvent> slots;
+    private final AtomicLong sequence = new AtomicLong();
+    private final int mask;
+
+    SignalRingBuffer(int size) {
+        int capacity = Integer.highestOneBit(Math.max(2, size - 1)) << 1;
+        this.slots = new AtomicReferenceArray<>(capacity);
+        this.mask = capacity - 1;
+    }
+
+    void add(SignalEvent event) {
+        long next = sequence.getAndIncrement();
+        slots.set((int) (next & mask), event);
+    }
+
+    /**
+     * Oldest first. Signals written while the snapshot is taken may or may not be part of it.
+     */
+    List<SignalEvent> snapshot() {
+        long end = sequence.get();
+        long start = Math.max(0, end - slots.length());
+        List<SignalEvent> events = new ArrayList<>((int) (end - start));
+        for (long i = start; i < end; i++) {
+            SignalEvent event = slots.get((int) (i & mask));
+            if (event != null) {
+                events.add(event);
+            }
+        }
+        return events;
+    }
+
+    void clear() {
+        for (int i = 0; i < slots.length(); i++) {
+            slots.set(i, null);
+        }
+    }
+}
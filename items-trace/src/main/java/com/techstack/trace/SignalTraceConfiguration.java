@@ -0,0 +1,22 @@
+package com.techstack.trace;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * The tracer and its "signaltrace" endpoint. A service imports this configuration and declares the
+ * {@link SignalTraceProperties} bean, bound to its own prefix.
+ */
+@Configuration
+public class SignalTraceConfiguration {
+
+    @Bean
+    public SignalTracer signalTracer(SignalTraceProperties signalTraceProperties) {
+        return new SignalTracer(signalTraceProperties);
+    }
+
+    @Bean
+    public SignalTraceEndpoint signalTraceEndpoint(SignalTracer signalTracer) {
+        return new SignalTraceEndpoint(signalTracer);
+    }
+}
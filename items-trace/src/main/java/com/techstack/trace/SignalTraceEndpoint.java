@@ -0,0 +1,42 @@
+package com.techstack.trace;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * GET    /actuator/signaltrace          dump the recorded signals and the enabled routes
+ * POST   /actuator/signaltrace/{route}  body {"enabled": true|false} switch tracing of a route
+ * DELETE /actuator/signaltrace          clear the recorded signals
+ */
+@Endpoint(id = "signaltrace")
+@RequiredArgsConstructor
+public class SignalTraceEndpoint {
+
+    private final SignalTracer signalTracer;
+
+    @ReadOperation
+    public Map<String, Object> traces() {
+        Map<String, Object> traces = new LinkedHashMap<>();
+        traces.put("sampleRate", signalTracer.sampleRate());
+        traces.put("enabledRoutes", signalTracer.enabledRoutes());
+        traces.put("events", signalTracer.events());
+        return traces;
+    }
+
+    @WriteOperation
+    public void route(@Selector String route, boolean enabled) {
+        signalTracer.setEnabled(route, enabled);
+    }
+
+    @DeleteOperation
+    public void clear() {
+        signalTracer.clear();
+    }
+}
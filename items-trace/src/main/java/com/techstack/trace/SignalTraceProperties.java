@@ -0,0 +1,28 @@
+package com.techstack.trace;
+
+import lombok.Data;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Bound by each service under its own prefix, "items.trace" in items-service and "items.client.trace" in items-client
+ */
+@Data
+public class SignalTraceProperties {
+
+    /**
+     * One in "sampleRate" subscriptions of an enabled route is traced
+     */
+    private int sampleRate = 1000;
+
+    /**
+     * How many signals the ring buffer keeps, rounded up to a power of two
+     */
+    private int bufferSize = 4096;
+
+    /**
+     * Routes traced from startup, others can be switched on with the "signaltrace" actuator endpoint
+     */
+    private Set<String> enabledRoutes = new HashSet<>();
+}
@@ -0,0 +1,109 @@
+package com.techstack.trace;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Low overhead replacement for the {@code .log()} operator.
+ *
+ * {@code .log()} formats and writes every signal of every subscription. {@link #trace(String, Flux)}
+ * instead decides once per subscription whether it is sampled: only one in "sample-rate"
+ * subscriptions of an enabled route is instrumented, and its signals are recorded into a
+ * {@link SignalRingBuffer}. All other subscriptions run on the untouched publisher,
+ * so a disabled route costs one map lookup per subscription.
+ *
+ * Routes are switched on and off at runtime, and the buffer is dumped, with the "signaltrace"
+ * actuator endpoint ({@link SignalTraceEndpoint}).
+ */
+public class SignalTracer {
+
+    private final int sampleRate;
+    private final SignalRingBuffer ringBuffer;
+    private final Map<String, RouteState> routes = new ConcurrentHashMap<>();
+    private final AtomicLong subscriptionIds = new AtomicLong();
+
+    public SignalTracer(SignalTraceProperties signalTraceProperties) {
+        this.sampleRate = Math.max(1, signalTraceProperties.getSampleRate());
+        this.ringBuffer = new SignalRingBuffer(signalTraceProperties.getBufferSize());
+        signalTraceProperties.getEnabledRoutes().forEach(route -> setEnabled(route, true));
+    }
+
+    public <T> Flux<T> trace(String route, Flux<T> flux) {
+        return flux.transformDeferred(source -> sampled(route) ? instrument(route, source) : source);
+    }
+
+    public <T> Mono<T> trace(String route, Mono<T> mono) {
+        return mono.transformDeferred(source -> sampled(route) ? instrument(route, source) : source);
+    }
+
+    public void setEnabled(String route, boolean enabled) {
+        routes.computeIfAbsent(route, name -> new RouteState()).enabled = enabled;
+    }
+
+    public Set<String> enabledRoutes() {
+        return routes.entrySet().stream()
+                .filter(route -> route.getValue().enabled)
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toSet());
+    }
+
+    public int sampleRate() {
+        return sampleRate;
+    }
+
+    public List<SignalEvent> events() {
+        return ringBuffer.snapshot();
+    }
+
+    public void clear() {
+        ringBuffer.clear();
+    }
+
+    private boolean sampled(String route) {
+        RouteState state = routes.get(route);
+        return state != null
+                && state.enabled
+                && state.subscriptions.getAndIncrement() % sampleRate == 0;
+    }
+
+    private <T> Flux<T> instrument(String route, Flux<T> source) {
+        long subscriptionId = subscriptionIds.incrementAndGet();
+        long start = System.nanoTime();
+
+        return source
+                .doOnSubscribe(subscription -> record(route, subscriptionId, "onSubscribe", start, 0))
+                .doOnRequest(requested -> record(route, subscriptionId, "request", start, requested))
+                .doOnEach(signal -> record(route, subscriptionId, signal.getType().toString(), start, 0))
+                .doOnCancel(() -> record(route, subscriptionId, "cancel", start, 0));
+    }
+
+    private <T> Mono<T> instrument(String route, Mono<T> source) {
+        long subscriptionId = subscriptionIds.incrementAndGet();
+        long start = System.nanoTime();
+
+        return source
+                .doOnSubscribe(subscription -> record(route, subscriptionId, "onSubscribe", start, 0))
+                .doOnRequest(requested -> record(route, subscriptionId, "request", start, requested))
+                .doOnEach(signal -> record(route, subscriptionId, signal.getType().toString(), start, 0))
+                .doOnCancel(() -> record(route, subscriptionId, "cancel", start, 0));
+    }
+
+    private void record(String route, long subscriptionId, String signal, long start, long requested) {
+        ringBuffer.add(new SignalEvent(route, subscriptionId, signal,
+                TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start), requested,
+                Thread.currentThread().getName()));
+    }
+
+    private static class RouteState {
+        private volatile boolean enabled;
+        private final AtomicLong subscriptions = new AtomicLong();
+    }
+}
@@ -0,0 +1,82 @@
+package com.techstack.trace;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SignalTracerTest {
+
+    private SignalTracer signalTracer(int sampleRate, int bufferSize) {
+        SignalTraceProperties signalTraceProperties = new SignalTraceProperties();
+        signalTraceProperties.setSampleRate(sampleRate);
+        signalTraceProperties.setBufferSize(bufferSize);
+        return new SignalTracer(signalTraceProperties);
+    }
+
+    @Test
+    @DisplayName("Nothing is recorded for a route which is not enabled")
+    void disabledRoute() {
+        SignalTracer signalTracer = signalTracer(1, 16);
+
+        StepVerifier.create(signalTracer.trace("flux", Flux.just(1, 2, 3)))
+                .expectNext(1, 2, 3)
+                .verifyComplete();
+
+        assertTrue(signalTracer.events().isEmpty());
+    }
+
+    @Test
+    @DisplayName("The signals of a sampled subscription are recorded in order")
+    void enabledRoute() {
+        SignalTracer signalTracer = signalTracer(1, 16);
+        signalTracer.setEnabled("mono", true);
+
+        StepVerifier.create(signalTracer.trace("mono", Mono.just(1)))
+                .expectNext(1)
+                .verifyComplete();
+
+        List<String> signals = signalTracer.events().stream()
+                .map(SignalEvent::getSignal)
+                .collect(Collectors.toList());
+        assertEquals(List.of("onSubscribe", "request", "onNext", "onComplete"), signals);
+    }
+
+    @Test
+    @DisplayName("Only one in sampleRate subscriptions is traced")
+    void sampling() {
+        SignalTracer signalTracer = signalTracer(10, 1024);
+        signalTracer.setEnabled("flux", true);
+        Flux<Integer> traced = signalTracer.trace("flux", Flux.just(1));
+
+        for (int i = 0; i < 100; i++) {
+            traced.blockLast();
+        }
+
+        long subscriptions = signalTracer.events().stream()
+                .map(SignalEvent::getSubscriptionId)
+                .distinct()
+                .count();
+        assertEquals(10, subscriptions);
+    }
+
+    @Test
+    @DisplayName("The ring buffer keeps only the latest signals")
+    void ringBufferWraps() {
+        SignalTracer signalTracer = signalTracer(1, 8);
+        signalTracer.setEnabled("flux", true);
+
+        signalTracer.trace("flux", Flux.range(1, 100)).blockLast();
+
+        List<SignalEvent> events = signalTracer.events();
+        assertEquals(8, events.size());
+        assertEquals("onComplete", events.get(events.size() - 1).getSignal());
+    }
+}